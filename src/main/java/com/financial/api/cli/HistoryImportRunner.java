@@ -0,0 +1,59 @@
+package com.financial.api.cli;
+
+import com.financial.application.dto.HistoryImportResultDto;
+import com.financial.application.service.HistoryImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+// Importação pela linha de comando, encerrando a aplicação ao final:
+// java -jar app.jar --spring.main.web-application-type=none --import-history=a.csv,b.csv.gz [--import-ticker=PETR4]
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HistoryImportRunner implements ApplicationRunner {
+
+    private static final String FILES_OPTION = "import-history";
+    private static final String TICKER_OPTION = "import-ticker";
+
+    private final HistoryImportService historyImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(FILES_OPTION)) {
+            return;
+        }
+        List<Path> files = args.getOptionValues(FILES_OPTION).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .map(Paths::get)
+                .toList();
+        List<String> tickers = args.getOptionValues(TICKER_OPTION);
+        String ticker = tickers != null && !tickers.isEmpty() ? tickers.get(0) : null;
+
+        int exitCode = 0;
+        try {
+            HistoryImportResultDto result = historyImportService.importFiles(files, ticker);
+            log.info("Imported {} rows ({} duplicates, {} rejected) for {} tickers at {} rows/s",
+                    result.getRowsInserted(), result.getDuplicates(), result.getRowsRejected(),
+                    result.getTickers().size(), result.getRowsPerSecond());
+            result.getRejectedSamples().forEach(sample -> log.warn("Rejected row at {}", sample));
+        } catch (Exception e) {
+            log.error("History import failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
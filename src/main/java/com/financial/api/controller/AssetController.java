@@ -2,14 +2,22 @@ package com.financial.api.controller;
 
 import com.financial.application.dto.AssetQuoteDto;
 import com.financial.application.dto.PriceHistoryDto;
+import com.financial.application.dto.PriceHistoryPageDto;
 import com.financial.application.service.AssetService;
+import com.financial.application.service.HistoryExportService;
+import com.financial.infrastructure.config.WebConfig;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,7 +27,10 @@ import java.util.List;
 @Tag(name = "Assets", description = "Asset price and quote operations")
 public class AssetController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final AssetService assetService;
+    private final HistoryExportService historyExportService;
 
     @GetMapping("/{ticker}/quote")
     @Operation(summary = "Get current asset quote", 
@@ -34,18 +45,84 @@ public class AssetController {
         return ResponseEntity.ok(quote);
     }
 
+    @GetMapping("/quotes")
+    @Operation(summary = "Get quotes for multiple assets", 
+               description = "Retrieve current quotes for a list of tickers in a single request")
+    @ApiResponse(responseCode = "200", description = "Quotes retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid ticker list")
+    public ResponseEntity<List<AssetQuoteDto>> getQuotes(
+            @Parameter(description = "Comma-separated asset ticker symbols", example = "PETR4,VALE3,BTC")
+            @RequestParam List<String> tickers) {
+        
+        List<AssetQuoteDto> quotes = assetService.getQuotes(tickers);
+        return ResponseEntity.ok(quotes);
+    }
+
     @GetMapping("/{ticker}/history")
     @Operation(summary = "Get asset price history", 
-               description = "Retrieve historical price data for a specific time range")
+               description = "Retrieve historical price data for a specific time range, optionally resampled or downsampled")
     @ApiResponse(responseCode = "200", description = "History retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid interval, maxPoints or cursor")
     @ApiResponse(responseCode = "404", description = "Asset not found")
     public ResponseEntity<List<PriceHistoryDto>> getHistory(
             @Parameter(description = "Asset ticker symbol", example = "PETR4")
             @PathVariable String ticker,
             @Parameter(description = "Time range (e.g., 30d, 1m, 1y)", example = "30d")
-            @RequestParam(defaultValue = "30d") String range) {
+            @RequestParam(defaultValue = "30d") String range,
+            @Parameter(description = "Aggregate into OHLCV bars (1m, 5m, 15m, 30m, 1h, 4h, 1d, 1w)", example = "1h")
+            @RequestParam(required = false) String interval,
+            @Parameter(description = "Downsample to at most this many points (LTTB on close)", example = "500")
+            @RequestParam(required = false) Integer maxPoints,
+            @Parameter(description = "Page size for keyset pagination of raw rows", example = "500")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Opaque cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor) {
+        
+        if (limit != null || cursor != null) {
+            if (interval != null || maxPoints != null) {
+                throw new IllegalArgumentException("Pagination cannot be combined with interval or maxPoints");
+            }
+            // Corpo continua sendo uma lista; a próxima página é indicada pelo header
+            PriceHistoryPageDto page = assetService.getHistoryPage(ticker, range, cursor, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        }
         
-        List<PriceHistoryDto> history = assetService.getHistory(ticker, range);
+        List<PriceHistoryDto> history = assetService.getHistory(ticker, range, interval, maxPoints);
         return ResponseEntity.ok(history);
     }
+
+    @GetMapping("/{ticker}/history/export")
+    @Operation(summary = "Export asset price history", 
+               description = "Stream raw price history as NDJSON or CSV, optionally gzip-compressed")
+    @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid export format")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @Parameter(description = "Asset ticker symbol", example = "PETR4")
+            @PathVariable String ticker,
+            @Parameter(description = "Time range (e.g., 30d, 1m, 1y)", example = "1y")
+            @RequestParam(defaultValue = "30d") String range,
+            @Parameter(description = "Output format (ndjson or csv)", example = "csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Compress the response with gzip", example = "true")
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        
+        HistoryExportService.Format exportFormat = HistoryExportService.Format.parse(format);
+        String filename = ticker.toUpperCase() + "-" + range + "." + exportFormat.extension();
+        StreamingResponseBody body = out -> historyExportService.export(ticker, range, exportFormat, gzip, out);
+        // Só a exportação ganha o timeout longo; as demais requisições assíncronas mantêm o padrão
+        request.setAttribute(WebConfig.ASYNC_TIMEOUT_ATTRIBUTE, historyExportService.timeout());
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.financial.api.controller;
+
+import com.financial.application.dto.BacktestRequestDto;
+import com.financial.application.dto.BacktestResultDto;
+import com.financial.application.service.BacktestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/backtests")
+@RequiredArgsConstructor
+@Tag(name = "Backtests", description = "Server-side strategy backtesting over stored price history")
+public class BacktestController {
+
+    private final BacktestService backtestService;
+
+    @PostMapping
+    @Operation(summary = "Run a backtest", 
+               description = "Replay price history through a strategy, optionally sweeping parameters, and return trades, equity curve and stats")
+    @ApiResponse(responseCode = "200", description = "Backtest completed successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid strategy, parameters or insufficient history")
+    public ResponseEntity<BacktestResultDto> run(@Valid @RequestBody BacktestRequestDto request) {
+        BacktestResultDto result = backtestService.run(request);
+        return ResponseEntity.ok(result);
+    }
+}
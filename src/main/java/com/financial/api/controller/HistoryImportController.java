@@ -0,0 +1,41 @@
+package com.financial.api.controller;
+
+import com.financial.application.dto.HistoryImportResultDto;
+import com.financial.application.service.HistoryImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/history")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Administrative data loading operations")
+public class HistoryImportController {
+
+    private final HistoryImportService historyImportService;
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/octet-stream", "application/gzip"})
+    @Operation(summary = "Bulk import historical OHLCV data",
+               description = "Load a CSV body (ticker,timestamp,open,high,low,close,volume) into price history through " +
+                             "PostgreSQL COPY; rows already stored for the same ticker and timestamp are skipped")
+    @ApiResponse(responseCode = "200", description = "Import completed; see rejected and duplicate counts")
+    @ApiResponse(responseCode = "400", description = "Invalid ticker or empty body")
+    public ResponseEntity<HistoryImportResultDto> importHistory(
+            @Parameter(description = "Ticker for files without a ticker column (timestamp,open,high,low,close,volume)", example = "PETR4")
+            @RequestParam(required = false) String ticker,
+            @Parameter(description = "Body is gzip-compressed")
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) throws IOException {
+
+        boolean compressed = gzip || "application/gzip".equals(request.getContentType());
+        HistoryImportResultDto result = historyImportService.importStream(request.getInputStream(), ticker, compressed);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -1,6 +1,7 @@
 package com.financial.api.controller;
 
 import com.financial.application.dto.IndicatorResultDto;
+import com.financial.application.dto.IndicatorSuiteDto;
 import com.financial.application.service.IndicatorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,6 +11,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/indicators")
 @RequiredArgsConstructor
@@ -59,4 +62,88 @@ public class IndicatorController {
         IndicatorResultDto result = indicatorService.calculateVolatility(ticker, periods);
         return ResponseEntity.ok(result);
     }
+
+    @GetMapping("/ema")
+    @Operation(summary = "Calculate Exponential Moving Average", 
+               description = "Calculate Exponential Moving Average for an asset")
+    @ApiResponse(responseCode = "200", description = "EMA calculated successfully")
+    public ResponseEntity<IndicatorResultDto> getEMA(
+            @Parameter(description = "Asset ticker symbol", example = "PETR4")
+            @RequestParam String ticker,
+            @Parameter(description = "Number of periods", example = "20")
+            @RequestParam(defaultValue = "20") int periods) {
+        
+        IndicatorResultDto result = indicatorService.calculateEMA(ticker, periods);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/macd")
+    @Operation(summary = "Calculate MACD", 
+               description = "Calculate MACD (12, 26, 9) line, signal and histogram for an asset")
+    @ApiResponse(responseCode = "200", description = "MACD calculated successfully")
+    public ResponseEntity<IndicatorResultDto> getMACD(
+            @Parameter(description = "Asset ticker symbol", example = "PETR4")
+            @RequestParam String ticker) {
+        
+        IndicatorResultDto result = indicatorService.calculateMACD(ticker);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/bollinger")
+    @Operation(summary = "Calculate Bollinger Bands", 
+               description = "Calculate Bollinger Bands (2 standard deviations) for an asset")
+    @ApiResponse(responseCode = "200", description = "Bollinger Bands calculated successfully")
+    public ResponseEntity<IndicatorResultDto> getBollinger(
+            @Parameter(description = "Asset ticker symbol", example = "PETR4")
+            @RequestParam String ticker,
+            @Parameter(description = "Number of periods", example = "20")
+            @RequestParam(defaultValue = "20") int periods) {
+        
+        IndicatorResultDto result = indicatorService.calculateBollinger(ticker, periods);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/atr")
+    @Operation(summary = "Calculate Average True Range", 
+               description = "Calculate Average True Range for an asset")
+    @ApiResponse(responseCode = "200", description = "ATR calculated successfully")
+    public ResponseEntity<IndicatorResultDto> getATR(
+            @Parameter(description = "Asset ticker symbol", example = "PETR4")
+            @RequestParam String ticker,
+            @Parameter(description = "Number of periods", example = "14")
+            @RequestParam(defaultValue = "14") int periods) {
+        
+        IndicatorResultDto result = indicatorService.calculateATR(ticker, periods);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/stochastic")
+    @Operation(summary = "Calculate Stochastic Oscillator", 
+               description = "Calculate Stochastic %K and %D for an asset")
+    @ApiResponse(responseCode = "200", description = "Stochastic calculated successfully")
+    public ResponseEntity<IndicatorResultDto> getStochastic(
+            @Parameter(description = "Asset ticker symbol", example = "PETR4")
+            @RequestParam String ticker,
+            @Parameter(description = "Number of periods", example = "14")
+            @RequestParam(defaultValue = "14") int periods) {
+        
+        IndicatorResultDto result = indicatorService.calculateStochastic(ticker, periods);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/combined")
+    @Operation(summary = "Calculate multiple indicators", 
+               description = "Calculate several indicators for an asset in a single request, e.g. rsi:14,sma:20,macd")
+    @ApiResponse(responseCode = "200", description = "Indicators calculated successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid indicator list")
+    public ResponseEntity<IndicatorSuiteDto> getCombined(
+            @Parameter(description = "Asset ticker symbol", example = "PETR4")
+            @RequestParam String ticker,
+            @Parameter(description = "Comma-separated indicators with optional periods", 
+                       example = "rsi:14,sma:20,ema:20,macd,bollinger:20,atr:14,stochastic:14")
+            @RequestParam List<String> indicators) {
+        
+        IndicatorSuiteDto result = indicatorService.calculateSuite(ticker, indicators);
+        return ResponseEntity.ok(result);
+    }
 }
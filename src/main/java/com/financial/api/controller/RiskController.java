@@ -0,0 +1,37 @@
+package com.financial.api.controller;
+
+import com.financial.application.dto.CorrelationMatrixDto;
+import com.financial.application.service.CorrelationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/risk")
+@RequiredArgsConstructor
+@Tag(name = "Risk", description = "Cross-asset risk analytics")
+public class RiskController {
+
+    private final CorrelationService correlationService;
+
+    @GetMapping("/correlation")
+    @Operation(summary = "Correlation and covariance matrix", 
+               description = "Pairwise correlation and covariance of log returns across active assets over N periods")
+    @ApiResponse(responseCode = "200", description = "Matrix calculated successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid parameters or insufficient history")
+    public ResponseEntity<CorrelationMatrixDto> getCorrelation(
+            @Parameter(description = "Number of return periods", example = "30")
+            @RequestParam(defaultValue = "30") int periods,
+            @Parameter(description = "Bar interval (30s, 1m, 5m, 15m, 30m, 1h, 4h, 1d, 1w)", example = "1d")
+            @RequestParam(defaultValue = "1d") String interval,
+            @Parameter(description = "Optional asset category filter", example = "STOCKS")
+            @RequestParam(required = false) String category) {
+        
+        CorrelationMatrixDto result = correlationService.getCorrelationMatrix(periods, interval, category);
+        return ResponseEntity.ok(result);
+    }
+}
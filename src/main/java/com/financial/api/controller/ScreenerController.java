@@ -0,0 +1,41 @@
+package com.financial.api.controller;
+
+import com.financial.application.dto.ScreenerResultDto;
+import com.financial.application.service.ScreenerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/screener")
+@RequiredArgsConstructor
+@Tag(name = "Screener", description = "Market-wide indicator screening")
+public class ScreenerController {
+
+    private final ScreenerService screenerService;
+
+    @GetMapping
+    @Operation(summary = "Screen active assets", 
+               description = "Filter and sort all active assets by indicator expressions, e.g. rsi:14<30,volatility:30>0.05")
+    @ApiResponse(responseCode = "200", description = "Screening completed successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid filter or sort expression")
+    public ResponseEntity<ScreenerResultDto> screen(
+            @Parameter(description = "Comma-separated filter expressions", example = "rsi:14<30,volatility:30>0.05")
+            @RequestParam(defaultValue = "") List<String> filters,
+            @Parameter(description = "Indicator to sort by", example = "rsi:14")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Sort direction (asc or desc)", example = "asc")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Maximum number of results", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        ScreenerResultDto result = screenerService.screen(filters, sort, "desc".equalsIgnoreCase(direction), limit);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -1,7 +1,10 @@
 package com.financial.api.controller;
 
 import com.financial.application.dto.CreateTransactionDto;
+import com.financial.application.dto.PnlReportDto;
+import com.financial.application.dto.TransactionBatchResultDto;
 import com.financial.application.dto.TransactionDto;
+import com.financial.application.dto.TransactionPageDto;
 import com.financial.application.dto.TransactionReportDto;
 import com.financial.application.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,13 +13,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/transactions")
 @RequiredArgsConstructor
@@ -29,28 +34,66 @@ public class TransactionController {
     @Operation(summary = "Create transaction", 
                description = "Register a new buy or sell transaction")
     @ApiResponse(responseCode = "201", description = "Transaction created successfully")
+    @ApiResponse(responseCode = "202", description = "Transaction durably logged; it is persisted asynchronously " +
+                                                     "and identified by its reference until then")
     @ApiResponse(responseCode = "400", description = "Invalid transaction data")
     public ResponseEntity<TransactionDto> createTransaction(
             @Valid @RequestBody CreateTransactionDto transactionDto) {
         
         TransactionDto created = transactionService.createTransaction(transactionDto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        HttpStatus status = created.getId() != null ? HttpStatus.CREATED : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(created);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create transactions in bulk", 
+               description = "Register up to 10000 buy or sell transactions in one request; invalid items are " +
+                             "reported individually while the remaining items are created")
+    @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results")
+    @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    public ResponseEntity<TransactionBatchResultDto> createTransactions(
+            @RequestBody List<CreateTransactionDto> transactions) {
+        
+        TransactionBatchResultDto result = transactionService.createTransactions(transactions);
+        return ResponseEntity.ok(result);
     }
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get user transactions", 
                description = "Retrieve paginated transactions for a specific user")
     @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully")
-    public ResponseEntity<Page<TransactionDto>> getUserTransactions(
+    public ResponseEntity<Slice<TransactionDto>> getUserTransactions(
             @Parameter(description = "User ID", example = "user123")
             @PathVariable String userId,
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "20")
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Compute total elements and pages; false skips the count query")
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<TransactionDto> transactions = transactionService.getUserTransactions(userId, pageable);
+        Slice<TransactionDto> transactions = includeTotal
+                ? transactionService.getUserTransactions(userId, pageable)
+                : transactionService.getUserTransactionsSlice(userId, pageable);
+        return ResponseEntity.ok(transactions);
+    }
+
+    @GetMapping("/user/{userId}/slice")
+    @Operation(summary = "Get user transactions by cursor", 
+               description = "Keyset pagination over a user's transactions, newest first; pass nextCursor from " +
+                             "the previous response to continue. Cost does not grow with depth")
+    @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    public ResponseEntity<TransactionPageDto> getUserTransactionsSlice(
+            @Parameter(description = "User ID", example = "user123")
+            @PathVariable String userId,
+            @Parameter(description = "Opaque cursor from the previous response")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(required = false) Integer limit) {
+        
+        TransactionPageDto transactions = transactionService.getUserTransactionsAfter(userId, cursor, limit);
         return ResponseEntity.ok(transactions);
     }
 
@@ -65,4 +108,16 @@ public class TransactionController {
         TransactionReportDto report = transactionService.generateReport(userId);
         return ResponseEntity.ok(report);
     }
+
+    @GetMapping("/report/{userId}/pnl")
+    @Operation(summary = "Generate P&L report", 
+               description = "Per-ticker average cost, realized P&L and unrealized P&L marked to the current quote")
+    @ApiResponse(responseCode = "200", description = "Report generated successfully")
+    public ResponseEntity<PnlReportDto> getPnlReport(
+            @Parameter(description = "User ID", example = "user123")
+            @PathVariable String userId) {
+        
+        PnlReportDto report = transactionService.generatePnlReport(userId);
+        return ResponseEntity.ok(report);
+    }
 }
@@ -0,0 +1,55 @@
+package com.financial.application.dto;
+
+import com.financial.domain.backtest.StrategyType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestRequestDto {
+    @NotEmpty(message = "At least one ticker is required")
+    @Size(max = 50, message = "At most 50 tickers per backtest")
+    private List<String> tickers;
+
+    @NotNull(message = "Strategy is required")
+    private StrategyType strategy;
+
+    // Parâmetros fixos da estratégia; ausentes usam o valor padrão
+    @Builder.Default
+    private Map<String, Double> parameters = Map.of();
+
+    // Valores a varrer por parâmetro (produto cartesiano)
+    @Builder.Default
+    private Map<String, List<Double>> sweep = Map.of();
+
+    @Builder.Default
+    private String range = "1y";
+
+    @Positive(message = "Initial capital must be positive")
+    @Builder.Default
+    private BigDecimal initialCapital = BigDecimal.valueOf(10000);
+
+    @DecimalMin(value = "0.01", message = "Position size must be at least 0.01")
+    @DecimalMax(value = "1", message = "Position size must be at most 1")
+    @Builder.Default
+    private BigDecimal positionSize = BigDecimal.ONE;
+
+    @DecimalMin(value = "0", message = "Fee rate cannot be negative")
+    @DecimalMax(value = "0.1", message = "Fee rate must be at most 0.1")
+    @Builder.Default
+    private BigDecimal feeRate = BigDecimal.ZERO;
+}
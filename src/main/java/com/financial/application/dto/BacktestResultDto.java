@@ -0,0 +1,28 @@
+package com.financial.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.financial.domain.backtest.StrategyType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestResultDto {
+    private StrategyType strategy;
+    private String range;
+    private Integer combinations;
+    private List<BacktestRunDto> results;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<BacktestRunDto> sweep;
+
+    private Long elapsedMs;
+    private LocalDateTime generatedAt;
+}
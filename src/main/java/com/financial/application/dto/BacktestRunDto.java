@@ -0,0 +1,28 @@
+package com.financial.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestRunDto {
+    private String ticker;
+    private Map<String, Double> parameters;
+    private Integer dataPoints;
+    private BacktestStatsDto stats;
+
+    // Presentes apenas na melhor execução de cada ticker
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<BacktestTradeDto> trades;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<EquityPointDto> equityCurve;
+}
@@ -0,0 +1,22 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestStatsDto {
+    private BigDecimal finalEquity;
+    private BigDecimal totalReturn;
+    private BigDecimal cagr;
+    private BigDecimal maxDrawdown;
+    private BigDecimal sharpe;
+    private Integer trades;
+    private BigDecimal winRate;
+}
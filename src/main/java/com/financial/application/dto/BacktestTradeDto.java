@@ -0,0 +1,23 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestTradeDto {
+    private LocalDateTime entryTime;
+    private BigDecimal entryPrice;
+    private LocalDateTime exitTime;
+    private BigDecimal exitPrice;
+    private BigDecimal quantity;
+    private BigDecimal profit;
+    private BigDecimal returnPercent;
+}
@@ -0,0 +1,28 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorrelationMatrixDto {
+    private String interval;
+    private Integer periods;
+    private String category;
+    private List<String> tickers;
+    // Linhas na mesma ordem de tickers; null quando o par não tem observações suficientes
+    private List<List<BigDecimal>> correlation;
+    private List<List<BigDecimal>> covariance;
+    private List<List<Integer>> observations;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private LocalDateTime calculatedAt;
+}
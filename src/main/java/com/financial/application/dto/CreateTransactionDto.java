@@ -4,6 +4,7 @@ import com.financial.domain.model.Transaction;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,6 +18,7 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class CreateTransactionDto {
     @NotBlank(message = "User ID is required")
+    @Size(max = 255, message = "User ID must have at most 255 characters")
     private String userId;
 
     @NotBlank(message = "Ticker is required")
@@ -0,0 +1,18 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquityPointDto {
+    private LocalDateTime timestamp;
+    private BigDecimal equity;
+}
@@ -0,0 +1,28 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryImportResultDto {
+    private Integer files;
+    private Long bytes;
+    private Long rowsParsed;
+    private Long rowsRejected;
+    private Long duplicates;
+    private Long rowsInserted;
+    private List<String> tickers;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Long elapsedMs;
+    private Long rowsPerSecond;
+    private List<String> rejectedSamples;
+}
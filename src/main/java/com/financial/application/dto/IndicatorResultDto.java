@@ -1,5 +1,6 @@
 package com.financial.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
@@ -19,4 +21,6 @@ public class IndicatorResultDto {
     private Integer periods;
     private String interpretation;
     private LocalDateTime calculatedAt;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, BigDecimal> components;
 }
\ No newline at end of file
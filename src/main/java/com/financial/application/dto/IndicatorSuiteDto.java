@@ -0,0 +1,20 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndicatorSuiteDto {
+    private String ticker;
+    private Integer dataPoints;
+    private List<IndicatorResultDto> indicators;
+    private LocalDateTime calculatedAt;
+}
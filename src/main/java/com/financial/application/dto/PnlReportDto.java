@@ -0,0 +1,27 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PnlReportDto {
+    private String userId;
+    private String costMethod;
+    private List<PositionPnlDto> positions;
+    private BigDecimal totalCostBasis;
+    private BigDecimal totalMarketValue;
+    private BigDecimal realizedPnl;
+    private BigDecimal unrealizedPnl;
+    private BigDecimal totalPnl;
+    private List<String> unpricedTickers;
+    private LocalDateTime generatedAt;
+}
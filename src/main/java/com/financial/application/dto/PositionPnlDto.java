@@ -0,0 +1,23 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionPnlDto {
+    private String ticker;
+    private BigDecimal quantity;
+    private BigDecimal averageCost;
+    private BigDecimal costBasis;
+    private BigDecimal marketPrice;
+    private BigDecimal marketValue;
+    private BigDecimal realizedPnl;
+    private BigDecimal unrealizedPnl;
+}
@@ -1,6 +1,9 @@
 package com.financial.application.dto;
 
+import com.financial.domain.indicator.PriceSeries;
 import com.financial.domain.model.PriceHistory;
+import com.financial.infrastructure.repository.PriceBarView;
+import com.financial.infrastructure.repository.PricePoint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,4 +36,28 @@ public class PriceHistoryDto {
                 .timestamp(history.getTimestamp())
                 .build();
     }
+
+    public static PriceHistoryDto from(String ticker, PriceBarView bar) {
+        return PriceHistoryDto.builder()
+                .ticker(ticker)
+                .open(bar.getOpen())
+                .high(bar.getHigh())
+                .low(bar.getLow())
+                .close(bar.getClose())
+                .volume(bar.getVolume())
+                .timestamp(PriceSeries.fromEpochMillis(bar.getBucket()))
+                .build();
+    }
+
+    public static PriceHistoryDto from(PricePoint point) {
+        return PriceHistoryDto.builder()
+                .ticker(point.ticker())
+                .open(point.open())
+                .high(point.high())
+                .low(point.low())
+                .close(point.close())
+                .volume(point.volume())
+                .timestamp(point.timestamp())
+                .build();
+    }
 }
\ No newline at end of file
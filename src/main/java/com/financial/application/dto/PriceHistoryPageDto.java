@@ -0,0 +1,18 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistoryPageDto {
+    private List<PriceHistoryDto> items;
+    // Token opaco para a próxima página; null na última página
+    private String nextCursor;
+}
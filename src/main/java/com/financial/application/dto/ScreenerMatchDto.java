@@ -0,0 +1,20 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScreenerMatchDto {
+    private String ticker;
+    private String name;
+    private String category;
+    private Map<String, BigDecimal> values;
+}
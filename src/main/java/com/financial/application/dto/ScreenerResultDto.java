@@ -0,0 +1,24 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScreenerResultDto {
+    private List<String> filters;
+    private String sort;
+    private Integer screened;
+    private Integer matched;
+    private List<ScreenerMatchDto> matches;
+    private Map<String, Long> stageTimingsMs;
+    private LocalDateTime generatedAt;
+}
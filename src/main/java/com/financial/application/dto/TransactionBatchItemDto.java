@@ -0,0 +1,21 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchItemDto {
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    private Integer index;
+    private Status status;
+    private Long transactionId;
+    private String error;
+}
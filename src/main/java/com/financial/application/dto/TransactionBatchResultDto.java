@@ -0,0 +1,19 @@
+package com.financial.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchResultDto {
+    private Integer submitted;
+    private Integer created;
+    private Integer rejected;
+    private List<TransactionBatchItemDto> results;
+}
@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class TransactionDto {
     private Long id;
+    private String reference;
     private String userId;
     private String ticker;
     private Transaction.TransactionType type;
@@ -26,6 +27,7 @@ public class TransactionDto {
     public static TransactionDto from(Transaction transaction) {
         return TransactionDto.builder()
                 .id(transaction.getId())
+                .reference(transaction.getReference())
                 .userId(transaction.getUserId())
                 .ticker(transaction.getTicker())
                 .type(transaction.getType())
@@ -2,12 +2,19 @@ package com.financial.application.service;
 
 import com.financial.application.dto.AssetQuoteDto;
 import com.financial.application.dto.PriceHistoryDto;
+import com.financial.application.dto.PriceHistoryPageDto;
+import com.financial.domain.indicator.BarInterval;
+import com.financial.domain.indicator.LttbDownsampler;
+import com.financial.domain.indicator.PriceSeries;
 import com.financial.domain.model.Asset;
-import com.financial.domain.model.PriceHistory;
 import com.financial.domain.service.AssetDomainService;
+import com.financial.infrastructure.cache.AssetCatalog;
+import com.financial.infrastructure.cache.CachePolicy;
 import com.financial.infrastructure.cache.RedisCacheService;
 import com.financial.infrastructure.repository.AssetRepository;
+import com.financial.infrastructure.repository.PriceBarView;
 import com.financial.infrastructure.repository.PriceHistoryRepository;
+import com.financial.infrastructure.repository.PricePoint;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,16 +25,35 @@ import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AssetService {
 
+    private static final int MAX_BATCH_TICKERS = 100;
+    private static final int MIN_HISTORY_POINTS = 3;
+    private static final int MAX_HISTORY_POINTS = 10000;
+    private static final int DEFAULT_PAGE_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 5000;
+    private static final CachePolicy QUOTE_POLICY =
+            CachePolicy.staleWhileRevalidate(Duration.ofSeconds(30), Duration.ofSeconds(90));
+    // Publicado a cada tick do scheduler (30s): o soft TTL cobre atrasos de um tick
+    private static final CachePolicy PUBLISHED_QUOTE_POLICY =
+            CachePolicy.staleWhileRevalidate(Duration.ofSeconds(60), Duration.ofSeconds(120));
+
     private final AssetRepository assetRepository;
+    private final AssetCatalog assetCatalog;
     private final PriceHistoryRepository priceHistoryRepository;
     private final AssetDomainService domainService;
     private final RedisCacheService cacheService;
@@ -36,16 +62,17 @@ public class AssetService {
     @CircuitBreaker(name = "asset-service", fallbackMethod = "getQuoteFallback")
     public AssetQuoteDto getQuote(String ticker) {
         String cacheKey = "quote:" + ticker.toUpperCase();
-        
-        // Tentar buscar no cache primeiro
-        Optional<AssetQuoteDto> cached = cacheService.get(cacheKey, AssetQuoteDto.class);
-        if (cached.isPresent()) {
-            log.debug("Quote retrieved from cache for ticker: {}", ticker);
-            return cached.get();
-        }
 
-        // Buscar no banco de dados
-        Asset asset = assetRepository.findByTicker(ticker.toUpperCase())
+        // Cache primeiro; em caso de miss apenas uma requisição por ticker vai ao banco
+        return cacheService.getOrLoad(cacheKey, AssetQuoteDto.class, QUOTE_POLICY,
+                () -> loadQuote(ticker));
+    }
+
+    private AssetQuoteDto loadQuote(String ticker) {
+        // Ticker desconhecido é rejeitado pelo catálogo sem ir ao banco; o preço vem da linha do ativo
+        AssetCatalog.Entry entry = assetCatalog.find(ticker)
+                .orElseThrow(() -> new IllegalArgumentException("Asset not found: " + ticker));
+        Asset asset = assetRepository.findById(entry.id())
                 .orElseThrow(() -> new IllegalArgumentException("Asset not found: " + ticker));
 
         // Simular pequena variação no preço (para demonstração)
@@ -53,12 +80,96 @@ public class AssetService {
             asset = simulateRealTimePrice(asset);
         }
 
-        AssetQuoteDto quote = AssetQuoteDto.from(asset);
-        
-        // Cachear por 30 segundos
-        cacheService.set(cacheKey, quote, Duration.ofSeconds(30));
-        
-        return quote;
+        return AssetQuoteDto.from(asset);
+    }
+
+    public List<AssetQuoteDto> getQuotes(List<String> tickers) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String ticker : tickers) {
+            if (ticker != null && !ticker.isBlank()) {
+                normalized.add(ticker.trim().toUpperCase());
+            }
+        }
+
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("At least one ticker is required");
+        }
+        if (normalized.size() > MAX_BATCH_TICKERS) {
+            throw new IllegalArgumentException("Too many tickers, maximum is " + MAX_BATCH_TICKERS);
+        }
+
+        Map<String, AssetQuoteDto> quotesByTicker = getQuotesByTicker(normalized);
+
+        List<AssetQuoteDto> quotes = new ArrayList<>(normalized.size());
+        for (String ticker : normalized) {
+            AssetQuoteDto quote = quotesByTicker.get(ticker);
+            if (quote != null) {
+                quotes.add(quote);
+            } else {
+                log.debug("Skipping unknown ticker in batch quote: {}", ticker);
+            }
+        }
+        return quotes;
+    }
+
+    // Cotações de tickers já normalizados, sem limite de quantidade, para uso interno (ex.: marcação a mercado);
+    // tickers desconhecidos ficam de fora do mapa
+    public Map<String, AssetQuoteDto> getQuotesByTicker(Collection<String> tickers) {
+        Map<String, String> keysByTicker = new LinkedHashMap<>();
+        tickers.forEach(ticker -> keysByTicker.put(ticker, "quote:" + ticker));
+
+        // Um MGET para todos os tickers; apenas os misses vão ao banco
+        Map<String, AssetQuoteDto> cached = cacheService.multiGet(keysByTicker.values(), AssetQuoteDto.class);
+
+        List<String> missing = keysByTicker.entrySet().stream()
+                .filter(entry -> !cached.containsKey(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        Map<String, AssetQuoteDto> loaded = missing.isEmpty() ? Map.of() : loadQuotes(missing);
+
+        Map<String, AssetQuoteDto> quotes = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : keysByTicker.entrySet()) {
+            AssetQuoteDto quote = cached.getOrDefault(entry.getValue(), loaded.get(entry.getKey()));
+            if (quote != null) {
+                quotes.put(entry.getKey(), quote);
+            }
+        }
+        return quotes;
+    }
+
+    private Map<String, AssetQuoteDto> loadQuotes(List<String> tickers) {
+        List<Long> ids = assetCatalog.findAll(tickers).values().stream().map(AssetCatalog.Entry::id).toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<Asset> assets = assetRepository.findAllById(ids);
+
+        // Simular pequena variação no preço (para demonstração)
+        if (domainService.isMarketHours()) {
+            assets.forEach(this::applySimulatedPrice);
+            assets = assetRepository.saveAll(assets);
+        }
+
+        Map<String, AssetQuoteDto> quotesByKey = new LinkedHashMap<>();
+        Map<String, AssetQuoteDto> quotesByTicker = new LinkedHashMap<>();
+        for (Asset asset : assets) {
+            AssetQuoteDto quote = AssetQuoteDto.from(asset);
+            quotesByKey.put("quote:" + asset.getTicker(), quote);
+            quotesByTicker.put(asset.getTicker(), quote);
+        }
+
+        cacheService.multiSet(quotesByKey, QUOTE_POLICY);
+        return quotesByTicker;
+    }
+
+    public void publishQuotes(List<Asset> assets) {
+        Map<String, AssetQuoteDto> quotesByKey = new LinkedHashMap<>();
+        for (Asset asset : assets) {
+            quotesByKey.put("quote:" + asset.getTicker(), AssetQuoteDto.from(asset));
+        }
+        cacheService.multiSet(quotesByKey, PUBLISHED_QUOTE_POLICY);
+        log.debug("Published {} quotes to cache", quotesByKey.size());
     }
 
     public AssetQuoteDto getQuoteFallback(String ticker, Exception ex) {
@@ -76,26 +187,105 @@ public class AssetService {
     }
 
     public List<PriceHistoryDto> getHistory(String ticker, String range) {
-        LocalDateTime fromDate = parseRange(range);
-        
-        List<PriceHistory> history = priceHistoryRepository
-                .findByTickerAndTimestampAfterOrderByTimestampDesc(ticker.toUpperCase(), fromDate);
-        
-        return history.stream()
-                .map(PriceHistoryDto::from)
-                .toList();
+        return getHistory(ticker, range, null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PriceHistoryDto> getHistory(String ticker, String range, String interval, Integer maxPoints) {
+        if (maxPoints != null && (maxPoints < MIN_HISTORY_POINTS || maxPoints > MAX_HISTORY_POINTS)) {
+            throw new IllegalArgumentException("maxPoints must be between " + MIN_HISTORY_POINTS
+                    + " and " + MAX_HISTORY_POINTS);
+        }
+
+        String normalized = ticker.toUpperCase();
+        LocalDateTime from = parseRange(range);
+        LocalDateTime to = LocalDateTime.now();
+
+        // Períodos anteriores aos ticks brutos retidos só existem como candles compactados
+        BarInterval barInterval = interval != null
+                ? BarInterval.parse(interval)
+                : priceHistoryRepository.resolutionFor(from, to).orElse(null);
+
+        if (barInterval == null && maxPoints == null) {
+            return priceHistoryRepository.findPointsSince(normalized, from).stream()
+                    .map(PriceHistoryDto::from)
+                    .toList();
+        }
+
+        if (barInterval != null) {
+            // Candles agregados no banco; LTTB opcional sobre o resultado já reduzido
+            List<PriceHistoryDto> bars = priceHistoryRepository.findBars(normalized, from, to, barInterval).stream()
+                    .map(bar -> PriceHistoryDto.from(normalized, bar))
+                    .toList();
+            return maxPoints != null ? LttbDownsampler.downsample(bars, maxPoints,
+                    AssetService::epochMillis, bar -> bar.getClose().doubleValue()) : bars;
+        }
+
+        // Sem intervalo: LTTB em streaming direto do cursor, sem materializar todas as linhas
+        long total = priceHistoryRepository.countByTickerAndTimestampBetween(normalized, from, to);
+        List<PriceHistoryDto> points = new ArrayList<>(Math.min((int) Math.min(total, Integer.MAX_VALUE), maxPoints));
+        LttbDownsampler<PriceHistoryDto> downsampler = new LttbDownsampler<>(total, maxPoints,
+                AssetService::epochMillis, point -> point.getClose().doubleValue(), points::add);
+        try (Stream<PriceBarView> rows = priceHistoryRepository.streamBars(normalized, from, to)) {
+            rows.map(row -> PriceHistoryDto.from(normalized, row)).forEach(downsampler);
+        }
+        downsampler.finish();
+
+        log.debug("Downsampled {} history rows for {} to {} points", total, normalized, points.size());
+        return points;
+    }
+
+    @Transactional(readOnly = true)
+    public PriceHistoryPageDto getHistoryPage(String ticker, String range, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        String normalized = ticker.toUpperCase();
+        LocalDateTime from = parseRange(range);
+
+        // Uma linha a mais indica se existe próxima página; o custo não depende da profundidade
+        List<PricePoint> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = priceHistoryRepository.findPointsPage(normalized, from, pageSize + 1);
+        } else {
+            HistoryCursor position = HistoryCursor.decode(cursor, normalized);
+            rows = priceHistoryRepository.findPointsPageAfter(normalized, from, position.timestamp(), position.id(),
+                    pageSize + 1);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<PricePoint> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            PricePoint last = page.get(page.size() - 1);
+            nextCursor = new HistoryCursor(normalized, last.timestamp(), last.id()).encode();
+        }
+
+        return PriceHistoryPageDto.builder()
+                .items(page.stream().map(PriceHistoryDto::from).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static double epochMillis(PriceHistoryDto point) {
+        return PriceSeries.toEpochMillis(point.getTimestamp());
     }
 
     @Transactional
     public Asset createOrUpdateAsset(String ticker, String name, String category, BigDecimal price) {
-        Optional<Asset> existing = assetRepository.findByTicker(ticker.toUpperCase());
+        Optional<Asset> existing = assetCatalog.find(ticker)
+                .flatMap(entry -> assetRepository.findById(entry.id()));
         
         if (existing.isPresent()) {
             Asset asset = existing.get();
             asset.setPreviousClose(asset.getCurrentPrice());
             asset.setCurrentPrice(price);
             asset.setLastUpdated(LocalDateTime.now());
-            return assetRepository.save(asset);
+            Asset saved = assetRepository.save(asset);
+            assetCatalog.register(saved);
+            return saved;
         } else {
             Asset newAsset = Asset.builder()
                     .ticker(ticker.toUpperCase())
@@ -106,7 +296,9 @@ public class AssetService {
                     .lastUpdated(LocalDateTime.now())
                     .active(true)
                     .build();
-            return assetRepository.save(newAsset);
+            Asset saved = assetRepository.save(newAsset);
+            assetCatalog.register(saved);
+            return saved;
         }
     }
 
@@ -115,6 +307,11 @@ public class AssetService {
     }
 
     private Asset simulateRealTimePrice(Asset asset) {
+        applySimulatedPrice(asset);
+        return assetRepository.save(asset);
+    }
+
+    private void applySimulatedPrice(Asset asset) {
         // Simular variação de até 2% no preço atual
         double variation = (random.nextDouble() - 0.5) * 0.02; // -1% a +1%
         BigDecimal newPrice = asset.getCurrentPrice()
@@ -122,11 +319,9 @@ public class AssetService {
         
         asset.setCurrentPrice(newPrice.setScale(2, BigDecimal.ROUND_HALF_UP));
         asset.setLastUpdated(LocalDateTime.now());
-        
-        return assetRepository.save(asset);
     }
 
-    private LocalDateTime parseRange(String range) {
+    static LocalDateTime parseRange(String range) {
         LocalDateTime now = LocalDateTime.now();
         
         try {
@@ -0,0 +1,234 @@
+package com.financial.application.service;
+
+import com.financial.application.dto.BacktestRequestDto;
+import com.financial.application.dto.BacktestResultDto;
+import com.financial.application.dto.BacktestRunDto;
+import com.financial.application.dto.BacktestStatsDto;
+import com.financial.application.dto.BacktestTradeDto;
+import com.financial.application.dto.EquityPointDto;
+import com.financial.domain.backtest.BacktestConfig;
+import com.financial.domain.backtest.BacktestEngine;
+import com.financial.domain.backtest.BacktestResult;
+import com.financial.domain.backtest.BacktestStats;
+import com.financial.domain.backtest.Trade;
+import com.financial.domain.indicator.PriceSeries;
+import com.financial.infrastructure.repository.PriceHistoryStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+@Service
+@Slf4j
+public class BacktestService {
+
+    private static final int MAX_COMBINATIONS = 500;
+    private static final int MAX_EQUITY_POINTS = 500;
+
+    private final PriceHistoryStore priceHistoryStore;
+    private final int maxDataPoints;
+    private final ForkJoinPool pool;
+
+    public BacktestService(PriceHistoryStore priceHistoryStore,
+                           @Value("${app.backtest.parallelism:0}") int parallelism,
+                           @Value("${app.backtest.max-data-points:2000000}") int maxDataPoints) {
+        this.priceHistoryStore = priceHistoryStore;
+        this.maxDataPoints = maxDataPoints;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public BacktestResultDto run(BacktestRequestDto request) {
+        long start = System.nanoTime();
+
+        Set<String> tickers = new LinkedHashSet<>();
+        request.getTickers().stream()
+                .filter(ticker -> ticker != null && !ticker.isBlank())
+                .forEach(ticker -> tickers.add(ticker.trim().toUpperCase()));
+        if (tickers.isEmpty()) {
+            throw new IllegalArgumentException("At least one ticker is required");
+        }
+
+        List<BacktestConfig> configs = expand(request);
+        if (configs.size() * tickers.size() > MAX_COMBINATIONS) {
+            throw new IllegalArgumentException("Too many combinations, maximum is " + MAX_COMBINATIONS);
+        }
+
+        Map<String, PriceSeries> seriesByTicker = loadSeries(tickers, AssetService.parseRange(request.getRange()));
+
+        List<Job> jobs = new ArrayList<>();
+        seriesByTicker.values().forEach(series -> configs.forEach(config -> jobs.add(new Job(series, config))));
+
+        // Cada combinação (ticker x parâmetros) é independente: execução paralela no pool dedicado
+        List<Run> runs = pool.submit(() -> jobs.parallelStream()
+                .map(job -> new Run(job.series(), BacktestEngine.run(job.series(), job.config())))
+                .toList()).join();
+
+        Comparator<Run> bySharpe = Comparator.comparingDouble(run -> run.result().stats().sharpe());
+        List<BacktestRunDto> results = new ArrayList<>();
+        for (String ticker : seriesByTicker.keySet()) {
+            runs.stream()
+                    .filter(run -> run.series().ticker().equals(ticker))
+                    .max(bySharpe)
+                    .ifPresent(best -> results.add(toRun(best, true)));
+        }
+
+        List<BacktestRunDto> sweep = configs.size() > 1
+                ? runs.stream().sorted(bySharpe.reversed()).map(run -> toRun(run, false)).toList()
+                : List.of();
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.debug("Backtest of {} combinations over {} tickers finished in {} ms", runs.size(), tickers.size(), elapsedMs);
+
+        return BacktestResultDto.builder()
+                .strategy(request.getStrategy())
+                .range(request.getRange())
+                .combinations(runs.size())
+                .results(results)
+                .sweep(sweep)
+                .elapsedMs(elapsedMs)
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    // Uma única varredura para todos os tickers, já em ordem cronológica, acumulada direto nas colunas da
+    // série; o total de pontos é limitado para que um período longo não esgote o heap
+    private Map<String, PriceSeries> loadSeries(Set<String> tickers, LocalDateTime from) {
+        Map<String, PriceSeries.Builder> builders = new LinkedHashMap<>();
+        tickers.forEach(ticker -> builders.put(ticker, new PriceSeries.Builder(ticker, 1024)));
+        int[] total = {0};
+        priceHistoryStore.scanSince(tickers, from, (ticker, timestamp, open, high, low, close, volume) -> {
+            if (++total[0] > maxDataPoints) {
+                throw new IllegalArgumentException("Too much price history for a backtest (more than "
+                        + maxDataPoints + " points), use a shorter range or fewer tickers");
+            }
+            builders.get(ticker).append(timestamp, open, high, low, close, volume);
+        });
+
+        Map<String, PriceSeries> seriesByTicker = new LinkedHashMap<>();
+        builders.forEach((ticker, builder) -> {
+            if (builder.size() < 2) {
+                throw new IllegalArgumentException("Insufficient price history for " + ticker);
+            }
+            seriesByTicker.put(ticker, builder.build());
+        });
+        return seriesByTicker;
+    }
+
+    private List<BacktestConfig> expand(BacktestRequestDto request) {
+        List<Map<String, Double>> combinations = new ArrayList<>();
+        combinations.add(new LinkedHashMap<>(request.getParameters() != null ? request.getParameters() : Map.of()));
+
+        Map<String, List<Double>> sweep = request.getSweep() != null ? request.getSweep() : Map.of();
+        for (Map.Entry<String, List<Double>> axis : sweep.entrySet()) {
+            if (axis.getValue() == null || axis.getValue().isEmpty()) {
+                continue;
+            }
+            List<Map<String, Double>> expanded = new ArrayList<>();
+            for (Map<String, Double> combination : combinations) {
+                for (Double value : axis.getValue()) {
+                    Map<String, Double> next = new LinkedHashMap<>(combination);
+                    next.put(axis.getKey(), value);
+                    expanded.add(next);
+                }
+            }
+            if (expanded.size() > MAX_COMBINATIONS) {
+                throw new IllegalArgumentException("Too many combinations, maximum is " + MAX_COMBINATIONS);
+            }
+            combinations = expanded;
+        }
+
+        return combinations.stream()
+                .map(parameters -> new BacktestConfig(request.getStrategy(), parameters,
+                        request.getInitialCapital().doubleValue(),
+                        request.getPositionSize().doubleValue(),
+                        request.getFeeRate().doubleValue()))
+                .toList();
+    }
+
+    private BacktestRunDto toRun(Run run, boolean detailed) {
+        BacktestResult result = run.result();
+        BacktestRunDto.BacktestRunDtoBuilder builder = BacktestRunDto.builder()
+                .ticker(run.series().ticker())
+                .parameters(result.config().parameters())
+                .dataPoints(run.series().size())
+                .stats(toStats(result.stats()));
+
+        if (detailed) {
+            builder.trades(result.trades().stream().map(BacktestService::toTrade).toList())
+                    .equityCurve(equityCurve(run.series().timestamps(), result.equity()));
+        }
+        return builder.build();
+    }
+
+    private static BacktestStatsDto toStats(BacktestStats stats) {
+        return BacktestStatsDto.builder()
+                .finalEquity(scale(stats.finalEquity(), 2))
+                .totalReturn(scale(stats.totalReturn(), 6))
+                .cagr(scale(stats.cagr(), 6))
+                .maxDrawdown(scale(stats.maxDrawdown(), 6))
+                .sharpe(scale(stats.sharpe(), 4))
+                .trades(stats.trades())
+                .winRate(scale(stats.winRate(), 4))
+                .build();
+    }
+
+    private static BacktestTradeDto toTrade(Trade trade) {
+        return BacktestTradeDto.builder()
+                .entryTime(PriceSeries.fromEpochMillis(trade.entryTime()))
+                .entryPrice(scale(trade.entryPrice(), 4))
+                .exitTime(PriceSeries.fromEpochMillis(trade.exitTime()))
+                .exitPrice(scale(trade.exitPrice(), 4))
+                .quantity(scale(trade.quantity(), 6))
+                .profit(scale(trade.profit(), 2))
+                .returnPercent(scale(trade.returnPercent() * 100, 4))
+                .build();
+    }
+
+    // Curva reduzida a no máximo MAX_EQUITY_POINTS pontos, sempre incluindo o último
+    private static List<EquityPointDto> equityCurve(long[] timestamps, double[] equity) {
+        int size = equity.length;
+        int step = Math.max(1, (int) Math.ceil((double) size / MAX_EQUITY_POINTS));
+        List<EquityPointDto> points = new ArrayList<>(Math.min(size, MAX_EQUITY_POINTS + 1));
+        for (int i = 0; i < size; i += step) {
+            points.add(equityPoint(timestamps[i], equity[i]));
+        }
+        if (size > 0 && (size - 1) % step != 0) {
+            points.add(equityPoint(timestamps[size - 1], equity[size - 1]));
+        }
+        return points;
+    }
+
+    private static EquityPointDto equityPoint(long timestamp, double equity) {
+        return EquityPointDto.builder()
+                .timestamp(PriceSeries.fromEpochMillis(timestamp))
+                .equity(scale(equity, 2))
+                .build();
+    }
+
+    private static BigDecimal scale(double value, int digits) {
+        return Double.isFinite(value) ? BigDecimal.valueOf(value).setScale(digits, RoundingMode.HALF_UP) : null;
+    }
+
+    private record Job(PriceSeries series, BacktestConfig config) {
+    }
+
+    private record Run(PriceSeries series, BacktestResult result) {
+    }
+}
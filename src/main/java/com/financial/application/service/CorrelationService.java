@@ -0,0 +1,138 @@
+package com.financial.application.service;
+
+import com.financial.application.dto.CorrelationMatrixDto;
+import com.financial.domain.indicator.BarInterval;
+import com.financial.domain.indicator.PriceSeries;
+import com.financial.domain.risk.AlignedCloses;
+import com.financial.domain.risk.CorrelationMatrix;
+import com.financial.infrastructure.cache.AssetCatalog;
+import com.financial.infrastructure.cache.RedisCacheService;
+import com.financial.infrastructure.repository.PriceHistoryStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@Service
+@Slf4j
+public class CorrelationService {
+
+    // Incrementado pelo scheduler a cada tick; faz parte da chave para que o cache dure até o próximo tick
+    static final String MARKET_TICK_KEY = "market:tick";
+    private static final Duration CORRELATION_TTL = Duration.ofMinutes(2);
+    private static final int MAX_PERIODS = 1000;
+
+    private final AssetCatalog assetCatalog;
+    private final PriceHistoryStore priceHistoryStore;
+    private final RedisCacheService cacheService;
+    private final ForkJoinPool pool;
+
+    public CorrelationService(AssetCatalog assetCatalog,
+                              PriceHistoryStore priceHistoryStore,
+                              RedisCacheService cacheService,
+                              @Value("${app.risk.parallelism:0}") int parallelism) {
+        this.assetCatalog = assetCatalog;
+        this.priceHistoryStore = priceHistoryStore;
+        this.cacheService = cacheService;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public void onTick() {
+        try {
+            cacheService.increment(MARKET_TICK_KEY);
+        } catch (Exception e) {
+            log.warn("Could not advance market tick: {}", e.getMessage());
+        }
+    }
+
+    public CorrelationMatrixDto getCorrelationMatrix(int periods, String interval, String category) {
+        if (periods < 2 || periods > MAX_PERIODS) {
+            throw new IllegalArgumentException("Periods must be between 2 and " + MAX_PERIODS);
+        }
+        BarInterval barInterval = BarInterval.parse(interval);
+        String normalizedCategory = category != null && !category.isBlank() ? category.trim().toUpperCase() : null;
+
+        String cacheKey = "correlation:" + cacheService.getCounter(MARKET_TICK_KEY) + ":" + barInterval.code()
+                + ":" + periods + ":" + (normalizedCategory != null ? normalizedCategory : "ALL");
+        return cacheService.getOrLoad(cacheKey, CorrelationMatrixDto.class, CORRELATION_TTL,
+                () -> computeMatrix(periods, barInterval, normalizedCategory));
+    }
+
+    private CorrelationMatrixDto computeMatrix(int periods, BarInterval interval, String category) {
+        List<String> tickers = (category != null ? assetCatalog.activeByCategory(category) : assetCatalog.active())
+                .stream()
+                .map(AssetCatalog.Entry::ticker)
+                .sorted()
+                .toList();
+        if (tickers.size() < 2) {
+            throw new IllegalArgumentException("At least two active assets are required");
+        }
+
+        // Uma varredura para todos os tickers; N retornos precisam de N + 1 buckets. Cada fechamento vai direto
+        // para o seu bucket, sem materializar os ticks do período
+        LocalDateTime from = LocalDateTime.now().minus(Duration.ofMillis(interval.millis() * (periods + 1)));
+        AlignedCloses.Builder closes = new AlignedCloses.Builder(interval, tickers);
+        priceHistoryStore.scanSince(tickers, from,
+                (ticker, timestamp, open, high, low, close, volume) -> closes.add(ticker, timestamp, close));
+        if (closes.tickersWithData() < 2) {
+            throw new IllegalArgumentException("Insufficient price history for correlation");
+        }
+
+        AlignedCloses aligned = closes.build(periods + 1);
+        CorrelationMatrix matrix = CorrelationMatrix.compute(aligned.logCloses(), pool);
+        long[] buckets = aligned.buckets();
+        int size = aligned.tickers().size();
+
+        log.debug("Computed {}x{} correlation matrix over {} buckets", size, size, buckets.length);
+
+        return CorrelationMatrixDto.builder()
+                .interval(interval.code())
+                .periods(periods)
+                .category(category)
+                .tickers(aligned.tickers())
+                .correlation(rows(matrix.correlation(), 6))
+                .covariance(rows(matrix.covariance(), 10))
+                .observations(rows(matrix.observations()))
+                .windowStart(PriceSeries.fromEpochMillis(buckets[0]))
+                .windowEnd(PriceSeries.fromEpochMillis(buckets[buckets.length - 1]))
+                .calculatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static List<List<BigDecimal>> rows(double[][] matrix, int scale) {
+        List<List<BigDecimal>> rows = new ArrayList<>(matrix.length);
+        for (double[] row : matrix) {
+            List<BigDecimal> values = new ArrayList<>(row.length);
+            for (double value : row) {
+                values.add(Double.isFinite(value) ? BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP) : null);
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+
+    private static List<List<Integer>> rows(int[][] matrix) {
+        List<List<Integer>> rows = new ArrayList<>(matrix.length);
+        for (int[] row : matrix) {
+            List<Integer> values = new ArrayList<>(row.length);
+            for (int value : row) {
+                values.add(value);
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+}
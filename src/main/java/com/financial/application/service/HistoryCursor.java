@@ -0,0 +1,19 @@
+package com.financial.application.service;
+
+import java.time.LocalDateTime;
+
+// Posição da última linha de histórico entregue para o ticker; formato em KeysetCursor
+record HistoryCursor(String ticker, LocalDateTime timestamp, long id) {
+
+    // v3: ticker no último campo
+    private static final String VERSION = "v3";
+
+    String encode() {
+        return new KeysetCursor(ticker, timestamp, id).encode(VERSION);
+    }
+
+    static HistoryCursor decode(String token, String expectedTicker) {
+        KeysetCursor cursor = KeysetCursor.decode(token, VERSION, expectedTicker, "history");
+        return new HistoryCursor(cursor.scope(), cursor.timestamp(), cursor.id());
+    }
+}
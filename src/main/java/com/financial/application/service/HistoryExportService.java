@@ -0,0 +1,150 @@
+package com.financial.application.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financial.application.dto.PriceHistoryDto;
+import com.financial.infrastructure.repository.PriceBarView;
+import com.financial.infrastructure.repository.PriceHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@Slf4j
+public class HistoryExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "ticker,timestamp,open,high,low,close,volume";
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format parse(String format) {
+            return Arrays.stream(values())
+                    .filter(value -> value.name().equalsIgnoreCase(format))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported export format: " + format));
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter rowWriter;
+    private final Duration timeout;
+
+    public HistoryExportService(PriceHistoryRepository priceHistoryRepository,
+                                TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${app.history.export.timeout:10m}") Duration timeout) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.timeout = timeout;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        // Uma linha por objeto: sem separador automático entre valores raiz e sem flush a cada linha
+        this.rowWriter = objectMapper.writerFor(PriceHistoryDto.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Timeout assíncrono da requisição de exportação, maior que o padrão das demais
+    public Duration timeout() {
+        return timeout;
+    }
+
+    // Linhas lidas de um cursor JDBC (fetch size) e escritas uma a uma: a memória não depende do tamanho do período
+    public long export(String ticker, String range, Format format, boolean gzip, OutputStream target) throws IOException {
+        String normalized = ticker.toUpperCase();
+        LocalDateTime from = AssetService.parseRange(range);
+        LocalDateTime to = LocalDateTime.now();
+
+        OutputStream out = gzip ? new GZIPOutputStream(target, BUFFER_SIZE) : target;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        JsonGenerator generator = format == Format.NDJSON ? rowWriter.createGenerator(writer) : null;
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        // O cursor do PostgreSQL só é usado dentro de uma transação
+        Long rows = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<PriceBarView> stream = priceHistoryRepository.streamBars(normalized, from, to)) {
+                Iterator<PriceBarView> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    PriceHistoryDto row = PriceHistoryDto.from(normalized, iterator.next());
+                    if (generator != null) {
+                        rowWriter.writeValue(generator, row);
+                        generator.writeRaw('\n');
+                    } else {
+                        writeCsv(writer, row);
+                    }
+                    count++;
+                }
+                if (generator != null) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+
+        writer.flush();
+        if (gzip) {
+            ((GZIPOutputStream) out).finish();
+        }
+        log.debug("Exported {} history rows for {} as {}", rows, normalized, format);
+        return rows != null ? rows : 0;
+    }
+
+    private static void writeCsv(Writer writer, PriceHistoryDto row) throws IOException {
+        writer.write(row.getTicker());
+        writer.write(',');
+        writer.write(row.getTimestamp().toString());
+        writer.write(',');
+        writer.write(row.getOpen().toPlainString());
+        writer.write(',');
+        writer.write(row.getHigh().toPlainString());
+        writer.write(',');
+        writer.write(row.getLow().toPlainString());
+        writer.write(',');
+        writer.write(row.getClose().toPlainString());
+        writer.write(',');
+        writer.write(Long.toString(row.getVolume()));
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,96 @@
+package com.financial.application.service;
+
+import com.financial.application.dto.HistoryImportResultDto;
+import com.financial.infrastructure.persistence.PriceHistoryBulkLoader;
+import com.financial.infrastructure.repository.PriceHistoryStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HistoryImportService {
+
+    private final PriceHistoryBulkLoader bulkLoader;
+    private final PriceHistoryStore priceHistoryStore;
+
+    // O corpo é gravado em arquivo temporário: a divisão em blocos paralelos exige acesso aleatório
+    public HistoryImportResultDto importStream(InputStream body, String ticker, boolean gzip) throws IOException {
+        Path spooled = spool(gzip ? new GZIPInputStream(body) : body);
+        try {
+            return importPaths(List.of(spooled), ticker);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    // Arquivos .gz são descompactados para um temporário; os demais são lidos no lugar
+    public HistoryImportResultDto importFiles(List<Path> files, String ticker) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        List<Path> temporary = new ArrayList<>();
+        try {
+            for (Path file : files) {
+                if (!Files.isRegularFile(file)) {
+                    throw new IllegalArgumentException("File not found: " + file);
+                }
+                if (file.getFileName().toString().endsWith(".gz")) {
+                    try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                        Path spooled = spool(in);
+                        temporary.add(spooled);
+                        paths.add(spooled);
+                    }
+                } else {
+                    paths.add(file);
+                }
+            }
+            return importPaths(paths, ticker);
+        } finally {
+            for (Path path : temporary) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private HistoryImportResultDto importPaths(List<Path> paths, String ticker) throws IOException {
+        PriceHistoryBulkLoader.Result result = bulkLoader.load(paths, ticker);
+        if (result.rowsInserted() > 0) {
+            priceHistoryStore.reload(result.tickers());
+        }
+
+        return HistoryImportResultDto.builder()
+                .files(paths.size())
+                .bytes(result.bytes())
+                .rowsParsed(result.rowsParsed())
+                .rowsRejected(result.rowsRejected())
+                .duplicates(result.duplicates())
+                .rowsInserted(result.rowsInserted())
+                .tickers(result.tickers())
+                .from(result.from())
+                .to(result.to())
+                .elapsedMs(result.elapsedMs())
+                .rowsPerSecond(result.rowsParsed() * 1000 / Math.max(1, result.elapsedMs()))
+                .rejectedSamples(result.rejectedSamples())
+                .build();
+    }
+
+    private static Path spool(InputStream in) throws IOException {
+        Path file = Files.createTempFile("history-import-", ".csv");
+        try {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+}
@@ -1,43 +1,102 @@
 package com.financial.application.service;
 
 import com.financial.application.dto.IndicatorResultDto;
+import com.financial.application.dto.IndicatorSuiteDto;
+import com.financial.domain.indicator.FusedIndicatorCalculator;
+import com.financial.domain.indicator.IndicatorSpec;
+import com.financial.domain.indicator.IndicatorType;
+import com.financial.domain.indicator.PriceSeries;
 import com.financial.domain.model.PriceHistory;
 import com.financial.domain.service.AssetDomainService;
+import com.financial.infrastructure.cache.CachePolicy;
 import com.financial.infrastructure.cache.RedisCacheService;
-import com.financial.infrastructure.repository.PriceHistoryRepository;
+import com.financial.infrastructure.repository.PriceHistoryStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class IndicatorService {
 
-    private final PriceHistoryRepository priceHistoryRepository;
+    private static final int MAX_INDICATORS_PER_REQUEST = 16;
+
+    private static final CachePolicy INDICATOR_POLICY =
+            CachePolicy.staleWhileRevalidate(Duration.ofMinutes(5), Duration.ofMinutes(15));
+    private static final CachePolicy VOLATILITY_POLICY =
+            CachePolicy.staleWhileRevalidate(Duration.ofMinutes(10), Duration.ofMinutes(30));
+
+    private final PriceHistoryStore priceHistoryStore;
     private final AssetDomainService domainService;
     private final RedisCacheService cacheService;
+    private final StreamingIndicatorEngine indicatorEngine;
 
     public IndicatorResultDto calculateRSI(String ticker, int periods) {
+        // Valor mantido em memória pelo engine incremental, quando disponível
+        OptionalDouble streamed = indicatorEngine.rsi(ticker, periods);
+        if (streamed.isPresent()) {
+            return rsiResult(ticker, periods, BigDecimal.valueOf(streamed.getAsDouble()).setScale(2, RoundingMode.HALF_UP));
+        }
+
         String cacheKey = String.format("rsi:%s:%d", ticker.toUpperCase(), periods);
-        
-        Optional<IndicatorResultDto> cached = cacheService.get(cacheKey, IndicatorResultDto.class);
-        if (cached.isPresent()) {
-            return cached.get();
+
+        return cacheService.getOrLoad(cacheKey, IndicatorResultDto.class, INDICATOR_POLICY, () -> {
+            // RSI de Wilder é recursivo: histórico com folga para as médias suavizadas convergirem
+            List<PriceHistory> history = priceHistoryStore
+                    .findLatestByTicker(ticker.toUpperCase(), new IndicatorSpec(IndicatorType.RSI, periods).requiredHistory());
+
+            return rsiResult(ticker, periods, domainService.calculateRSI(history, periods));
+        });
+    }
+
+    public IndicatorResultDto calculateSMA(String ticker, int periods) {
+        OptionalDouble streamed = indicatorEngine.sma(ticker, periods);
+        if (streamed.isPresent()) {
+            return smaResult(ticker, periods, BigDecimal.valueOf(streamed.getAsDouble()).setScale(4, RoundingMode.HALF_UP));
         }
 
-        List<PriceHistory> history = priceHistoryRepository
-                .findLatestByTicker(ticker.toUpperCase(), periods + 1);
+        String cacheKey = String.format("sma:%s:%d", ticker.toUpperCase(), periods);
+
+        return cacheService.getOrLoad(cacheKey, IndicatorResultDto.class, INDICATOR_POLICY, () -> {
+            List<PriceHistory> history = priceHistoryStore
+                    .findLatestByTicker(ticker.toUpperCase(), periods);
+
+            return smaResult(ticker, periods, domainService.calculateSimpleMovingAverage(history, periods));
+        });
+    }
+
+    public IndicatorResultDto calculateVolatility(String ticker, int periods) {
+        OptionalDouble streamed = indicatorEngine.volatility(ticker, periods);
+        if (streamed.isPresent()) {
+            return volatilityResult(ticker, periods, BigDecimal.valueOf(streamed.getAsDouble()));
+        }
+
+        String cacheKey = String.format("volatility:%s:%d", ticker.toUpperCase(), periods);
+
+        return cacheService.getOrLoad(cacheKey, IndicatorResultDto.class, VOLATILITY_POLICY, () -> {
+            List<PriceHistory> history = priceHistoryStore
+                    .findLatestByTicker(ticker.toUpperCase(), periods);
+
+            return volatilityResult(ticker, periods, domainService.calculateVolatility(history, periods));
+        });
+    }
 
-        BigDecimal rsi = domainService.calculateRSI(history, periods);
-        
-        IndicatorResultDto result = IndicatorResultDto.builder()
+    private IndicatorResultDto rsiResult(String ticker, int periods, BigDecimal rsi) {
+        return IndicatorResultDto.builder()
                 .ticker(ticker.toUpperCase())
                 .indicator("RSI")
                 .value(rsi)
@@ -45,25 +104,10 @@ public class IndicatorService {
                 .calculatedAt(LocalDateTime.now())
                 .interpretation(interpretRSI(rsi))
                 .build();
-
-        cacheService.set(cacheKey, result, Duration.ofMinutes(5));
-        return result;
     }
 
-    public IndicatorResultDto calculateSMA(String ticker, int periods) {
-        String cacheKey = String.format("sma:%s:%d", ticker.toUpperCase(), periods);
-        
-        Optional<IndicatorResultDto> cached = cacheService.get(cacheKey, IndicatorResultDto.class);
-        if (cached.isPresent()) {
-            return cached.get();
-        }
-
-        List<PriceHistory> history = priceHistoryRepository
-                .findLatestByTicker(ticker.toUpperCase(), periods);
-
-        BigDecimal sma = domainService.calculateSimpleMovingAverage(history, periods);
-        
-        IndicatorResultDto result = IndicatorResultDto.builder()
+    private IndicatorResultDto smaResult(String ticker, int periods, BigDecimal sma) {
+        return IndicatorResultDto.builder()
                 .ticker(ticker.toUpperCase())
                 .indicator("SMA")
                 .value(sma)
@@ -71,20 +115,10 @@ public class IndicatorService {
                 .calculatedAt(LocalDateTime.now())
                 .interpretation("Simple Moving Average over " + periods + " periods")
                 .build();
-
-        cacheService.set(cacheKey, result, Duration.ofMinutes(5));
-        return result;
     }
 
-    public IndicatorResultDto calculateVolatility(String ticker, int periods) {
-        String cacheKey = String.format("volatility:%s:%d", ticker.toUpperCase(), periods);
-        
-        List<PriceHistory> history = priceHistoryRepository
-                .findLatestByTicker(ticker.toUpperCase(), periods);
-
-        BigDecimal volatility = domainService.calculateVolatility(history, periods);
-        
-        IndicatorResultDto result = IndicatorResultDto.builder()
+    private IndicatorResultDto volatilityResult(String ticker, int periods, BigDecimal volatility) {
+        return IndicatorResultDto.builder()
                 .ticker(ticker.toUpperCase())
                 .indicator("VOLATILITY")
                 .value(volatility)
@@ -92,9 +126,148 @@ public class IndicatorService {
                 .calculatedAt(LocalDateTime.now())
                 .interpretation(interpretVolatility(volatility))
                 .build();
+    }
+
+    public IndicatorResultDto calculateEMA(String ticker, int periods) {
+        return calculate(ticker, new IndicatorSpec(IndicatorType.EMA, periods));
+    }
+
+    public IndicatorResultDto calculateMACD(String ticker) {
+        return calculate(ticker, new IndicatorSpec(IndicatorType.MACD, IndicatorType.MACD.getDefaultPeriods()));
+    }
+
+    public IndicatorResultDto calculateBollinger(String ticker, int periods) {
+        return calculate(ticker, new IndicatorSpec(IndicatorType.BOLLINGER, periods));
+    }
+
+    public IndicatorResultDto calculateATR(String ticker, int periods) {
+        return calculate(ticker, new IndicatorSpec(IndicatorType.ATR, periods));
+    }
+
+    public IndicatorResultDto calculateStochastic(String ticker, int periods) {
+        return calculate(ticker, new IndicatorSpec(IndicatorType.STOCHASTIC, periods));
+    }
+
+    public IndicatorResultDto calculate(String ticker, IndicatorSpec spec) {
+        String cacheKey = String.format("%s:%s:%d",
+                spec.type().name().toLowerCase(), ticker.toUpperCase(), spec.periods());
+
+        return cacheService.getOrLoad(cacheKey, IndicatorResultDto.class, INDICATOR_POLICY,
+                () -> computeSuite(ticker, List.of(spec)).getIndicators().get(0));
+    }
+
+    public IndicatorSuiteDto calculateSuite(String ticker, List<String> expressions) {
+        Set<IndicatorSpec> specs = new LinkedHashSet<>();
+        for (String expression : expressions) {
+            if (expression != null && !expression.isBlank()) {
+                specs.add(IndicatorSpec.parse(expression));
+            }
+        }
+
+        if (specs.isEmpty()) {
+            throw new IllegalArgumentException("At least one indicator is required");
+        }
+        if (specs.size() > MAX_INDICATORS_PER_REQUEST) {
+            throw new IllegalArgumentException("Too many indicators, maximum is " + MAX_INDICATORS_PER_REQUEST);
+        }
+
+        // Uma única entrada de cache para o conjunto, independente da ordem pedida
+        String cacheKey = "indicators:" + ticker.toUpperCase() + ":" + specs.stream()
+                .map(IndicatorSpec::key)
+                .sorted()
+                .collect(Collectors.joining(","));
+
+        List<IndicatorSpec> requested = new ArrayList<>(specs);
+        return cacheService.getOrLoad(cacheKey, IndicatorSuiteDto.class, INDICATOR_POLICY,
+                () -> computeSuite(ticker, requested));
+    }
+
+    private IndicatorSuiteDto computeSuite(String ticker, List<IndicatorSpec> specs) {
+        int lookback = specs.stream()
+                .mapToInt(IndicatorSpec::requiredHistory)
+                .max()
+                .orElse(0);
+
+        // Janela OHLC carregada uma vez para todos os indicadores
+        PriceSeries series = PriceSeries.fromLatestFirst(
+                priceHistoryStore.findLatestByTicker(ticker.toUpperCase(), lookback));
+
+        Map<IndicatorSpec, Map<String, Double>> values = FusedIndicatorCalculator.compute(series, specs);
+
+        List<IndicatorResultDto> results = new ArrayList<>(specs.size());
+        for (IndicatorSpec spec : specs) {
+            results.add(suiteResult(ticker, spec, values.get(spec)));
+        }
+
+        return IndicatorSuiteDto.builder()
+                .ticker(ticker.toUpperCase())
+                .dataPoints(series.size())
+                .indicators(results)
+                .calculatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private IndicatorResultDto suiteResult(String ticker, IndicatorSpec spec, Map<String, Double> values) {
+        IndicatorResultDto.IndicatorResultDtoBuilder result = IndicatorResultDto.builder()
+                .ticker(ticker.toUpperCase())
+                .indicator(spec.type().name())
+                .periods(spec.periods())
+                .calculatedAt(LocalDateTime.now());
+
+        if (values.isEmpty()) {
+            log.warn("Insufficient data for {} calculation on {}", spec.type(), ticker);
+            return result.interpretation("Insufficient data").build();
+        }
+
+        int scale = switch (spec.type()) {
+            case RSI, STOCHASTIC -> 2;
+            case VOLATILITY -> 6;
+            default -> 4;
+        };
+        Map<String, BigDecimal> components = new LinkedHashMap<>();
+        values.forEach((name, value) -> components.put(name, BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP)));
+
+        BigDecimal primary = components.values().iterator().next();
+        result.value(primary).interpretation(interpret(spec, components));
+        if (components.size() > 1) {
+            result.components(components);
+        }
+        return result.build();
+    }
+
+    private String interpret(IndicatorSpec spec, Map<String, BigDecimal> components) {
+        return switch (spec.type()) {
+            case RSI -> interpretRSI(components.get("value"));
+            case VOLATILITY -> interpretVolatility(components.get("value"));
+            case SMA -> "Simple Moving Average over " + spec.periods() + " periods";
+            case EMA -> "Exponential Moving Average over " + spec.periods() + " periods";
+            case ATR -> "Average True Range over " + spec.periods() + " periods";
+            case MACD -> components.get("histogram").signum() >= 0
+                    ? "BULLISH - MACD above signal line"
+                    : "BEARISH - MACD below signal line";
+            case BOLLINGER -> interpretBollinger(components.get("percentB"));
+            case STOCHASTIC -> interpretStochastic(components.get("k"));
+        };
+    }
+
+    private String interpretBollinger(BigDecimal percentB) {
+        if (percentB.compareTo(BigDecimal.ONE) > 0) {
+            return "OVERBOUGHT - Price above upper band";
+        } else if (percentB.signum() < 0) {
+            return "OVERSOLD - Price below lower band";
+        } else {
+            return "NEUTRAL - Price within bands";
+        }
+    }
 
-        cacheService.set(cacheKey, result, Duration.ofMinutes(10));
-        return result;
+    private String interpretStochastic(BigDecimal k) {
+        if (k.compareTo(BigDecimal.valueOf(80)) >= 0) {
+            return "OVERBOUGHT - Consider selling";
+        } else if (k.compareTo(BigDecimal.valueOf(20)) <= 0) {
+            return "OVERSOLD - Consider buying";
+        } else {
+            return "NEUTRAL - No strong signal";
+        }
     }
 
     private String interpretRSI(BigDecimal rsi) {
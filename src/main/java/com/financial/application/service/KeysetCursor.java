@@ -0,0 +1,35 @@
+package com.financial.application.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posição (timestamp, id) da última linha entregue em uma paginação keyset, serializada como token opaco e
+// presa ao escopo (usuário, ticker) em que foi emitida. O timestamp vai com precisão total (microssegundos do
+// PostgreSQL): truncado, o keyset pularia ou repetiria linhas no limite e deixaria de desempatar pelo id.
+// O escopo é o último campo, para que um separador dentro dele não desloque os demais.
+record KeysetCursor(String scope, LocalDateTime timestamp, long id) {
+
+    private static final String SEPARATOR = "|";
+    private static final int FIELDS = 4;
+
+    String encode(String version) {
+        String raw = String.join(SEPARATOR, version, timestamp.toString(), Long.toString(id), scope);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetCursor decode(String token, String version, String expectedScope, String kind) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", FIELDS);
+            if (parts.length != FIELDS || !version.equals(parts[0]) || !parts[3].equals(expectedScope)) {
+                throw new IllegalArgumentException("Invalid " + kind + " cursor");
+            }
+            return new KeysetCursor(parts[3], LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException e erros de Base64 também são IllegalArgumentException
+            throw new IllegalArgumentException("Invalid " + kind + " cursor", e);
+        }
+    }
+}
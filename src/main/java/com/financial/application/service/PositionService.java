@@ -0,0 +1,193 @@
+package com.financial.application.service;
+
+import com.financial.domain.model.Position;
+import com.financial.domain.model.Transaction;
+import com.financial.infrastructure.cache.RedisCacheService;
+import com.financial.infrastructure.repository.LedgerEntry;
+import com.financial.infrastructure.repository.PositionRepository;
+import com.financial.infrastructure.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+// Mantém a tabela positions em sincronia com o livro de transações. Toda alteração das posições de um
+// usuário (transação nova ou reconstrução) ocorre sob um advisory lock por usuário, na mesma transação.
+@Service
+@Slf4j
+public class PositionService {
+
+    public static final String REPORT_CACHE_PREFIX = "report:";
+
+    private static final String USER_LOCK = "SELECT pg_advisory_xact_lock(hashtext(?))";
+
+    private final PositionRepository positionRepository;
+    private final TransactionRepository transactionRepository;
+    private final RedisCacheService cacheService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter mismatches;
+
+    public PositionService(PositionRepository positionRepository,
+                           TransactionRepository transactionRepository,
+                           RedisCacheService cacheService,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry) {
+        this.positionRepository = positionRepository;
+        this.transactionRepository = transactionRepository;
+        this.cacheService = cacheService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.mismatches = Counter.builder("positions.rebuild.mismatches").register(meterRegistry);
+    }
+
+    // Deve ser chamado antes de gravar as transações: com o lock obtido antes do INSERT, o id gerado segue a
+    // ordem em que as posições são aplicadas, que é a ordem usada pela reconstrução a partir do livro
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockUsers(Collection<String> userIds) {
+        new TreeSet<>(userIds).forEach(this::lockUser);
+    }
+
+    // Chamado dentro da transação que grava a Transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Transaction transaction) {
+        lockUser(transaction.getUserId());
+        Position position = positionRepository
+                .findById(new Position.Key(transaction.getUserId(), transaction.getTicker()))
+                .orElseGet(() -> Position.empty(transaction.getUserId(), transaction.getTicker()));
+        position.apply(transaction.getType(), transaction.getQuantity(), transaction.getTotalValue());
+        positionRepository.save(position);
+        evictReportAfterCommit(transaction.getUserId());
+    }
+
+    // Lote de transações já gravadas: locks em ordem de usuário (sem deadlock entre lotes), posições
+    // carregadas de uma vez e aplicadas na ordem do lote
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(List<Transaction> transactions) {
+        Set<String> userIds = new TreeSet<>();
+        Set<Position.Key> keys = new LinkedHashSet<>();
+        for (Transaction transaction : transactions) {
+            userIds.add(transaction.getUserId());
+            keys.add(new Position.Key(transaction.getUserId(), transaction.getTicker()));
+        }
+        userIds.forEach(this::lockUser);
+
+        Map<Position.Key, Position> positions = new HashMap<>();
+        positionRepository.findAllById(keys)
+                .forEach(position -> positions.put(new Position.Key(position.getUserId(), position.getTicker()), position));
+        for (Transaction transaction : transactions) {
+            positions.computeIfAbsent(new Position.Key(transaction.getUserId(), transaction.getTicker()),
+                            key -> Position.empty(key.getUserId(), key.getTicker()))
+                    .apply(transaction.getType(), transaction.getQuantity(), transaction.getTotalValue());
+        }
+        positionRepository.saveAll(positions.values());
+        userIds.forEach(this::evictReportAfterCommit);
+    }
+
+    public List<Position> getPositions(String userId) {
+        return positionRepository.findByUserIdOrderByTickerAsc(userId);
+    }
+
+    // Recalcula as posições do usuário a partir do livro; devolve o número de tickers divergentes
+    public int rebuild(String userId) {
+        Integer divergent = transactionTemplate.execute(status -> {
+            lockUser(userId);
+            Map<String, Position> expected = new LinkedHashMap<>();
+            try (Stream<LedgerEntry> ledger = transactionRepository.streamLedger(userId)) {
+                ledger.forEach(entry -> expected
+                        .computeIfAbsent(entry.ticker(), ticker -> Position.empty(userId, ticker))
+                        .apply(entry.type(), entry.quantity(), entry.totalValue()));
+            }
+
+            int count = 0;
+            for (Position stored : positionRepository.findByUserIdOrderByTickerAsc(userId)) {
+                Position recomputed = expected.remove(stored.getTicker());
+                if (recomputed == null) {
+                    log.warn("Position {}/{} has no transactions, removing", userId, stored.getTicker());
+                    positionRepository.delete(stored);
+                    count++;
+                } else if (!stored.sameTotals(recomputed)) {
+                    log.warn("Position {}/{} diverged from ledger: stored {}, recomputed {}",
+                            userId, stored.getTicker(), stored, recomputed);
+                    positionRepository.save(recomputed);
+                    count++;
+                }
+            }
+            // Tickers presentes no livro e ausentes da tabela
+            count += expected.size();
+            positionRepository.saveAll(expected.values());
+            return count;
+        });
+        int result = divergent != null ? divergent : 0;
+        if (result > 0) {
+            mismatches.increment(result);
+            cacheService.delete(REPORT_CACHE_PREFIX + userId);
+        }
+        return result;
+    }
+
+    @Scheduled(cron = "${app.positions.verify-cron:0 30 3 * * *}")
+    public void verifyAll() {
+        List<String> userIds = transactionRepository.findDistinctUserIds();
+        int divergent = 0;
+        for (String userId : userIds) {
+            try {
+                divergent += rebuild(userId);
+            } catch (Exception e) {
+                log.error("Position rebuild failed for user {}: {}", userId, e.getMessage(), e);
+            }
+        }
+        log.info("Verified positions of {} users against the ledger, {} divergent positions repaired",
+                userIds.size(), divergent);
+    }
+
+    // Primeira execução com transações anteriores à tabela de posições: constrói tudo a partir do livro
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            if (positionRepository.count() == 0 && transactionRepository.count() > 0) {
+                log.info("Positions table is empty, rebuilding from the transaction ledger");
+                verifyAll();
+            }
+        } catch (Exception e) {
+            log.warn("Skipping positions backfill, database not ready: {}", e.getMessage());
+        }
+    }
+
+    private void lockUser(String userId) {
+        jdbcTemplate.query(USER_LOCK, rs -> null, "positions:" + userId);
+    }
+
+    private void evictReportAfterCommit(String userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    cacheService.delete(REPORT_CACHE_PREFIX + userId);
+                } catch (Exception e) {
+                    log.warn("Could not evict report cache for user {}: {}", userId, e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,182 @@
+package com.financial.application.service;
+
+import com.financial.application.dto.ScreenerMatchDto;
+import com.financial.application.dto.ScreenerResultDto;
+import com.financial.domain.indicator.FusedIndicatorCalculator;
+import com.financial.domain.indicator.IndicatorSpec;
+import com.financial.domain.indicator.PriceSeries;
+import com.financial.domain.indicator.ScreenerCondition;
+import com.financial.domain.model.PriceHistory;
+import com.financial.infrastructure.cache.AssetCatalog;
+import com.financial.infrastructure.repository.PriceHistoryStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+@Service
+@Slf4j
+public class ScreenerService {
+
+    private static final int TICKER_CHUNK_SIZE = 500;
+    private static final int MAX_FILTERS = 10;
+    private static final int MAX_LIMIT = 1000;
+
+    private final AssetCatalog assetCatalog;
+    private final PriceHistoryStore priceHistoryStore;
+    private final ForkJoinPool pool;
+
+    public ScreenerService(AssetCatalog assetCatalog,
+                           PriceHistoryStore priceHistoryStore,
+                           @Value("${app.screener.parallelism:0}") int parallelism) {
+        this.assetCatalog = assetCatalog;
+        this.priceHistoryStore = priceHistoryStore;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public ScreenerResultDto screen(List<String> filters, String sort, boolean descending, int limit) {
+        if (filters.size() > MAX_FILTERS) {
+            throw new IllegalArgumentException("Too many filters, maximum is " + MAX_FILTERS);
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        List<ScreenerCondition> conditions = filters.stream()
+                .filter(filter -> filter != null && !filter.isBlank())
+                .map(ScreenerCondition::parse)
+                .toList();
+        ScreenerCondition.ValueRef sortBy = sort != null && !sort.isBlank()
+                ? ScreenerCondition.ValueRef.parse(sort)
+                : null;
+
+        Set<IndicatorSpec> specs = new LinkedHashSet<>();
+        conditions.forEach(condition -> specs.add(condition.spec()));
+        if (sortBy != null) {
+            specs.add(sortBy.spec());
+        }
+        List<IndicatorSpec> specList = new ArrayList<>(specs);
+        int lookback = specList.stream().mapToInt(IndicatorSpec::requiredHistory).max().orElse(0);
+
+        Map<String, Long> timings = new LinkedHashMap<>();
+        long start = System.nanoTime();
+
+        List<AssetCatalog.Entry> assets = assetCatalog.active();
+        start = lap(timings, "loadAssets", start);
+
+        Map<String, List<PriceHistory>> historyByTicker = lookback > 0 ? fetchHistory(assets, lookback) : Map.of();
+        start = lap(timings, "fetchHistory", start);
+
+        // Avaliação paralela por ticker no pool dedicado do screener
+        List<Candidate> candidates = pool.submit(() -> assets.parallelStream()
+                .map(asset -> evaluate(asset, historyByTicker.getOrDefault(asset.ticker(), List.of()),
+                        specList, conditions, sortBy))
+                .filter(Objects::nonNull)
+                .toList()).join();
+        start = lap(timings, "computeIndicators", start);
+
+        Comparator<Candidate> comparator = sortBy == null
+                ? Comparator.comparing(candidate -> candidate.asset().ticker())
+                : Comparator.comparing(Candidate::sortValue,
+                        Comparator.nullsLast(descending ? Comparator.<Double>reverseOrder() : Comparator.<Double>naturalOrder()));
+
+        List<ScreenerMatchDto> matches = candidates.stream()
+                .sorted(comparator)
+                .limit(limit)
+                .map(this::toMatch)
+                .toList();
+        lap(timings, "sortAndLimit", start);
+
+        log.debug("Screener matched {} of {} assets in {} ms", candidates.size(), assets.size(),
+                timings.values().stream().mapToLong(Long::longValue).sum());
+
+        return ScreenerResultDto.builder()
+                .filters(conditions.stream().map(ScreenerService::describe).toList())
+                .sort(sort)
+                .screened(assets.size())
+                .matched(candidates.size())
+                .matches(matches)
+                .stageTimingsMs(timings)
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private Map<String, List<PriceHistory>> fetchHistory(List<AssetCatalog.Entry> assets, int lookback) {
+        Map<String, List<PriceHistory>> historyByTicker = new HashMap<>();
+        List<String> tickers = assets.stream().map(AssetCatalog.Entry::ticker).toList();
+
+        // Uma consulta por bloco de tickers em vez de uma por ticker
+        for (int from = 0; from < tickers.size(); from += TICKER_CHUNK_SIZE) {
+            List<String> chunk = tickers.subList(from, Math.min(from + TICKER_CHUNK_SIZE, tickers.size()));
+            for (PriceHistory row : priceHistoryStore.findLatestByTickers(chunk, lookback)) {
+                historyByTicker.computeIfAbsent(row.getTicker(), t -> new ArrayList<>()).add(row);
+            }
+        }
+        return historyByTicker;
+    }
+
+    private Candidate evaluate(AssetCatalog.Entry asset, List<PriceHistory> history, List<IndicatorSpec> specs,
+                               List<ScreenerCondition> conditions, ScreenerCondition.ValueRef sortBy) {
+        Map<IndicatorSpec, Map<String, Double>> values =
+                FusedIndicatorCalculator.compute(PriceSeries.fromLatestFirst(history), specs);
+
+        for (ScreenerCondition condition : conditions) {
+            if (!condition.matches(values.get(condition.spec()))) {
+                return null;
+            }
+        }
+
+        Double sortValue = sortBy != null ? sortBy.resolve(values.get(sortBy.spec())) : null;
+        return new Candidate(asset, values, sortValue);
+    }
+
+    private ScreenerMatchDto toMatch(Candidate candidate) {
+        Map<String, BigDecimal> values = new LinkedHashMap<>();
+        candidate.values().forEach((spec, components) -> components.forEach((name, value) -> {
+            String key = components.size() == 1 ? spec.key() : spec.key() + "." + name;
+            values.put(key, BigDecimal.valueOf(value).setScale(6, RoundingMode.HALF_UP));
+        }));
+
+        return ScreenerMatchDto.builder()
+                .ticker(candidate.asset().ticker())
+                .name(candidate.asset().name())
+                .category(candidate.asset().category())
+                .values(values)
+                .build();
+    }
+
+    private static String describe(ScreenerCondition condition) {
+        String target = condition.component() != null
+                ? condition.spec().key() + "." + condition.component()
+                : condition.spec().key();
+        return target + " " + condition.operator() + " " + condition.threshold();
+    }
+
+    private static long lap(Map<String, Long> timings, String stage, long start) {
+        long now = System.nanoTime();
+        timings.put(stage, (now - start) / 1_000_000);
+        return now;
+    }
+
+    private record Candidate(AssetCatalog.Entry asset, Map<IndicatorSpec, Map<String, Double>> values, Double sortValue) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.financial.application.service;
+
+import com.financial.domain.indicator.RollingPriceWindow;
+import com.financial.domain.model.PriceHistory;
+import com.financial.infrastructure.cache.AssetCatalog;
+import com.financial.infrastructure.repository.PriceHistoryStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Uma janela por ticker existente no catálogo de ativos: tickers inexistentes (respondidos pelo cache negativo
+// do catálogo) seguem pelo cálculo em lote e nunca criam janelas, mantendo o mapa limitado aos ativos
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StreamingIndicatorEngine {
+
+    private final PriceHistoryStore priceHistoryStore;
+    private final AssetCatalog assetCatalog;
+    private final ConcurrentHashMap<String, RollingPriceWindow> windows = new ConcurrentHashMap<>();
+
+    @Value("${app.indicators.streaming.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.indicators.streaming.window-capacity:500}")
+    private int windowCapacity;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedActiveAssets() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<AssetCatalog.Entry> assets = assetCatalog.active();
+            assets.forEach(asset -> window(asset.ticker()));
+            log.info("Streaming indicator engine seeded for {} assets", assets.size());
+        } catch (Exception e) {
+            log.warn("Could not seed streaming indicators, will load lazily: {}", e.getMessage());
+        }
+    }
+
+    public void onTick(PriceHistory tick) {
+        if (!enabled) {
+            return;
+        }
+        RollingPriceWindow window = windows.get(tick.getTicker());
+        if (window == null) {
+            if (assetCatalog.find(tick.getTicker()).isEmpty()) {
+                return;
+            }
+            window = windows.computeIfAbsent(tick.getTicker(), t -> new RollingPriceWindow(windowCapacity));
+        }
+        window.append(tick.getClose().doubleValue(), epochMillis(tick));
+    }
+
+    public OptionalDouble rsi(String ticker, int periods) {
+        return compute(ticker, periods, 1, window -> window.rsi(periods));
+    }
+
+    public OptionalDouble sma(String ticker, int periods) {
+        return compute(ticker, periods, 1, window -> window.sma(periods));
+    }
+
+    public OptionalDouble volatility(String ticker, int periods) {
+        return compute(ticker, periods, 2, window -> window.volatility(periods));
+    }
+
+    private OptionalDouble compute(String ticker, int periods, int minimumPeriods,
+                                   Function<RollingPriceWindow, OptionalDouble> indicator) {
+        // Períodos fora da janela em memória seguem pelo cálculo em lote
+        if (!enabled || periods < minimumPeriods || periods > windowCapacity - 2) {
+            return OptionalDouble.empty();
+        }
+        String normalized = ticker.toUpperCase();
+        if (!windows.containsKey(normalized) && assetCatalog.find(normalized).isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        RollingPriceWindow window = window(normalized);
+        return window.isSeeded() ? indicator.apply(window) : OptionalDouble.empty();
+    }
+
+    private RollingPriceWindow window(String ticker) {
+        RollingPriceWindow window = windows.computeIfAbsent(ticker, t -> new RollingPriceWindow(windowCapacity));
+        if (!window.isSeeded()) {
+            synchronized (window) {
+                if (!window.isSeeded()) {
+                    seed(ticker, window);
+                }
+            }
+        }
+        return window;
+    }
+
+    private void seed(String ticker, RollingPriceWindow window) {
+        List<PriceHistory> latest = priceHistoryStore.findLatestByTicker(ticker, windowCapacity);
+
+        // findLatestByTicker retorna do mais recente para o mais antigo
+        int size = latest.size();
+        double[] closes = new double[size];
+        long[] timestamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            PriceHistory history = latest.get(size - 1 - i);
+            closes[i] = history.getClose().doubleValue();
+            timestamps[i] = epochMillis(history);
+        }
+
+        window.seed(closes, timestamps);
+        log.debug("Seeded streaming indicators for {} with {} prices", ticker, size);
+    }
+
+    private static long epochMillis(PriceHistory history) {
+        return history.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,19 @@
+package com.financial.application.service;
+
+import java.time.LocalDateTime;
+
+// Posição da última transação entregue ao usuário; formato em KeysetCursor
+record TransactionCursor(String userId, LocalDateTime timestamp, long id) {
+
+    // v2: usuário no último campo
+    private static final String VERSION = "v2";
+
+    String encode() {
+        return new KeysetCursor(userId, timestamp, id).encode(VERSION);
+    }
+
+    static TransactionCursor decode(String token, String expectedUserId) {
+        KeysetCursor cursor = KeysetCursor.decode(token, VERSION, expectedUserId, "transaction");
+        return new TransactionCursor(cursor.scope(), cursor.timestamp(), cursor.id());
+    }
+}
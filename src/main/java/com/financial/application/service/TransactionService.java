@@ -1,23 +1,43 @@
 package com.financial.application.service;
 
+import com.financial.application.dto.AssetQuoteDto;
+import com.financial.application.dto.PnlReportDto;
+import com.financial.application.dto.PositionPnlDto;
+import com.financial.application.dto.TransactionBatchItemDto;
+import com.financial.application.dto.TransactionBatchResultDto;
 import com.financial.application.dto.TransactionDto;
+import com.financial.application.dto.TransactionPageDto;
 import com.financial.application.dto.TransactionReportDto;
 import com.financial.application.dto.CreateTransactionDto;
-import com.financial.domain.model.Asset;
+import com.financial.domain.model.Position;
 import com.financial.domain.model.Transaction;
-import com.financial.infrastructure.repository.AssetRepository;
+import com.financial.infrastructure.cache.AssetCatalog;
+import com.financial.infrastructure.cache.RedisCacheService;
+import com.financial.infrastructure.persistence.TransactionWal;
 import com.financial.infrastructure.repository.TransactionRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,71 +45,201 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TransactionService {
 
+    private static final Duration REPORT_TTL = Duration.ofMinutes(10);
+    private static final int MAX_BATCH_SIZE = 10000;
+    private static final int MONEY_SCALE = 2;
+    // numeric(19,8) para quantidade e numeric(19,2) para preço e total, como em Transaction
+    private static final int QUANTITY_SCALE = 8;
+    private static final int COLUMN_PRECISION = 19;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final TransactionRepository transactionRepository;
-    private final AssetRepository assetRepository;
+    private final AssetCatalog assetCatalog;
+    private final PositionService positionService;
+    private final AssetService assetService;
+    private final RedisCacheService cacheService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final Optional<TransactionWal> transactionWal;
 
-    @Transactional
+    // Com o write-ahead log habilitado, a transação é confirmada assim que está em disco e volta sem id
+    // (só com a referência); o drenador a grava no banco depois. Sem o log, ou com ele saturado, o caminho
+    // síncrono é usado: a referência já atribuída evita duplicidade caso o registro também chegue ao log.
     public TransactionDto createTransaction(CreateTransactionDto dto) {
-        Asset asset = assetRepository.findByTicker(dto.getTicker())
+        AssetCatalog.Entry asset = assetCatalog.find(dto.getTicker())
                 .orElseThrow(() -> new IllegalArgumentException("Asset not found: " + dto.getTicker()));
 
-        BigDecimal totalValue = dto.getQuantity().multiply(dto.getPrice());
+        Transaction transaction = newTransaction(dto, LocalDateTime.now());
+        // Depois de confirmada pelo log a transação não pode mais ser recusada pelo banco
+        String error = columnLimitError(transaction);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
 
-        Transaction transaction = Transaction.builder()
-                .userId(dto.getUserId())
-                .ticker(dto.getTicker().toUpperCase())
-                .type(dto.getType())
-                .quantity(dto.getQuantity())
-                .price(dto.getPrice())
-                .totalValue(totalValue)
-                .timestamp(LocalDateTime.now())
-                .build();
+        if (transactionWal.isPresent()) {
+            try {
+                transactionWal.get().append(transaction);
+                log.info("Transaction accepted: {} {} shares of {} for user {} ({})",
+                        dto.getType(), dto.getQuantity(), asset.ticker(), dto.getUserId(), transaction.getReference());
+                return TransactionDto.from(transaction);
+            } catch (IllegalStateException e) {
+                log.warn("Transaction log unavailable, writing synchronously: {}", e.getMessage());
+            }
+        }
 
-        Transaction saved = transactionRepository.save(transaction);
+        Transaction saved = transactionTemplate.execute(status -> {
+            // Lock antes do timestamp e do id: a ordem no livro é a ordem de aplicação às posições. Uma cópia é
+            // gravada porque o append que expirou pode ainda estar com a instância original a caminho do drenador
+            positionService.lockUsers(List.of(transaction.getUserId()));
+            Transaction copy = copyOf(transaction, LocalDateTime.now());
+            // Se o registro já chegou ao banco pelo log, a linha existente é devolvida e as posições não mudam
+            if (transactionRepository.insertAllIfAbsent(List.of(copy)).isEmpty()) {
+                return transactionRepository.findByReference(copy.getReference())
+                        .orElseThrow(() -> new IllegalStateException("Transaction not found: " + copy.getReference()));
+            }
+            positionService.apply(copy);
+            return copy;
+        });
         log.info("Transaction created: {} {} shares of {} for user {}", 
                 dto.getType(), dto.getQuantity(), dto.getTicker(), dto.getUserId());
 
         return TransactionDto.from(saved);
     }
 
+    // Itens inválidos ou com ticker desconhecido são rejeitados individualmente; os demais são gravados
+    // em lotes JDBC em uma única transação, com um único lookup de tickers
+    @Transactional
+    public TransactionBatchResultDto createTransactions(List<CreateTransactionDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("At least one transaction is required");
+        }
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Too many transactions, maximum is " + MAX_BATCH_SIZE);
+        }
+
+        Set<String> tickers = dtos.stream()
+                .filter(dto -> dto != null && dto.getTicker() != null)
+                .map(dto -> dto.getTicker().toUpperCase())
+                .collect(Collectors.toSet());
+        Set<String> known = assetCatalog.findAll(tickers).keySet();
+
+        // Lock dos usuários antes de atribuir timestamps e ids, como no caminho unitário
+        positionService.lockUsers(dtos.stream()
+                .filter(dto -> dto != null && dto.getUserId() != null)
+                .map(CreateTransactionDto::getUserId)
+                .collect(Collectors.toSet()));
+        LocalDateTime now = LocalDateTime.now();
+        TransactionBatchItemDto[] results = new TransactionBatchItemDto[dtos.size()];
+        List<Transaction> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            String error = validate(dtos.get(i), known);
+            Transaction transaction = error == null ? newTransaction(dtos.get(i), now) : null;
+            // Valores arredondados fora das colunas rejeitam só o item, e não o lote inteiro no insert
+            if (transaction != null) {
+                error = columnLimitError(transaction);
+            }
+            if (error != null) {
+                results[i] = TransactionBatchItemDto.builder()
+                        .index(i)
+                        .status(TransactionBatchItemDto.Status.REJECTED)
+                        .error(error)
+                        .build();
+            } else {
+                accepted.add(transaction);
+                acceptedIndexes.add(i);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            transactionRepository.insertAll(accepted);
+            positionService.applyAll(accepted);
+        }
+        for (int i = 0; i < accepted.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results[index] = TransactionBatchItemDto.builder()
+                    .index(index)
+                    .status(TransactionBatchItemDto.Status.CREATED)
+                    .transactionId(accepted.get(i).getId())
+                    .build();
+        }
+
+        log.info("Transaction batch processed: {} created, {} rejected", accepted.size(), dtos.size() - accepted.size());
+        return TransactionBatchResultDto.builder()
+                .submitted(dtos.size())
+                .created(accepted.size())
+                .rejected(dtos.size() - accepted.size())
+                .results(List.of(results))
+                .build();
+    }
+
     public Page<TransactionDto> getUserTransactions(String userId, Pageable pageable) {
         return transactionRepository.findByUserIdOrderByTimestampDesc(userId, pageable)
                 .map(TransactionDto::from);
     }
 
+    // Mesma paginação por offset, sem o count(*) do total
+    public Slice<TransactionDto> getUserTransactionsSlice(String userId, Pageable pageable) {
+        return transactionRepository.findSliceByUserIdOrderByTimestampDescIdDesc(userId, pageable)
+                .map(TransactionDto::from);
+    }
+
+    public TransactionPageDto getUserTransactionsAfter(String userId, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Pageable first = PageRequest.of(0, pageSize);
+        Slice<Transaction> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = transactionRepository.findSliceByUserIdOrderByTimestampDescIdDesc(userId, first);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor, userId);
+            slice = transactionRepository.findSliceAfter(userId, position.timestamp(), position.id(), first);
+        }
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Transaction last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = new TransactionCursor(userId, last.getTimestamp(), last.getId()).encode();
+        }
+
+        return TransactionPageDto.builder()
+                .items(slice.map(TransactionDto::from).getContent())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Montado a partir do agregado de posições: custo proporcional ao número de tickers, não ao histórico
     public TransactionReportDto generateReport(String userId) {
-        List<Transaction> transactions = transactionRepository.findByUserIdOrderByTimestampDesc(userId);
+        return cacheService.getOrLoad(PositionService.REPORT_CACHE_PREFIX + userId, TransactionReportDto.class,
+                REPORT_TTL, () -> buildReport(userId));
+    }
+
+    private TransactionReportDto buildReport(String userId) {
+        List<Position> positions = positionService.getPositions(userId);
 
         BigDecimal totalBought = BigDecimal.ZERO;
         BigDecimal totalSold = BigDecimal.ZERO;
-        int buyCount = 0;
-        int sellCount = 0;
-
-        Map<String, BigDecimal> positionsByTicker = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        Transaction::getTicker,
-                        Collectors.reducing(BigDecimal.ZERO, 
-                                t -> t.getType() == Transaction.TransactionType.BUY 
-                                        ? t.getQuantity() 
-                                        : t.getQuantity().negate(),
-                                BigDecimal::add)
-                ));
-
-        for (Transaction t : transactions) {
-            if (t.getType() == Transaction.TransactionType.BUY) {
-                totalBought = totalBought.add(t.getTotalValue());
-                buyCount++;
-            } else {
-                totalSold = totalSold.add(t.getTotalValue());
-                sellCount++;
-            }
+        long buyCount = 0;
+        long sellCount = 0;
+        Map<String, BigDecimal> positionsByTicker = new LinkedHashMap<>();
+
+        for (Position position : positions) {
+            totalBought = totalBought.add(position.getTotalBought());
+            totalSold = totalSold.add(position.getTotalSold());
+            buyCount += position.getBuyCount();
+            sellCount += position.getSellCount();
+            positionsByTicker.put(position.getTicker(), position.getQuantity());
         }
 
         return TransactionReportDto.builder()
                 .userId(userId)
-                .totalTransactions(transactions.size())
-                .totalBuyTransactions(buyCount)
-                .totalSellTransactions(sellCount)
+                .totalTransactions((int) (buyCount + sellCount))
+                .totalBuyTransactions((int) buyCount)
+                .totalSellTransactions((int) sellCount)
                 .totalAmountBought(totalBought)
                 .totalAmountSold(totalSold)
                 .netAmount(totalSold.subtract(totalBought))
@@ -97,4 +247,140 @@ public class TransactionService {
                 .generatedAt(LocalDateTime.now())
                 .build();
     }
-}
\ No newline at end of file
+
+    // P&L por ticker a partir do agregado de posições (custo médio ponderado) e uma única busca de cotações
+    // em lote para a marcação a mercado: o custo depende do número de tickers do usuário, não do histórico
+    public PnlReportDto generatePnlReport(String userId) {
+        List<Position> positions = positionService.getPositions(userId);
+        List<String> openTickers = positions.stream()
+                .filter(position -> position.getQuantity().signum() != 0)
+                .map(Position::getTicker)
+                .toList();
+        Map<String, AssetQuoteDto> quotes = openTickers.isEmpty() ? Map.of() : assetService.getQuotesByTicker(openTickers);
+
+        BigDecimal totalCostBasis = BigDecimal.ZERO;
+        BigDecimal totalMarketValue = BigDecimal.ZERO;
+        BigDecimal realized = BigDecimal.ZERO;
+        BigDecimal unrealized = BigDecimal.ZERO;
+        List<PositionPnlDto> lines = new ArrayList<>(positions.size());
+        List<String> unpriced = new ArrayList<>();
+
+        for (Position position : positions) {
+            PositionPnlDto.PositionPnlDtoBuilder line = PositionPnlDto.builder()
+                    .ticker(position.getTicker())
+                    .quantity(position.getQuantity())
+                    .averageCost(position.averageCost().setScale(MONEY_SCALE, RoundingMode.HALF_UP))
+                    .costBasis(money(position.getCostBasis()))
+                    .realizedPnl(money(position.getRealizedPnl()));
+            realized = realized.add(position.getRealizedPnl());
+
+            if (position.getQuantity().signum() != 0) {
+                AssetQuoteDto quote = quotes.get(position.getTicker());
+                if (quote != null && quote.getCurrentPrice() != null) {
+                    // Na posição vendida o custo é negativo (valor recebido) e o valor de mercado também
+                    BigDecimal marketValue = position.getQuantity().multiply(quote.getCurrentPrice());
+                    BigDecimal pnl = marketValue.subtract(position.getCostBasis());
+                    line.marketPrice(quote.getCurrentPrice())
+                            .marketValue(money(marketValue))
+                            .unrealizedPnl(money(pnl));
+                    totalCostBasis = totalCostBasis.add(position.getCostBasis());
+                    totalMarketValue = totalMarketValue.add(marketValue);
+                    unrealized = unrealized.add(pnl);
+                } else {
+                    unpriced.add(position.getTicker());
+                }
+            }
+            lines.add(line.build());
+        }
+
+        return PnlReportDto.builder()
+                .userId(userId)
+                .costMethod("WEIGHTED_AVERAGE")
+                .positions(lines)
+                .totalCostBasis(money(totalCostBasis))
+                .totalMarketValue(money(totalMarketValue))
+                .realizedPnl(money(realized))
+                .unrealizedPnl(money(unrealized))
+                .totalPnl(money(realized.add(unrealized)))
+                .unpricedTickers(unpriced)
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static BigDecimal money(BigDecimal value) {
+        return value.setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private String validate(CreateTransactionDto dto, Set<String> knownTickers) {
+        if (dto == null) {
+            return "Transaction is required";
+        }
+        Set<ConstraintViolation<CreateTransactionDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!knownTickers.contains(dto.getTicker().toUpperCase())) {
+            return "Asset not found: " + dto.getTicker();
+        }
+        return null;
+    }
+
+    private static Transaction copyOf(Transaction transaction, LocalDateTime timestamp) {
+        return Transaction.builder()
+                .reference(transaction.getReference())
+                .userId(transaction.getUserId())
+                .ticker(transaction.getTicker())
+                .type(transaction.getType())
+                .quantity(transaction.getQuantity())
+                .price(transaction.getPrice())
+                .totalValue(transaction.getTotalValue())
+                .timestamp(timestamp)
+                .build();
+    }
+
+    // Valores arredondados que o banco recusaria: zero após o arredondamento ou acima da precisão da coluna
+    private static String columnLimitError(Transaction transaction) {
+        if (transaction.getQuantity().signum() <= 0) {
+            return "quantity: must be positive after rounding to " + QUANTITY_SCALE + " decimal places";
+        }
+        if (transaction.getPrice().signum() <= 0) {
+            return "price: must be positive after rounding to " + MONEY_SCALE + " decimal places";
+        }
+        if (integerDigits(transaction.getQuantity()) > COLUMN_PRECISION - QUANTITY_SCALE) {
+            return "quantity: must have at most " + (COLUMN_PRECISION - QUANTITY_SCALE) + " integer digits";
+        }
+        if (integerDigits(transaction.getPrice()) > COLUMN_PRECISION - MONEY_SCALE) {
+            return "price: must have at most " + (COLUMN_PRECISION - MONEY_SCALE) + " integer digits";
+        }
+        if (transaction.getTotalValue().signum() <= 0
+                || integerDigits(transaction.getTotalValue()) > COLUMN_PRECISION - MONEY_SCALE) {
+            return "totalValue: quantity * price must be positive and have at most "
+                    + (COLUMN_PRECISION - MONEY_SCALE) + " integer digits";
+        }
+        return null;
+    }
+
+    private static int integerDigits(BigDecimal value) {
+        return Math.max(value.precision() - value.scale(), 0);
+    }
+
+    // Valores já na escala das colunas: as posições são calculadas com o mesmo valor que o banco guarda
+    private static Transaction newTransaction(CreateTransactionDto dto, LocalDateTime timestamp) {
+        BigDecimal quantity = dto.getQuantity().setScale(QUANTITY_SCALE, RoundingMode.HALF_UP);
+        BigDecimal price = dto.getPrice().setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+
+        return Transaction.builder()
+                .reference(UUID.randomUUID().toString())
+                .userId(dto.getUserId())
+                .ticker(dto.getTicker().toUpperCase())
+                .type(dto.getType())
+                .quantity(quantity)
+                .price(price)
+                .totalValue(quantity.multiply(price).setScale(MONEY_SCALE, RoundingMode.HALF_UP))
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.financial.application.service;
+
+import com.financial.domain.model.Transaction;
+import com.financial.infrastructure.persistence.TransactionWal;
+import com.financial.infrastructure.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Aplica ao banco, em lotes, as transações confirmadas no write-ahead log. Inserção e posições são gravadas
+// na mesma transação e o checkpoint só avança depois do commit; se o processo cair entre o commit e o
+// checkpoint, a reaplicação encontra as referências já gravadas (ON CONFLICT DO NOTHING) e não duplica nada.
+@Component
+@ConditionalOnProperty(name = "app.transactions.wal.enabled", havingValue = "true")
+@Slf4j
+public class TransactionWalDrainer implements SmartLifecycle {
+
+    private final TransactionWal wal;
+    private final TransactionRepository transactionRepository;
+    private final PositionService positionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration interval;
+    private final Timer drainTimer;
+    private final Counter drained;
+    private final Counter deadLettered;
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public TransactionWalDrainer(TransactionWal wal,
+                                 TransactionRepository transactionRepository,
+                                 PositionService positionService,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.transactions.wal.drain-batch-size:1000}") int batchSize,
+                                 @Value("${app.transactions.wal.drain-interval:200ms}") Duration interval) {
+        this.wal = wal;
+        this.transactionRepository = transactionRepository;
+        this.positionService = positionService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.drainTimer = Timer.builder("transactions.wal.drain.latency").register(meterRegistry);
+        this.drained = Counter.builder("transactions.wal.drained").register(meterRegistry);
+        this.deadLettered = Counter.builder("transactions.wal.dead.letters").register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        drainer = new Thread(this::runDrainer, "transaction-wal-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    // O que não for drenado até aqui continua no log e é reaplicado na próxima inicialização
+    @Override
+    public void stop() {
+        running = false;
+        if (drainer != null) {
+            drainer.interrupt();
+            try {
+                drainer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runDrainer() {
+        while (running) {
+            try {
+                List<TransactionWal.Entry> entries = wal.peek(batchSize);
+                if (entries.isEmpty()) {
+                    Thread.sleep(interval.toMillis());
+                    continue;
+                }
+                drain(entries);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Transaction log drain failed: {}", e.getMessage(), e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void drain(List<TransactionWal.Entry> entries) {
+        long start = System.nanoTime();
+        List<Transaction> transactions = entries.stream().map(TransactionWal.Entry::transaction).toList();
+        try {
+            int inserted = apply(transactions);
+            drained.increment(inserted);
+            log.debug("Drained {} transactions from the log ({} already applied)", inserted, transactions.size() - inserted);
+        } catch (Exception e) {
+            // Um item inválido não pode travar o log: o lote é refeito item a item. Os que violam restrições do
+            // banco já foram confirmados ao cliente e vão para o arquivo de dead letters (com fsync) antes do
+            // checkpoint; qualquer outra falha (banco indisponível, disco) interrompe o lote sem checkpoint
+            log.warn("Transaction log batch of {} failed, retrying individually: {}", transactions.size(), e.getMessage());
+            for (TransactionWal.Entry entry : entries) {
+                try {
+                    drained.increment(apply(List.of(entry.transaction())));
+                } catch (DataIntegrityViolationException itemFailure) {
+                    wal.deadLetter(entry);
+                    deadLettered.increment();
+                    log.error("Transaction {} for user {} rejected by the database, moved to the dead-letter file: {}",
+                            entry.transaction().getReference(), entry.transaction().getUserId(), itemFailure.getMessage());
+                }
+            }
+        }
+        wal.checkpoint(entries.get(entries.size() - 1).sequence());
+        drainTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private int apply(List<Transaction> transactions) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            positionService.lockUsers(transactions.stream().map(Transaction::getUserId).toList());
+            List<Transaction> created = transactionRepository.insertAllIfAbsent(transactions);
+            if (!created.isEmpty()) {
+                positionService.applyAll(created);
+            }
+            return created.size();
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(interval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
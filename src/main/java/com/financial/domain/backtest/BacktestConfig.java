@@ -0,0 +1,31 @@
+package com.financial.domain.backtest;
+
+import java.util.Map;
+
+public record BacktestConfig(StrategyType strategy,
+                             Map<String, Double> parameters,
+                             double initialCapital,
+                             double positionSize,
+                             double feeRate) {
+
+    public BacktestConfig {
+        if (initialCapital <= 0) {
+            throw new IllegalArgumentException("Initial capital must be positive");
+        }
+        if (positionSize <= 0 || positionSize > 1) {
+            throw new IllegalArgumentException("Position size must be in (0, 1]");
+        }
+        if (feeRate < 0 || feeRate >= 1) {
+            throw new IllegalArgumentException("Fee rate must be in [0, 1)");
+        }
+        parameters = strategy.resolve(parameters);
+    }
+
+    public int intParameter(String name) {
+        return (int) Math.round(parameters.get(name));
+    }
+
+    public double parameter(String name) {
+        return parameters.get(name);
+    }
+}
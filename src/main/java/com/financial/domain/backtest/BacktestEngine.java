@@ -0,0 +1,121 @@
+package com.financial.domain.backtest;
+
+import com.financial.domain.indicator.IndicatorKernels;
+import com.financial.domain.indicator.PriceSeries;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Replay de uma estratégia long-only sobre a série (ordem cronológica).
+// Os sinais são calculados de uma vez sobre os arrays e executados no fechamento do candle.
+public final class BacktestEngine {
+
+    private static final double MILLIS_PER_YEAR = 365.25 * 24 * 60 * 60 * 1000;
+
+    private BacktestEngine() {
+    }
+
+    public static BacktestResult run(PriceSeries series, BacktestConfig config) {
+        double[] close = series.close();
+        long[] timestamps = series.timestamps();
+        int size = series.size();
+
+        // +1 = entrar/manter posição, -1 = sair, 0 = sem sinal
+        byte[] signals = signals(close, config);
+
+        double cash = config.initialCapital();
+        double quantity = 0;
+        double invested = 0;
+        long entryTime = 0;
+        double entryPrice = 0;
+        double[] equity = new double[size];
+        List<Trade> trades = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            double price = close[i];
+            if (quantity == 0 && signals[i] > 0 && price > 0) {
+                invested = cash * config.positionSize();
+                quantity = invested * (1 - config.feeRate()) / price;
+                cash -= invested;
+                entryTime = timestamps[i];
+                entryPrice = price;
+            } else if (quantity > 0 && (signals[i] < 0 || i == size - 1)) {
+                // Posição aberta no último candle é encerrada para contabilizar o trade
+                double proceeds = quantity * price * (1 - config.feeRate());
+                cash += proceeds;
+                trades.add(new Trade(entryTime, entryPrice, timestamps[i], price, quantity,
+                        proceeds - invested, invested == 0 ? 0 : proceeds / invested - 1));
+                quantity = 0;
+            }
+            equity[i] = cash + quantity * price;
+        }
+
+        return new BacktestResult(config, trades, equity, stats(config.initialCapital(), equity, timestamps, trades));
+    }
+
+    private static byte[] signals(double[] close, BacktestConfig config) {
+        byte[] signals = new byte[close.length];
+        switch (config.strategy()) {
+            case SMA_CROSSOVER -> {
+                int fast = config.intParameter("fast");
+                int slow = config.intParameter("slow");
+                if (fast < 1 || slow <= fast) {
+                    throw new IllegalArgumentException("SMA crossover requires 1 <= fast < slow");
+                }
+                double[] fastSma = IndicatorKernels.smaSeries(close, fast);
+                double[] slowSma = IndicatorKernels.smaSeries(close, slow);
+                for (int i = slow - 1; i < close.length; i++) {
+                    signals[i] = (byte) (fastSma[i] > slowSma[i] ? 1 : fastSma[i] < slowSma[i] ? -1 : 0);
+                }
+            }
+            case RSI_THRESHOLD -> {
+                int periods = config.intParameter("periods");
+                double buyBelow = config.parameter("buyBelow");
+                double sellAbove = config.parameter("sellAbove");
+                if (periods < 2 || buyBelow >= sellAbove) {
+                    throw new IllegalArgumentException("RSI threshold requires periods >= 2 and buyBelow < sellAbove");
+                }
+                double[] rsi = IndicatorKernels.rsiSeries(close, periods);
+                for (int i = periods; i < close.length; i++) {
+                    signals[i] = (byte) (rsi[i] < buyBelow ? 1 : rsi[i] > sellAbove ? -1 : 0);
+                }
+            }
+        }
+        return signals;
+    }
+
+    private static BacktestStats stats(double initialCapital, double[] equity, long[] timestamps, List<Trade> trades) {
+        int size = equity.length;
+        double finalEquity = size == 0 ? initialCapital : equity[size - 1];
+        double totalReturn = finalEquity / initialCapital - 1;
+
+        double years = size < 2 ? 0 : (timestamps[size - 1] - timestamps[0]) / MILLIS_PER_YEAR;
+        double cagr = years > 0 && finalEquity > 0 ? Math.pow(finalEquity / initialCapital, 1 / years) - 1 : 0;
+
+        double peak = initialCapital;
+        double maxDrawdown = 0;
+        // Retornos por candle via Welford para o Sharpe
+        int n = 0;
+        double mean = 0;
+        double m2 = 0;
+        double previous = initialCapital;
+        for (double value : equity) {
+            peak = Math.max(peak, value);
+            maxDrawdown = Math.max(maxDrawdown, peak == 0 ? 0 : 1 - value / peak);
+            double periodReturn = previous == 0 ? 0 : value / previous - 1;
+            n++;
+            double delta = periodReturn - mean;
+            mean += delta / n;
+            m2 += delta * (periodReturn - mean);
+            previous = value;
+        }
+        double deviation = n > 1 ? Math.sqrt(m2 / (n - 1)) : 0;
+        double barsPerYear = years > 0 ? (size - 1) / years : 0;
+        double sharpe = deviation > 0 ? mean / deviation * Math.sqrt(barsPerYear) : 0;
+
+        long wins = trades.stream().filter(trade -> trade.profit() > 0).count();
+        double winRate = trades.isEmpty() ? 0 : (double) wins / trades.size();
+
+        return new BacktestStats(finalEquity, totalReturn, cagr, maxDrawdown, sharpe, trades.size(), winRate);
+    }
+}
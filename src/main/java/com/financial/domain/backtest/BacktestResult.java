@@ -0,0 +1,6 @@
+package com.financial.domain.backtest;
+
+import java.util.List;
+
+public record BacktestResult(BacktestConfig config, List<Trade> trades, double[] equity, BacktestStats stats) {
+}
@@ -0,0 +1,10 @@
+package com.financial.domain.backtest;
+
+public record BacktestStats(double finalEquity,
+                            double totalReturn,
+                            double cagr,
+                            double maxDrawdown,
+                            double sharpe,
+                            int trades,
+                            double winRate) {
+}
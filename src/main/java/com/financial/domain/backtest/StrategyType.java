@@ -0,0 +1,31 @@
+package com.financial.domain.backtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public enum StrategyType {
+    SMA_CROSSOVER(Map.of("fast", 10.0, "slow", 30.0)),
+    RSI_THRESHOLD(Map.of("periods", 14.0, "buyBelow", 30.0, "sellAbove", 70.0));
+
+    private final Map<String, Double> defaults;
+
+    StrategyType(Map<String, Double> defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Double> getDefaults() {
+        return defaults;
+    }
+
+    // Completa os parâmetros informados com os valores padrão e rejeita nomes desconhecidos
+    public Map<String, Double> resolve(Map<String, Double> parameters) {
+        Map<String, Double> resolved = new LinkedHashMap<>(defaults);
+        parameters.forEach((name, value) -> {
+            if (!defaults.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown parameter for " + this + ": " + name);
+            }
+            resolved.put(name, value);
+        });
+        return resolved;
+    }
+}
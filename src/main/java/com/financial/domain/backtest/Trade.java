@@ -0,0 +1,5 @@
+package com.financial.domain.backtest;
+
+public record Trade(long entryTime, double entryPrice, long exitTime, double exitPrice,
+                    double quantity, double profit, double returnPercent) {
+}
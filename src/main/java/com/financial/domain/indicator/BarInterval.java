@@ -0,0 +1,56 @@
+package com.financial.domain.indicator;
+
+import java.util.Arrays;
+
+// Intervalos de agregação de candles; "m" aqui é minuto (nos ranges de histórico é mês)
+public enum BarInterval {
+    S30("30s", 30_000L),
+    M1("1m", 60_000L),
+    M5("5m", 5 * 60_000L),
+    M15("15m", 15 * 60_000L),
+    M30("30m", 30 * 60_000L),
+    H1("1h", 60 * 60_000L),
+    H4("4h", 4 * 60 * 60_000L),
+    D1("1d", 24 * 60 * 60_000L),
+    // 1970-01-01 foi uma quinta-feira: o deslocamento de 4 dias faz as semanas começarem na segunda
+    W1("1w", 7 * 24 * 60 * 60_000L, 4 * 24 * 60 * 60_000L);
+
+    private final String code;
+    private final long millis;
+    private final long offsetMillis;
+
+    BarInterval(String code, long millis) {
+        this(code, millis, 0);
+    }
+
+    BarInterval(String code, long millis, long offsetMillis) {
+        this.code = code;
+        this.millis = millis;
+        this.offsetMillis = offsetMillis;
+    }
+
+    public static BarInterval parse(String code) {
+        return Arrays.stream(values())
+                .filter(interval -> interval.code.equalsIgnoreCase(code.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown interval: " + code
+                        + ", supported: " + Arrays.stream(values()).map(BarInterval::code).toList()));
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    public long offsetMillis() {
+        return offsetMillis;
+    }
+
+    // Início do bucket (epoch millis, UTC) que contém o instante
+    public long bucketStart(long epochMillis) {
+        return Math.floorDiv(epochMillis - offsetMillis, millis) * millis + offsetMillis;
+    }
+}
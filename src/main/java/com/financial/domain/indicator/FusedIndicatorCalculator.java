@@ -0,0 +1,344 @@
+package com.financial.domain.indicator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Calcula vários indicadores sobre a mesma série (ordem cronológica) em uma única passada: cada ponto é
+// entregue a todos os acumuladores. Os passos de cada fórmula (Wilder, EMA, Welford, %K) vêm de
+// IndicatorKernels, os mesmos usados pelo cálculo individual e pelo backtest, para que os caminhos não divirjam
+public final class FusedIndicatorCalculator {
+
+    private FusedIndicatorCalculator() {
+    }
+
+    public static Map<IndicatorSpec, Map<String, Double>> compute(PriceSeries series, Collection<IndicatorSpec> specs) {
+        Map<IndicatorSpec, Accumulator> accumulators = new LinkedHashMap<>();
+        for (IndicatorSpec spec : specs) {
+            accumulators.computeIfAbsent(spec, key -> accumulator(series, key));
+        }
+        List<Accumulator> pass = new ArrayList<>(accumulators.values());
+        for (int i = 0; i < series.size(); i++) {
+            for (Accumulator accumulator : pass) {
+                accumulator.accept(i);
+            }
+        }
+
+        Map<IndicatorSpec, Map<String, Double>> results = new LinkedHashMap<>();
+        accumulators.forEach((spec, accumulator) -> results.put(spec, accumulator.result()));
+        return results;
+    }
+
+    private static Accumulator accumulator(PriceSeries series, IndicatorSpec spec) {
+        int periods = spec.periods();
+        return switch (spec.type()) {
+            case SMA -> new Sma(series, periods);
+            case RSI -> new Rsi(series, periods);
+            case VOLATILITY -> new Volatility(series, periods);
+            case EMA -> new Ema(series, periods);
+            case MACD -> new Macd(series);
+            case BOLLINGER -> new Bollinger(series, periods);
+            case ATR -> new Atr(series, periods);
+            case STOCHASTIC -> new Stochastic(series, periods);
+        };
+    }
+
+    // Recebe os índices da série em ordem; o resultado é um mapa vazio quando não há dados suficientes
+    private interface Accumulator {
+        void accept(int i);
+
+        Map<String, Double> result();
+    }
+
+    private static final class Sma implements Accumulator {
+        private final double[] close;
+        private final int from;
+        private final int periods;
+        private double sum;
+
+        Sma(PriceSeries series, int periods) {
+            this.close = series.close();
+            this.from = series.size() - periods;
+            this.periods = periods;
+        }
+
+        @Override
+        public void accept(int i) {
+            if (i >= from) {
+                sum += close[i];
+            }
+        }
+
+        @Override
+        public Map<String, Double> result() {
+            return from < 0 ? Map.of() : single("value", sum / periods);
+        }
+    }
+
+    private static final class Rsi implements Accumulator {
+        private final double[] close;
+        private final int periods;
+        private double avgGain;
+        private double avgLoss;
+        private int changes;
+
+        Rsi(PriceSeries series, int periods) {
+            this.close = series.close();
+            this.periods = periods;
+        }
+
+        @Override
+        public void accept(int i) {
+            if (i == 0) {
+                return;
+            }
+            double change = close[i] - close[i - 1];
+            changes = i;
+            avgGain = IndicatorKernels.wilder(avgGain, IndicatorKernels.gain(change), i, periods);
+            avgLoss = IndicatorKernels.wilder(avgLoss, IndicatorKernels.loss(change), i, periods);
+        }
+
+        @Override
+        public Map<String, Double> result() {
+            return changes < periods ? Map.of() : single("value", IndicatorKernels.rsi(avgGain, avgLoss));
+        }
+    }
+
+    private static final class Volatility implements Accumulator {
+        private final double[] close;
+        private final int from;
+        private final IndicatorKernels.Moments moments = new IndicatorKernels.Moments();
+
+        Volatility(PriceSeries series, int periods) {
+            this.close = series.close();
+            this.from = series.size() - periods;
+        }
+
+        @Override
+        public void accept(int i) {
+            if (i > from && i >= 1) {
+                moments.add(IndicatorKernels.simpleReturn(close[i - 1], close[i]));
+            }
+        }
+
+        @Override
+        public Map<String, Double> result() {
+            return from < 0 ? Map.of() : single("value", moments.populationStdDev());
+        }
+    }
+
+    // EMA semeada com a SMA dos primeiros N pontos
+    private static final class Ema implements Accumulator {
+        private final double[] close;
+        private final int periods;
+        private double value;
+        private int count;
+
+        Ema(PriceSeries series, int periods) {
+            this.close = series.close();
+            this.periods = periods;
+        }
+
+        @Override
+        public void accept(int i) {
+            count++;
+            if (count < periods) {
+                value += close[i];
+            } else if (count == periods) {
+                value = (value + close[i]) / periods;
+            } else {
+                value = IndicatorKernels.ema(value, close[i], periods);
+            }
+        }
+
+        @Override
+        public Map<String, Double> result() {
+            return count < periods ? Map.of() : single("value", value);
+        }
+    }
+
+    // MACD (EMA rápida - EMA lenta), linha de sinal (EMA da MACD) e histograma, todas avançando no mesmo ponto
+    private static final class Macd implements Accumulator {
+        private final Ema fast;
+        private final Ema slow;
+        private double macd;
+        private double signal;
+        private int lines;
+
+        Macd(PriceSeries series) {
+            this.fast = new Ema(series, IndicatorSpec.MACD_FAST);
+            this.slow = new Ema(series, IndicatorSpec.MACD_SLOW);
+        }
+
+        @Override
+        public void accept(int i) {
+            fast.accept(i);
+            slow.accept(i);
+            if (slow.count < IndicatorSpec.MACD_SLOW) {
+                return;
+            }
+            macd = fast.value - slow.value;
+            lines++;
+            if (lines < IndicatorSpec.MACD_SIGNAL) {
+                signal += macd;
+            } else if (lines == IndicatorSpec.MACD_SIGNAL) {
+                signal = (signal + macd) / IndicatorSpec.MACD_SIGNAL;
+            } else {
+                signal = IndicatorKernels.ema(signal, macd, IndicatorSpec.MACD_SIGNAL);
+            }
+        }
+
+        @Override
+        public Map<String, Double> result() {
+            if (lines < IndicatorSpec.MACD_SIGNAL) {
+                return Map.of();
+            }
+            Map<String, Double> result = new LinkedHashMap<>();
+            result.put("macd", macd);
+            result.put("signal", signal);
+            result.put("histogram", macd - signal);
+            return result;
+        }
+    }
+
+    private static final class Bollinger implements Accumulator {
+        private final double[] close;
+        private final int from;
+        private final int periods;
+        private final IndicatorKernels.Moments moments = new IndicatorKernels.Moments();
+        private double sum;
+
+        Bollinger(PriceSeries series, int periods) {
+            this.close = series.close();
+            this.from = series.size() - periods;
+            this.periods = periods;
+        }
+
+        @Override
+        public void accept(int i) {
+            if (i >= from) {
+                sum += close[i];
+                moments.add(close[i]);
+            }
+        }
+
+        @Override
+        public Map<String, Double> result() {
+            if (from < 0) {
+                return Map.of();
+            }
+            double mean = sum / periods;
+            double deviation = moments.populationStdDev();
+            double upper = mean + IndicatorSpec.BOLLINGER_WIDTH * deviation;
+            double lower = mean - IndicatorSpec.BOLLINGER_WIDTH * deviation;
+            double last = close[close.length - 1];
+
+            Map<String, Double> result = new LinkedHashMap<>();
+            result.put("middle", mean);
+            result.put("upper", upper);
+            result.put("lower", lower);
+            result.put("percentB", upper == lower ? 0.5 : (last - lower) / (upper - lower));
+            return result;
+        }
+    }
+
+    // ATR com suavização de Wilder, semeado com a média dos primeiros N true ranges
+    private static final class Atr implements Accumulator {
+        private final double[] high;
+        private final double[] low;
+        private final double[] close;
+        private final int periods;
+        private double atr;
+        private int ranges;
+
+        Atr(PriceSeries series, int periods) {
+            this.high = series.high();
+            this.low = series.low();
+            this.close = series.close();
+            this.periods = periods;
+        }
+
+        @Override
+        public void accept(int i) {
+            if (i == 0) {
+                return;
+            }
+            ranges = i;
+            atr = IndicatorKernels.wilder(atr, IndicatorKernels.trueRange(high, low, close, i), i, periods);
+        }
+
+        @Override
+        public Map<String, Double> result() {
+            return ranges < periods ? Map.of() : single("value", atr);
+        }
+    }
+
+    // %K nos últimos pontos com máxima e mínima da janela mantidas em filas monotônicas; %D é a média dos
+    // últimos %K. Só os pontos que entram em alguma dessas janelas são visitados
+    private static final class Stochastic implements Accumulator {
+        private final double[] high;
+        private final double[] low;
+        private final double[] close;
+        private final int periods;
+        private final int smoothing = IndicatorSpec.STOCHASTIC_SMOOTHING;
+        private final int size;
+        private final Deque<Integer> highest = new ArrayDeque<>();
+        private final Deque<Integer> lowest = new ArrayDeque<>();
+        private double lastK;
+        private double sumK;
+
+        Stochastic(PriceSeries series, int periods) {
+            this.high = series.high();
+            this.low = series.low();
+            this.close = series.close();
+            this.periods = periods;
+            this.size = series.size();
+        }
+
+        @Override
+        public void accept(int i) {
+            if (i < size - periods - smoothing + 1) {
+                return;
+            }
+            while (!highest.isEmpty() && high[highest.peekLast()] <= high[i]) {
+                highest.pollLast();
+            }
+            highest.addLast(i);
+            while (!lowest.isEmpty() && low[lowest.peekLast()] >= low[i]) {
+                lowest.pollLast();
+            }
+            lowest.addLast(i);
+            while (highest.peekFirst() <= i - periods) {
+                highest.pollFirst();
+            }
+            while (lowest.peekFirst() <= i - periods) {
+                lowest.pollFirst();
+            }
+            if (i >= size - smoothing) {
+                lastK = IndicatorKernels.stochasticK(close[i], high[highest.peekFirst()], low[lowest.peekFirst()]);
+                sumK += lastK;
+            }
+        }
+
+        @Override
+        public Map<String, Double> result() {
+            if (size < periods + smoothing - 1) {
+                return Map.of();
+            }
+            Map<String, Double> result = new LinkedHashMap<>();
+            result.put("k", lastK);
+            result.put("d", sumK / smoothing);
+            return result;
+        }
+    }
+
+    private static Map<String, Double> single(String name, double value) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        result.put(name, value);
+        return result;
+    }
+}
@@ -0,0 +1,129 @@
+package com.financial.domain.indicator;
+
+// Kernels sobre arrays primitivos em ordem cronológica; "end" é o índice exclusivo do último ponto considerado
+public final class IndicatorKernels {
+
+    private IndicatorKernels() {
+    }
+
+    public static double sma(double[] values, int end, int periods) {
+        double sum = 0;
+        for (int i = end - periods; i < end; i++) {
+            sum += values[i];
+        }
+        return sum / periods;
+    }
+
+    // RSI de Wilder sobre close[0, end): médias de ganhos e perdas semeadas com a média simples das primeiras
+    // N variações e suavizadas com peso 1/N a cada variação seguinte
+    public static double rsi(double[] close, int end, int periods) {
+        double avgGain = 0;
+        double avgLoss = 0;
+        for (int i = 1; i < end; i++) {
+            double change = close[i] - close[i - 1];
+            avgGain = wilder(avgGain, gain(change), i, periods);
+            avgLoss = wilder(avgLoss, loss(change), i, periods);
+        }
+        return rsi(avgGain, avgLoss);
+    }
+
+    public static double rsi(double avgGain, double avgLoss) {
+        if (avgLoss == 0) {
+            return 100;
+        }
+        return 100 - 100 / (1 + avgGain / avgLoss);
+    }
+
+    public static double gain(double change) {
+        return change > 0 ? change : 0;
+    }
+
+    public static double loss(double change) {
+        return change < 0 ? -change : 0;
+    }
+
+    // Média de Wilder depois da n-ésima observação (n a partir de 1): média simples das N primeiras,
+    // suavizada com peso 1/N a partir daí. Usada pelo RSI e pelo ATR
+    public static double wilder(double average, double value, long n, int periods) {
+        if (n <= periods) {
+            return average + value / periods;
+        }
+        return (average * (periods - 1) + value) / periods;
+    }
+
+    // Passo da EMA de N períodos; a semente é a SMA dos primeiros N pontos
+    public static double ema(double previous, double value, int periods) {
+        return previous + 2.0 / (periods + 1) * (value - previous);
+    }
+
+    // Desvio padrão populacional dos retornos simples dos últimos N preços (N - 1 retornos)
+    public static double volatility(double[] close, int end, int periods) {
+        Moments moments = new Moments();
+        for (int i = end - periods + 1; i < end; i++) {
+            moments.add(simpleReturn(close[i - 1], close[i]));
+        }
+        return moments.populationStdDev();
+    }
+
+    public static double simpleReturn(double previous, double current) {
+        return previous == 0 ? 0 : current / previous - 1;
+    }
+
+    public static double trueRange(double[] high, double[] low, double[] close, int i) {
+        double previousClose = close[i - 1];
+        return Math.max(high[i] - low[i], Math.max(Math.abs(high[i] - previousClose), Math.abs(low[i] - previousClose)));
+    }
+
+    // %K estocástico de um fechamento, dadas a máxima e a mínima da janela
+    public static double stochasticK(double close, double highest, double lowest) {
+        return highest == lowest ? 50 : (close - lowest) / (highest - lowest) * 100;
+    }
+
+    // Série completa de SMA (NaN antes de haver N pontos); usada em replays como o backtest
+    public static double[] smaSeries(double[] values, int periods) {
+        double[] out = new double[values.length];
+        double sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += values[i];
+            if (i >= periods) {
+                sum -= values[i - periods];
+            }
+            out[i] = i >= periods - 1 ? sum / periods : Double.NaN;
+        }
+        return out;
+    }
+
+    // Série completa do RSI de Wilder; out[i] é igual a rsi(close, i + 1, periods)
+    public static double[] rsiSeries(double[] close, int periods) {
+        double[] out = new double[close.length];
+        double avgGain = 0;
+        double avgLoss = 0;
+        for (int i = 0; i < close.length; i++) {
+            if (i >= 1) {
+                double change = close[i] - close[i - 1];
+                avgGain = wilder(avgGain, gain(change), i, periods);
+                avgLoss = wilder(avgLoss, loss(change), i, periods);
+            }
+            out[i] = i < periods ? Double.NaN : rsi(avgGain, avgLoss);
+        }
+        return out;
+    }
+
+    // Média e desvio padrão populacional incrementais (Welford), um valor por vez
+    public static final class Moments {
+        private int n;
+        private double mean;
+        private double m2;
+
+        public void add(double value) {
+            n++;
+            double delta = value - mean;
+            mean += delta / n;
+            m2 += delta * (value - mean);
+        }
+
+        public double populationStdDev() {
+            return n == 0 ? 0 : Math.sqrt(m2 / n);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.financial.domain.indicator;
+
+import java.util.Locale;
+
+public record IndicatorSpec(IndicatorType type, int periods) {
+
+    public static final int MACD_FAST = 12;
+    public static final int MACD_SLOW = 26;
+    public static final int MACD_SIGNAL = 9;
+    public static final int STOCHASTIC_SMOOTHING = 3;
+    public static final double BOLLINGER_WIDTH = 2.0;
+
+    private static final int MAX_PERIODS = 1000;
+
+    public IndicatorSpec {
+        if (periods < 1 || periods > MAX_PERIODS) {
+            throw new IllegalArgumentException("Periods must be between 1 and " + MAX_PERIODS + ": " + periods);
+        }
+        if (type == IndicatorType.VOLATILITY && periods < 2) {
+            throw new IllegalArgumentException("Volatility requires at least 2 periods");
+        }
+    }
+
+    // Formato "tipo" ou "tipo:períodos", ex.: "rsi:14", "macd"
+    public static IndicatorSpec parse(String expression) {
+        String[] parts = expression.trim().split(":");
+        IndicatorType type;
+        try {
+            type = IndicatorType.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown indicator: " + parts[0]);
+        }
+
+        if (parts.length == 1 || type == IndicatorType.MACD) {
+            return new IndicatorSpec(type, type.getDefaultPeriods());
+        }
+        try {
+            return new IndicatorSpec(type, Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid periods for " + type + ": " + parts[1]);
+        }
+    }
+
+    // Quantidade de pontos de histórico para o cálculo (indicadores recursivos usam folga para convergir)
+    public int requiredHistory() {
+        return switch (type) {
+            case SMA, VOLATILITY, BOLLINGER -> periods;
+            case RSI, EMA, ATR -> periods * 3 + 1;
+            case MACD -> MACD_SLOW * 3 + MACD_SIGNAL;
+            case STOCHASTIC -> periods + STOCHASTIC_SMOOTHING - 1;
+        };
+    }
+
+    public String key() {
+        return type.name().toLowerCase(Locale.ROOT) + ":" + periods;
+    }
+}
@@ -0,0 +1,22 @@
+package com.financial.domain.indicator;
+
+public enum IndicatorType {
+    RSI(14),
+    SMA(20),
+    EMA(20),
+    VOLATILITY(30),
+    MACD(26),
+    BOLLINGER(20),
+    ATR(14),
+    STOCHASTIC(14);
+
+    private final int defaultPeriods;
+
+    IndicatorType(int defaultPeriods) {
+        this.defaultPeriods = defaultPeriods;
+    }
+
+    public int getDefaultPeriods() {
+        return defaultPeriods;
+    }
+}
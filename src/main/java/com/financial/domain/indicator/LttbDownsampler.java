@@ -0,0 +1,141 @@
+package com.financial.domain.indicator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+// Largest-Triangle-Three-Buckets em streaming: mantém apenas o bucket atual e o seguinte em memória.
+// Precisa conhecer o total de pontos de antemão para definir os buckets; pontos extras (linhas inseridas depois
+// da contagem) caem no último bucket, ou substituem o último ponto sem downsampling: o sink nunca recebe mais
+// que threshold pontos.
+public final class LttbDownsampler<T> implements Consumer<T> {
+
+    private final int threshold;
+    private final long span;
+    private final int buckets;
+    private final ToDoubleFunction<T> x;
+    private final ToDoubleFunction<T> y;
+    private final Consumer<T> sink;
+    private final boolean passThrough;
+
+    private long index;
+    private int currentBucket;
+    private T selected;
+    private T held;
+    private List<T> current = new ArrayList<>();
+    private List<T> next = new ArrayList<>();
+
+    public LttbDownsampler(long totalPoints, int threshold, ToDoubleFunction<T> x, ToDoubleFunction<T> y,
+                           Consumer<T> sink) {
+        this.threshold = threshold;
+        this.x = x;
+        this.y = y;
+        this.sink = sink;
+        this.passThrough = threshold < 3 || totalPoints <= threshold;
+        this.span = totalPoints - 2;
+        this.buckets = threshold - 2;
+    }
+
+    public static <T> List<T> downsample(List<T> points, int threshold, ToDoubleFunction<T> x, ToDoubleFunction<T> y) {
+        List<T> result = new ArrayList<>(Math.min(points.size(), threshold));
+        LttbDownsampler<T> downsampler = new LttbDownsampler<>(points.size(), threshold, x, y, result::add);
+        points.forEach(downsampler);
+        downsampler.finish();
+        return result;
+    }
+
+    @Override
+    public void accept(T point) {
+        if (passThrough) {
+            // O último lugar fica reservado para o ponto mais recente, emitido em finish
+            if (index++ < threshold - 1) {
+                sink.accept(point);
+            } else {
+                held = point;
+            }
+            return;
+        }
+        if (index++ == 0) {
+            emit(point);
+            return;
+        }
+
+        int bucket = bucketOf(index - 1);
+        if (bucket <= currentBucket) {
+            current.add(point);
+        } else if (bucket == currentBucket + 1) {
+            next.add(point);
+        } else {
+            // O bucket seguinte está completo: já é possível escolher o ponto do bucket atual
+            selectFrom(current, averageX(next), averageY(next));
+            current = next;
+            next = new ArrayList<>();
+            next.add(point);
+            currentBucket++;
+        }
+    }
+
+    // Deve ser chamado após o último ponto: o último ponto é sempre mantido
+    public void finish() {
+        if (passThrough) {
+            if (held != null) {
+                sink.accept(held);
+                held = null;
+            }
+            return;
+        }
+        if (index < 2) {
+            return;
+        }
+        List<T> tail = next.isEmpty() ? current : next;
+        T last = tail.remove(tail.size() - 1);
+
+        if (!next.isEmpty()) {
+            selectFrom(current, averageX(next), averageY(next));
+            current = next;
+        }
+        selectFrom(current, x.applyAsDouble(last), y.applyAsDouble(last));
+        emit(last);
+    }
+
+    // Buckets cobrem os pontos 1..n-2, na faixa [floor(i * s / b) + 1, floor((i + 1) * s / b) + 1) com s = n - 2
+    // e b = threshold - 2. Aritmética inteira: com every = s / b em double, floor(i * every) pode cair uma
+    // unidade abaixo e tirar um ponto de todos os buckets
+    private int bucketOf(long position) {
+        long bucket = (position * buckets - 1) / span;
+        return (int) Math.min(bucket, buckets - 1);
+    }
+
+    private void selectFrom(List<T> bucket, double averageX, double averageY) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        double ax = x.applyAsDouble(selected);
+        double ay = y.applyAsDouble(selected);
+        T best = bucket.get(0);
+        double maxArea = -1;
+        for (T point : bucket) {
+            double area = Math.abs((ax - averageX) * (y.applyAsDouble(point) - ay)
+                    - (ax - x.applyAsDouble(point)) * (averageY - ay));
+            if (area > maxArea) {
+                maxArea = area;
+                best = point;
+            }
+        }
+        emit(best);
+    }
+
+    private void emit(T point) {
+        selected = point;
+        sink.accept(point);
+    }
+
+    private double averageX(List<T> points) {
+        return points.stream().mapToDouble(x).average().orElse(0);
+    }
+
+    private double averageY(List<T> points) {
+        return points.stream().mapToDouble(y).average().orElse(0);
+    }
+}
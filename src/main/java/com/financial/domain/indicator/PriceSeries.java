@@ -0,0 +1,161 @@
+package com.financial.domain.indicator;
+
+import com.financial.domain.model.PriceHistory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+public final class PriceSeries {
+
+    private final String ticker;
+    private final long[] timestamps;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+
+    public PriceSeries(String ticker, long[] timestamps, double[] open, double[] high,
+                       double[] low, double[] close, long[] volume) {
+        int size = timestamps.length;
+        if (open.length != size || high.length != size || low.length != size
+                || close.length != size || volume.length != size) {
+            throw new IllegalArgumentException("All price columns must have the same length");
+        }
+        this.ticker = ticker;
+        this.timestamps = timestamps;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    // Adapta o resultado de findLatestByTicker (mais recente primeiro) para ordem cronológica
+    public static PriceSeries fromLatestFirst(List<PriceHistory> history) {
+        return from(history, true);
+    }
+
+    public static PriceSeries fromChronological(List<PriceHistory> history) {
+        return from(history, false);
+    }
+
+    private static PriceSeries from(List<PriceHistory> history, boolean reversed) {
+        int size = history.size();
+        long[] timestamps = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        long[] volume = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            PriceHistory row = history.get(reversed ? size - 1 - i : i);
+            timestamps[i] = toEpochMillis(row.getTimestamp());
+            open[i] = row.getOpen().doubleValue();
+            high[i] = row.getHigh().doubleValue();
+            low[i] = row.getLow().doubleValue();
+            close[i] = row.getClose().doubleValue();
+            volume[i] = row.getVolume();
+        }
+
+        String ticker = size > 0 ? history.get(0).getTicker() : null;
+        return new PriceSeries(ticker, timestamps, open, high, low, close, volume);
+    }
+
+    public static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+                (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    public String ticker() {
+        return ticker;
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public long[] timestamps() {
+        return timestamps;
+    }
+
+    public double[] open() {
+        return open;
+    }
+
+    public double[] high() {
+        return high;
+    }
+
+    public double[] low() {
+        return low;
+    }
+
+    public double[] close() {
+        return close;
+    }
+
+    public long[] volume() {
+        return volume;
+    }
+
+    // Monta a série coluna a coluna a partir de linhas em ordem cronológica, sem objetos intermediários
+    public static final class Builder {
+        private final String ticker;
+        private long[] timestamps;
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private long[] volume;
+        private int size;
+
+        public Builder(String ticker, int initialCapacity) {
+            int capacity = Math.max(initialCapacity, 16);
+            this.ticker = ticker;
+            this.timestamps = new long[capacity];
+            this.open = new double[capacity];
+            this.high = new double[capacity];
+            this.low = new double[capacity];
+            this.close = new double[capacity];
+            this.volume = new long[capacity];
+        }
+
+        public Builder append(long timestamp, double open, double high, double low, double close, long volume) {
+            if (size == timestamps.length) {
+                int capacity = size + (size >> 1);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                this.open = Arrays.copyOf(this.open, capacity);
+                this.high = Arrays.copyOf(this.high, capacity);
+                this.low = Arrays.copyOf(this.low, capacity);
+                this.close = Arrays.copyOf(this.close, capacity);
+                this.volume = Arrays.copyOf(this.volume, capacity);
+            }
+            timestamps[size] = timestamp;
+            this.open[size] = open;
+            this.high[size] = high;
+            this.low[size] = low;
+            this.close[size] = close;
+            this.volume[size] = volume;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PriceSeries build() {
+            return new PriceSeries(ticker, Arrays.copyOf(timestamps, size), Arrays.copyOf(open, size),
+                    Arrays.copyOf(high, size), Arrays.copyOf(low, size), Arrays.copyOf(close, size),
+                    Arrays.copyOf(volume, size));
+        }
+    }
+}
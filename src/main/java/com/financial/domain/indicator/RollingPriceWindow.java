@@ -0,0 +1,262 @@
+package com.financial.domain.indicator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+public class RollingPriceWindow {
+
+    private final int capacity;
+    private final double[] closes;
+    private final long[] timestamps;
+    private final Map<Integer, RsiTracker> rsiTrackers = new HashMap<>();
+    private final Map<Integer, SmaTracker> smaTrackers = new HashMap<>();
+    private final Map<Integer, VolatilityTracker> volatilityTrackers = new HashMap<>();
+    private long count;
+    private long appendsSinceRebuild;
+    private boolean seeded;
+
+    public RollingPriceWindow(int capacity) {
+        if (capacity < 3) {
+            throw new IllegalArgumentException("Window capacity must be at least 3");
+        }
+        this.capacity = capacity;
+        this.closes = new double[capacity];
+        this.timestamps = new long[capacity];
+    }
+
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    public int maxPeriods() {
+        return capacity - 2;
+    }
+
+    // Recebe o histórico em ordem cronológica; ticks recebidos durante a carga e mais novos que ele são preservados.
+    // Um histórico vazio (ativo sem preços ainda) também conta como seed: os ticks seguintes preenchem a janela,
+    // sem nova consulta ao banco a cada leitura
+    public synchronized void seed(double[] seedCloses, long[] seedTimestamps) {
+        long newestSeeded = seedTimestamps.length > 0 ? seedTimestamps[seedTimestamps.length - 1] : Long.MIN_VALUE;
+
+        int available = size();
+        double[] pendingCloses = new double[available];
+        long[] pendingTimestamps = new long[available];
+        int pending = 0;
+        for (int ago = available - 1; ago >= 0; ago--) {
+            if (timestampAt(ago) > newestSeeded) {
+                pendingCloses[pending] = closeAt(ago);
+                pendingTimestamps[pending] = timestampAt(ago);
+                pending++;
+            }
+        }
+
+        count = 0;
+        for (int i = 0; i < seedCloses.length; i++) {
+            store(seedCloses[i], seedTimestamps[i]);
+        }
+        for (int i = 0; i < pending; i++) {
+            store(pendingCloses[i], pendingTimestamps[i]);
+        }
+
+        seeded = true;
+        rebuildAll();
+    }
+
+    public synchronized void append(double close, long timestamp) {
+        if (count > 0 && timestamp <= timestampAt(0)) {
+            return;
+        }
+        store(close, timestamp);
+
+        rsiTrackers.values().forEach(RsiTracker::onAppend);
+        // Recalcular periodicamente evita acúmulo de erro de ponto flutuante nas somas deslizantes
+        if (++appendsSinceRebuild >= capacity) {
+            rebuildSlidingTrackers();
+            return;
+        }
+        smaTrackers.values().forEach(SmaTracker::onAppend);
+        volatilityTrackers.values().forEach(VolatilityTracker::onAppend);
+    }
+
+    public synchronized OptionalDouble rsi(int periods) {
+        checkPeriods(periods, 1);
+        return rsiTrackers.computeIfAbsent(periods, RsiTracker::new).value();
+    }
+
+    public synchronized OptionalDouble sma(int periods) {
+        checkPeriods(periods, 1);
+        return smaTrackers.computeIfAbsent(periods, SmaTracker::new).value();
+    }
+
+    public synchronized OptionalDouble volatility(int periods) {
+        checkPeriods(periods, 2);
+        return volatilityTrackers.computeIfAbsent(periods, VolatilityTracker::new).value();
+    }
+
+    private void checkPeriods(int periods, int minimum) {
+        if (periods < minimum || periods > maxPeriods()) {
+            throw new IllegalArgumentException("Periods must be between " + minimum + " and " + maxPeriods());
+        }
+    }
+
+    private void store(double close, long timestamp) {
+        int index = (int) (count % capacity);
+        closes[index] = close;
+        timestamps[index] = timestamp;
+        count++;
+    }
+
+    private int size() {
+        return (int) Math.min(count, capacity);
+    }
+
+    // ago = 0 é o preço mais recente
+    private double closeAt(int ago) {
+        return closes[(int) ((count - 1 - ago) % capacity)];
+    }
+
+    private long timestampAt(int ago) {
+        return timestamps[(int) ((count - 1 - ago) % capacity)];
+    }
+
+    private double returnAt(int ago) {
+        double previous = closeAt(ago + 1);
+        return previous == 0 ? 0 : closeAt(ago) / previous - 1;
+    }
+
+    private void rebuildAll() {
+        rsiTrackers.values().forEach(RsiTracker::rebuild);
+        rebuildSlidingTrackers();
+    }
+
+    private void rebuildSlidingTrackers() {
+        appendsSinceRebuild = 0;
+        smaTrackers.values().forEach(SmaTracker::rebuild);
+        volatilityTrackers.values().forEach(VolatilityTracker::rebuild);
+    }
+
+    // RSI de Wilder, atualizado em O(1) por tick com a mesma aritmética de IndicatorKernels.rsi. As médias
+    // suavizadas dependem de todo o histórico desde o seed (não só do anel), por isso o tracker só é
+    // reconstruído no seed; sem somas deslizantes, não há erro de cancelamento a corrigir
+    private class RsiTracker {
+        private final int periods;
+        private double avgGain;
+        private double avgLoss;
+        private long changes;
+
+        RsiTracker(int periods) {
+            this.periods = periods;
+            rebuild();
+        }
+
+        void rebuild() {
+            avgGain = 0;
+            avgLoss = 0;
+            changes = 0;
+            for (int ago = size() - 2; ago >= 0; ago--) {
+                add(closeAt(ago) - closeAt(ago + 1));
+            }
+        }
+
+        void onAppend() {
+            if (size() >= 2) {
+                add(closeAt(0) - closeAt(1));
+            }
+        }
+
+        private void add(double change) {
+            changes++;
+            avgGain = IndicatorKernels.wilder(avgGain, IndicatorKernels.gain(change), changes, periods);
+            avgLoss = IndicatorKernels.wilder(avgLoss, IndicatorKernels.loss(change), changes, periods);
+        }
+
+        OptionalDouble value() {
+            if (changes < periods) {
+                return OptionalDouble.empty();
+            }
+            return OptionalDouble.of(IndicatorKernels.rsi(avgGain, avgLoss));
+        }
+    }
+
+    private class SmaTracker {
+        private final int periods;
+        private double sum;
+
+        SmaTracker(int periods) {
+            this.periods = periods;
+            rebuild();
+        }
+
+        void rebuild() {
+            sum = 0;
+            int available = Math.min(periods, size());
+            for (int ago = 0; ago < available; ago++) {
+                sum += closeAt(ago);
+            }
+        }
+
+        void onAppend() {
+            sum += closeAt(0);
+            if (count > periods) {
+                sum -= closeAt(periods);
+            }
+        }
+
+        OptionalDouble value() {
+            return size() < periods ? OptionalDouble.empty() : OptionalDouble.of(sum / periods);
+        }
+    }
+
+    // Variância populacional dos últimos N-1 retornos (Welford com janela deslizante)
+    private class VolatilityTracker {
+        private final int returns;
+        private int n;
+        private double mean;
+        private double m2;
+
+        VolatilityTracker(int periods) {
+            this.returns = periods - 1;
+            rebuild();
+        }
+
+        void rebuild() {
+            n = 0;
+            mean = 0;
+            m2 = 0;
+            int available = Math.min(returns, size() - 1);
+            for (int ago = available - 1; ago >= 0; ago--) {
+                add(returnAt(ago));
+            }
+        }
+
+        void onAppend() {
+            if (size() < 2) {
+                return;
+            }
+            double incoming = returnAt(0);
+            if (n < returns) {
+                add(incoming);
+                return;
+            }
+            double outgoing = returnAt(returns);
+            double previousMean = mean;
+            mean += (incoming - outgoing) / n;
+            m2 += (incoming - outgoing) * (incoming - mean + outgoing - previousMean);
+        }
+
+        private void add(double value) {
+            n++;
+            double delta = value - mean;
+            mean += delta / n;
+            m2 += delta * (value - mean);
+        }
+
+        OptionalDouble value() {
+            if (size() < returns + 1 || n == 0) {
+                return OptionalDouble.empty();
+            }
+            return OptionalDouble.of(Math.sqrt(Math.max(m2, 0) / n));
+        }
+    }
+}
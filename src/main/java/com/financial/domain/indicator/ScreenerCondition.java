@@ -0,0 +1,74 @@
+package com.financial.domain.indicator;
+
+import java.util.Map;
+
+public record ScreenerCondition(IndicatorSpec spec, String component, Operator operator, double threshold) {
+
+    public enum Operator {
+        LESS_OR_EQUAL("<="),
+        GREATER_OR_EQUAL(">="),
+        LESS("<"),
+        GREATER(">");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        boolean test(double value, double threshold) {
+            return switch (this) {
+                case LESS_OR_EQUAL -> value <= threshold;
+                case GREATER_OR_EQUAL -> value >= threshold;
+                case LESS -> value < threshold;
+                case GREATER -> value > threshold;
+            };
+        }
+    }
+
+    // Formato "indicador[:períodos][.componente]<operador><valor>", ex.: "rsi:14<30", "macd.histogram>0"
+    public static ScreenerCondition parse(String expression) {
+        for (Operator operator : Operator.values()) {
+            int index = expression.indexOf(operator.symbol);
+            if (index > 0) {
+                ValueRef ref = ValueRef.parse(expression.substring(0, index));
+                String rawThreshold = expression.substring(index + operator.symbol.length()).trim();
+                try {
+                    return new ScreenerCondition(ref.spec(), ref.component(), operator, Double.parseDouble(rawThreshold));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid threshold in filter: " + expression);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Filter must use one of <, <=, >, >=: " + expression);
+    }
+
+    public boolean matches(Map<String, Double> values) {
+        Double value = ValueRef.resolve(values, component);
+        return value != null && operator.test(value, threshold);
+    }
+
+    public record ValueRef(IndicatorSpec spec, String component) {
+
+        public static ValueRef parse(String expression) {
+            String trimmed = expression.trim();
+            int dot = trimmed.indexOf('.');
+            if (dot < 0) {
+                return new ValueRef(IndicatorSpec.parse(trimmed), null);
+            }
+            return new ValueRef(IndicatorSpec.parse(trimmed.substring(0, dot)), trimmed.substring(dot + 1).trim());
+        }
+
+        // Sem componente explícito usa o valor principal (primeiro) do indicador
+        public static Double resolve(Map<String, Double> values, String component) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            return component == null ? values.values().iterator().next() : values.get(component);
+        }
+
+        public Double resolve(Map<String, Double> values) {
+            return resolve(values, component);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.financial.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+// Agregado por usuário e ticker mantido a cada transação: posição, custo médio e P&L realizado.
+// Custo médio ponderado com sinal: positivo na posição comprada (valor pago) e negativo na vendida a
+// descoberto (valor recebido na venda), que só é realizado quando a recompra a cobre.
+@Entity
+@Table(name = "positions")
+@IdClass(Position.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Position {
+    private static final int SCALE = 8;
+
+    @Id
+    @Column(nullable = false)
+    private String userId;
+
+    @Id
+    @Column(nullable = false)
+    private String ticker;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal quantity;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal costBasis;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal realizedPnl;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalBought;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSold;
+
+    @Column(nullable = false)
+    private Long buyCount;
+
+    @Column(nullable = false)
+    private Long sellCount;
+
+    @Column(nullable = false)
+    private LocalDateTime lastUpdated;
+
+    public static Position empty(String userId, String ticker) {
+        return Position.builder()
+                .userId(userId)
+                .ticker(ticker)
+                .quantity(BigDecimal.ZERO.setScale(SCALE))
+                .costBasis(BigDecimal.ZERO.setScale(SCALE))
+                .realizedPnl(BigDecimal.ZERO.setScale(SCALE))
+                .totalBought(BigDecimal.ZERO.setScale(2))
+                .totalSold(BigDecimal.ZERO.setScale(2))
+                .buyCount(0L)
+                .sellCount(0L)
+                .lastUpdated(LocalDateTime.now())
+                .build();
+    }
+
+    public void apply(Transaction.TransactionType type, BigDecimal amount, BigDecimal totalValue) {
+        boolean buy = type == Transaction.TransactionType.BUY;
+        BigDecimal signedAmount = buy ? amount : amount.negate();
+        BigDecimal signedValue = buy ? totalValue : totalValue.negate();
+        BigDecimal open = quantity.abs();
+
+        // Parte que fecha o lado oposto (venda do comprado ou recompra do vendido): realiza a diferença entre o
+        // valor dessa parte e o custo proporcional; o restante abre ou aumenta a posição no lado da transação
+        BigDecimal closing = quantity.signum() * signedAmount.signum() < 0 ? amount.min(open) : BigDecimal.ZERO;
+        BigDecimal closedBasis = closing.compareTo(open) == 0 ? costBasis : proportion(costBasis, closing, open);
+        BigDecimal closingValue = proportion(signedValue, closing, amount);
+        realizedPnl = realizedPnl.subtract(closingValue).subtract(closedBasis).setScale(SCALE, RoundingMode.HALF_UP);
+        costBasis = costBasis.subtract(closedBasis).add(signedValue).subtract(closingValue)
+                .setScale(SCALE, RoundingMode.HALF_UP);
+        quantity = quantity.add(signedAmount).setScale(SCALE, RoundingMode.HALF_UP);
+
+        if (buy) {
+            totalBought = totalBought.add(totalValue);
+            buyCount++;
+        } else {
+            totalSold = totalSold.add(totalValue);
+            sellCount++;
+        }
+        // Posição zerada não carrega custo residual de arredondamento
+        if (quantity.signum() == 0) {
+            costBasis = BigDecimal.ZERO.setScale(SCALE);
+        }
+        lastUpdated = LocalDateTime.now();
+    }
+
+    // Custo médio por unidade da posição (na vendida, o preço médio de venda); zero quando não há posição
+    public BigDecimal averageCost() {
+        return quantity.signum() != 0 ? costBasis.divide(quantity, SCALE, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+
+    // Mesmos valores agregados, ignorando lastUpdated
+    public boolean sameTotals(Position other) {
+        return quantity.compareTo(other.quantity) == 0
+                && costBasis.compareTo(other.costBasis) == 0
+                && realizedPnl.compareTo(other.realizedPnl) == 0
+                && totalBought.compareTo(other.totalBought) == 0
+                && totalSold.compareTo(other.totalSold) == 0
+                && buyCount.equals(other.buyCount)
+                && sellCount.equals(other.sellCount);
+    }
+
+    private static BigDecimal proportion(BigDecimal value, BigDecimal part, BigDecimal whole) {
+        if (part.signum() <= 0 || whole.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return value.multiply(part).divide(whole, MathContext.DECIMAL64).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String userId;
+        private String ticker;
+    }
+}
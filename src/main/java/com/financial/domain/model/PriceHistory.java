@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "price_history", indexes = {
-    @Index(name = "idx_ticker_timestamp", columnList = "ticker, timestamp"),
+    // Único: as importações usam ON CONFLICT e nunca duplicam um instante já gravado do mesmo ticker
+    @Index(name = "uk_price_history_ticker_timestamp", columnList = "ticker, timestamp", unique = true),
     @Index(name = "idx_timestamp", columnList = "timestamp")
 })
 @Data
@@ -19,8 +20,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PriceHistory {
+    // Sequence com alocação em blocos: permite que o Hibernate agrupe os inserts em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "price_history_seq")
+    @SequenceGenerator(name = "price_history_seq", sequenceName = "price_history_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
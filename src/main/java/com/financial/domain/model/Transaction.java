@@ -10,7 +10,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+// Listagem por usuário ordenada por (timestamp, id) decrescentes: o índice atende filtro, ordem e cursor
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_user_timestamp_id", columnList = "user_id, timestamp DESC, id DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,6 +23,10 @@ public class Transaction {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Identificador estável atribuído na aceitação (antes do id do banco); garante idempotência na reaplicação
+    @Column(unique = true, length = 36)
+    private String reference;
+
     @Column(nullable = false)
     private String userId;
 
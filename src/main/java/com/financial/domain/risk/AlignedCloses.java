@@ -0,0 +1,116 @@
+package com.financial.domain.risk;
+
+import com.financial.domain.indicator.BarInterval;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Fechamentos de vários ativos alinhados em uma grade comum de buckets.
+// Ativos com calendários diferentes (cripto 24/7 vs pregão da B3) ficam com NaN nos buckets sem negociação.
+public final class AlignedCloses {
+
+    private final List<String> tickers;
+    private final long[] buckets;
+    private final double[][] logCloses;
+
+    private AlignedCloses(List<String> tickers, long[] buckets, double[][] logCloses) {
+        this.tickers = tickers;
+        this.buckets = buckets;
+        this.logCloses = logCloses;
+    }
+
+    public List<String> tickers() {
+        return tickers;
+    }
+
+    public long[] buckets() {
+        return buckets;
+    }
+
+    public double[][] logCloses() {
+        return logCloses;
+    }
+
+    // Recebe os fechamentos linha a linha (por ticker, em ordem cronológica) e guarda apenas o último de cada
+    // bucket: a memória depende do número de buckets, não do número de ticks do período
+    public static final class Builder {
+        private final BarInterval interval;
+        private final Map<String, Column> columns = new LinkedHashMap<>();
+
+        // A ordem dos tickers informados é a ordem das linhas da matriz
+        public Builder(BarInterval interval, List<String> tickers) {
+            this.interval = interval;
+            tickers.forEach(ticker -> columns.put(ticker, new Column()));
+        }
+
+        public void add(String ticker, long epochMillis, double close) {
+            Column column = columns.get(ticker);
+            if (column != null) {
+                column.add(interval.bucketStart(epochMillis), close);
+            }
+        }
+
+        // Tickers com ao menos um fechamento
+        public int tickersWithData() {
+            return (int) columns.values().stream().filter(column -> column.size > 0).count();
+        }
+
+        // Usa a união dos buckets de todos os tickers com dados (ordem cronológica) e mantém os últimos maxBuckets
+        public AlignedCloses build(int maxBuckets) {
+            TreeSet<Long> union = new TreeSet<>();
+            columns.values().forEach(column -> {
+                for (int i = 0; i < column.size; i++) {
+                    union.add(column.buckets[i]);
+                }
+            });
+            long[] buckets = union.stream()
+                    .skip(Math.max(0, union.size() - maxBuckets))
+                    .mapToLong(Long::longValue)
+                    .toArray();
+
+            List<Map.Entry<String, Column>> present = columns.entrySet().stream()
+                    .filter(entry -> entry.getValue().size > 0)
+                    .toList();
+            double[][] logCloses = new double[present.size()][buckets.length];
+            for (int i = 0; i < present.size(); i++) {
+                double[] row = logCloses[i];
+                Arrays.fill(row, Double.NaN);
+                Column column = present.get(i).getValue();
+                for (int t = 0; t < column.size; t++) {
+                    int bucket = Arrays.binarySearch(buckets, column.buckets[t]);
+                    if (bucket >= 0 && column.closes[t] > 0) {
+                        row[bucket] = Math.log(column.closes[t]);
+                    }
+                }
+            }
+
+            return new AlignedCloses(present.stream().map(Map.Entry::getKey).toList(), buckets, logCloses);
+        }
+    }
+
+    private static final class Column {
+        private long[] buckets = new long[64];
+        private double[] closes = new double[64];
+        private int size;
+
+        // O último fechamento positivo dentro do bucket prevalece
+        void add(long bucket, double close) {
+            if (size > 0 && buckets[size - 1] == bucket) {
+                if (close > 0) {
+                    closes[size - 1] = close;
+                }
+                return;
+            }
+            if (size == buckets.length) {
+                buckets = Arrays.copyOf(buckets, size * 2);
+                closes = Arrays.copyOf(closes, size * 2);
+            }
+            buckets[size] = bucket;
+            closes[size] = close > 0 ? close : Double.NaN;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.financial.domain.risk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// Matriz de covariância/correlação de log-retornos com observações pareadas.
+// Para cada par, os retornos são medidos entre buckets em que ambos negociaram, então um
+// fim de semana de cripto é comparado ao retorno sexta→segunda da ação, e não descartado.
+public record CorrelationMatrix(double[][] covariance, double[][] correlation, int[][] observations) {
+
+    private static final int BLOCK_SIZE = 64;
+
+    public static CorrelationMatrix compute(double[][] logCloses, ForkJoinPool pool) {
+        int n = logCloses.length;
+        double[][] covariance = new double[n][n];
+        double[][] correlation = new double[n][n];
+        int[][] observations = new int[n][n];
+
+        // Triângulo superior dividido em blocos; cada bloco é uma tarefa independente
+        List<int[]> blocks = new ArrayList<>();
+        for (int bi = 0; bi < n; bi += BLOCK_SIZE) {
+            for (int bj = bi; bj < n; bj += BLOCK_SIZE) {
+                blocks.add(new int[]{bi, bj});
+            }
+        }
+
+        pool.submit(() -> blocks.parallelStream().forEach(block -> {
+            int iEnd = Math.min(block[0] + BLOCK_SIZE, n);
+            int jEnd = Math.min(block[1] + BLOCK_SIZE, n);
+            for (int i = block[0]; i < iEnd; i++) {
+                for (int j = Math.max(block[1], i); j < jEnd; j++) {
+                    pair(logCloses[i], logCloses[j], i, j, covariance, correlation, observations);
+                }
+            }
+        })).join();
+
+        return new CorrelationMatrix(covariance, correlation, observations);
+    }
+
+    private static void pair(double[] x, double[] y, int i, int j,
+                             double[][] covariance, double[][] correlation, int[][] observations) {
+        int n = 0;
+        double meanX = 0;
+        double meanY = 0;
+        double m2x = 0;
+        double m2y = 0;
+        double comoment = 0;
+        double lastX = Double.NaN;
+        double lastY = Double.NaN;
+
+        for (int t = 0; t < x.length; t++) {
+            if (Double.isNaN(x[t]) || Double.isNaN(y[t])) {
+                continue;
+            }
+            if (!Double.isNaN(lastX)) {
+                double rx = x[t] - lastX;
+                double ry = y[t] - lastY;
+                n++;
+                double dx = rx - meanX;
+                meanX += dx / n;
+                double dy = ry - meanY;
+                meanY += dy / n;
+                m2x += dx * (rx - meanX);
+                m2y += dy * (ry - meanY);
+                comoment += dx * (ry - meanY);
+            }
+            lastX = x[t];
+            lastY = y[t];
+        }
+
+        double cov = n > 1 ? comoment / (n - 1) : Double.NaN;
+        double corr = n > 1 && m2x > 0 && m2y > 0 ? comoment / Math.sqrt(m2x * m2y) : Double.NaN;
+        covariance[i][j] = cov;
+        covariance[j][i] = cov;
+        correlation[i][j] = corr;
+        correlation[j][i] = corr;
+        observations[i][j] = n;
+        observations[j][i] = n;
+    }
+}
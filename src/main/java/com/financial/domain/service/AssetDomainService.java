@@ -1,6 +1,7 @@
 package com.financial.domain.service;
 
-import com.financial.domain.model.Asset;
+import com.financial.domain.indicator.IndicatorKernels;
+import com.financial.domain.indicator.PriceSeries;
 import com.financial.domain.model.PriceHistory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,85 +15,48 @@ import java.util.List;
 @Slf4j
 public class AssetDomainService {
 
+    // O histórico vem do mais recente para o mais antigo; a série é revertida para ordem cronológica, de modo
+    // que cada variação seja preço atual - preço anterior (alta = ganho)
     public BigDecimal calculateRSI(List<PriceHistory> priceHistory, int periods) {
-        if (priceHistory.size() < periods + 1) {
+        return calculateRSI(PriceSeries.fromLatestFirst(priceHistory), periods);
+    }
+
+    public BigDecimal calculateRSI(PriceSeries series, int periods) {
+        if (series.size() < periods + 1) {
             log.warn("Insufficient data for RSI calculation. Need at least {} periods, got {}", 
-                    periods + 1, priceHistory.size());
+                    periods + 1, series.size());
             return BigDecimal.valueOf(50); // Neutral RSI
         }
 
-        BigDecimal gains = BigDecimal.ZERO;
-        BigDecimal losses = BigDecimal.ZERO;
-
-        for (int i = 1; i <= periods; i++) {
-            BigDecimal change = priceHistory.get(i).getClose()
-                    .subtract(priceHistory.get(i - 1).getClose());
-            
-            if (change.compareTo(BigDecimal.ZERO) > 0) {
-                gains = gains.add(change);
-            } else {
-                losses = losses.add(change.abs());
-            }
-        }
-
-        BigDecimal avgGain = gains.divide(BigDecimal.valueOf(periods), 4, RoundingMode.HALF_UP);
-        BigDecimal avgLoss = losses.divide(BigDecimal.valueOf(periods), 4, RoundingMode.HALF_UP);
-
-        if (avgLoss.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.valueOf(100);
-        }
-
-        BigDecimal rs = avgGain.divide(avgLoss, 4, RoundingMode.HALF_UP);
-        BigDecimal rsi = BigDecimal.valueOf(100)
-                .subtract(BigDecimal.valueOf(100)
-                        .divide(BigDecimal.ONE.add(rs), 2, RoundingMode.HALF_UP));
-
-        return rsi;
+        double rsi = IndicatorKernels.rsi(series.close(), series.size(), periods);
+        return BigDecimal.valueOf(rsi).setScale(2, RoundingMode.HALF_UP);
     }
 
     public BigDecimal calculateSimpleMovingAverage(List<PriceHistory> priceHistory, int periods) {
-        if (priceHistory.size() < periods) {
+        return calculateSimpleMovingAverage(PriceSeries.fromLatestFirst(priceHistory), periods);
+    }
+
+    public BigDecimal calculateSimpleMovingAverage(PriceSeries series, int periods) {
+        if (series.size() < periods) {
             log.warn("Insufficient data for SMA calculation. Need {} periods, got {}", 
-                    periods, priceHistory.size());
+                    periods, series.size());
             return BigDecimal.ZERO;
         }
 
-        BigDecimal sum = priceHistory.stream()
-                .limit(periods)
-                .map(PriceHistory::getClose)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return sum.divide(BigDecimal.valueOf(periods), 4, RoundingMode.HALF_UP);
+        double sma = IndicatorKernels.sma(series.close(), series.size(), periods);
+        return BigDecimal.valueOf(sma).setScale(4, RoundingMode.HALF_UP);
     }
 
     public BigDecimal calculateVolatility(List<PriceHistory> priceHistory, int periods) {
-        if (priceHistory.size() < periods) {
+        return calculateVolatility(PriceSeries.fromLatestFirst(priceHistory), periods);
+    }
+
+    public BigDecimal calculateVolatility(PriceSeries series, int periods) {
+        if (periods < 2 || series.size() < periods) {
             return BigDecimal.ZERO;
         }
 
-        List<BigDecimal> returns = priceHistory.stream()
-                .limit(periods - 1)
-                .map(current -> {
-                    int index = priceHistory.indexOf(current);
-                    if (index < priceHistory.size() - 1) {
-                        BigDecimal previous = priceHistory.get(index + 1).getClose();
-                        return current.getClose().divide(previous, 4, RoundingMode.HALF_UP)
-                                .subtract(BigDecimal.ONE);
-                    }
-                    return BigDecimal.ZERO;
-                })
-                .toList();
-
-        BigDecimal mean = returns.stream()
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(returns.size()), 4, RoundingMode.HALF_UP);
-
-        BigDecimal variance = returns.stream()
-                .map(ret -> ret.subtract(mean).pow(2))
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(returns.size()), 4, RoundingMode.HALF_UP);
-
-        return BigDecimal.valueOf(Math.sqrt(variance.doubleValue()));
+        return BigDecimal.valueOf(IndicatorKernels.volatility(series.close(), series.size(), periods));
     }
 
     public boolean isMarketHours() {
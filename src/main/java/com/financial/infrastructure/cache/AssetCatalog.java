@@ -0,0 +1,211 @@
+package com.financial.infrastructure.cache;
+
+import com.financial.domain.model.Asset;
+import com.financial.infrastructure.repository.AssetRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Metadados dos ativos (ticker, nome, categoria, ativo) em memória. Cada snapshot é imutável e indexado por
+// ticker e por categoria; alterações geram um snapshot novo que substitui o anterior em uma única escrita
+// volátil (copy-on-write), então leitores nunca bloqueiam nem veem um índice pela metade.
+// Preços não fazem parte do catálogo: mudam a cada tick e continuam vindo do banco ou do cache de cotações.
+@Component
+@Slf4j
+public class AssetCatalog {
+
+    public record Entry(Long id, String ticker, String name, String category, boolean active) {
+
+        static Entry from(Asset asset) {
+            return new Entry(asset.getId(), asset.getTicker(), asset.getName(), asset.getCategory(),
+                    Boolean.TRUE.equals(asset.getActive()));
+        }
+    }
+
+    private record Snapshot(Map<String, Entry> byTicker, Map<String, List<Entry>> activeByCategory) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        static Snapshot of(Collection<Entry> entries) {
+            Map<String, Entry> byTicker = new HashMap<>();
+            entries.forEach(entry -> byTicker.put(entry.ticker(), entry));
+
+            Map<String, List<Entry>> byCategory = new LinkedHashMap<>();
+            byTicker.values().stream()
+                    .filter(Entry::active)
+                    .sorted(Comparator.comparing(Entry::ticker))
+                    .forEach(entry -> byCategory.computeIfAbsent(entry.category().toUpperCase(), c -> new ArrayList<>()).add(entry));
+            Map<String, List<Entry>> activeByCategory = new LinkedHashMap<>();
+            byCategory.forEach((category, list) -> activeByCategory.put(category, List.copyOf(list)));
+
+            return new Snapshot(Map.copyOf(byTicker), Collections.unmodifiableMap(activeByCategory));
+        }
+
+        Snapshot with(Collection<Entry> changed) {
+            List<Entry> entries = new ArrayList<>(byTicker.values());
+            entries.addAll(changed);
+            return of(entries);
+        }
+    }
+
+    private final AssetRepository assetRepository;
+    // Tickers confirmados como inexistentes: evita uma consulta por requisição para o mesmo ticker inválido.
+    // O TTL curto limita o atraso para enxergar um ativo criado em outra instância antes do próximo refresh
+    private final Cache<String, Boolean> unknown;
+    private final Counter misses;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean loaded;
+
+    public AssetCatalog(AssetRepository assetRepository, MeterRegistry meterRegistry,
+                        @Value("${app.assets.catalog.negative-ttl:30s}") Duration negativeTtl) {
+        this.assetRepository = assetRepository;
+        this.unknown = Caffeine.newBuilder()
+                .maximumSize(10000)
+                .expireAfterWrite(negativeTtl)
+                .build();
+        this.misses = Counter.builder("assets.catalog.misses").register(meterRegistry);
+        Gauge.builder("assets.catalog.size", this, catalog -> catalog.snapshot.byTicker().size())
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Could not load asset catalog, will load on first use: {}", e.getMessage());
+        }
+    }
+
+    // Também captura ativos criados por outras instâncias da aplicação
+    @Scheduled(fixedDelayString = "${app.assets.catalog.refresh-interval:300000}",
+            initialDelayString = "${app.assets.catalog.refresh-interval:300000}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Could not refresh asset catalog: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void reload() {
+        Snapshot reloaded = Snapshot.of(assetRepository.findAll().stream().map(Entry::from).toList());
+        snapshot = reloaded;
+        loaded = true;
+        unknown.invalidateAll();
+        log.debug("Asset catalog loaded with {} assets", reloaded.byTicker().size());
+    }
+
+    // Ticker fora do snapshot pode ter sido criado em outra instância: consulta o banco uma vez e guarda o
+    // resultado (positivo no snapshot, negativo com TTL curto)
+    public Optional<Entry> find(String ticker) {
+        String normalized = ticker.toUpperCase();
+        Entry entry = current().byTicker().get(normalized);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        if (unknown.getIfPresent(normalized) != null) {
+            return Optional.empty();
+        }
+        misses.increment();
+        Optional<Entry> found = assetRepository.findByTicker(normalized).map(Entry::from);
+        if (found.isPresent()) {
+            merge(List.of(found.get()));
+        } else {
+            unknown.put(normalized, Boolean.TRUE);
+        }
+        return found;
+    }
+
+    // Resolve vários tickers com no máximo uma consulta, apenas para os que não estão no snapshot
+    // nem já foram confirmados como inexistentes
+    public Map<String, Entry> findAll(Collection<String> tickers) {
+        Map<String, Entry> byTicker = current().byTicker();
+        Map<String, Entry> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String ticker : tickers) {
+            String normalized = ticker.toUpperCase();
+            Entry entry = byTicker.get(normalized);
+            if (entry != null) {
+                found.put(normalized, entry);
+            } else if (unknown.getIfPresent(normalized) == null) {
+                missing.add(normalized);
+            }
+        }
+        if (!missing.isEmpty()) {
+            misses.increment(missing.size());
+            List<Entry> loadedEntries = assetRepository.findByTickerIn(missing).stream().map(Entry::from).toList();
+            loadedEntries.forEach(entry -> {
+                found.put(entry.ticker(), entry);
+                missing.remove(entry.ticker());
+            });
+            missing.forEach(ticker -> unknown.put(ticker, Boolean.TRUE));
+            if (!loadedEntries.isEmpty()) {
+                merge(loadedEntries);
+            }
+        }
+        return found;
+    }
+
+    public List<Entry> active() {
+        return current().activeByCategory().values().stream().flatMap(List::stream).toList();
+    }
+
+    public List<Entry> activeByCategory(String category) {
+        return current().activeByCategory().getOrDefault(category.toUpperCase(), List.of());
+    }
+
+    public Set<String> categories() {
+        return current().activeByCategory().keySet();
+    }
+
+    // Publica o ativo alterado só depois do commit, para que o catálogo nunca mostre um ativo revertido
+    public void register(Asset asset) {
+        Entry entry = Entry.from(asset);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            merge(List.of(entry));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                merge(List.of(entry));
+            }
+        });
+    }
+
+    private Snapshot current() {
+        if (!loaded) {
+            reload();
+        }
+        return snapshot;
+    }
+
+    private synchronized void merge(Collection<Entry> changed) {
+        snapshot = snapshot.with(changed);
+        changed.forEach(entry -> unknown.invalidate(entry.ticker()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.financial.infrastructure.cache;
+
+import java.time.Duration;
+
+public record CachePolicy(Duration softTtl, Duration hardTtl) {
+
+    public CachePolicy {
+        if (softTtl.compareTo(hardTtl) > 0) {
+            throw new IllegalArgumentException("Soft TTL must not exceed hard TTL");
+        }
+    }
+
+    public static CachePolicy of(Duration ttl) {
+        return new CachePolicy(ttl, ttl);
+    }
+
+    // Após o soft TTL o valor ainda é servido enquanto uma atualização roda em background
+    public static CachePolicy staleWhileRevalidate(Duration softTtl, Duration hardTtl) {
+        return new CachePolicy(softTtl, hardTtl);
+    }
+
+    public boolean allowsStale() {
+        return softTtl.compareTo(hardTtl) < 0;
+    }
+}
@@ -0,0 +1,8 @@
+package com.financial.infrastructure.cache;
+
+public record CachedValue<T>(T value, long softExpiresAt) {
+
+    public boolean isStale(long now) {
+        return now >= softExpiresAt;
+    }
+}
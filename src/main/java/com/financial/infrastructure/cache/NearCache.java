@@ -0,0 +1,127 @@
+package com.financial.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@Slf4j
+public class NearCache implements MessageListener {
+
+    private static final String SEPARATOR = "|";
+
+    private final boolean enabled;
+    private final Duration maxTtl;
+    private final String invalidationChannel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Cache<String, Entry> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public NearCache(MeterRegistry meterRegistry,
+                     @Value("${app.cache.near.enabled:true}") boolean enabled,
+                     @Value("${app.cache.near.maximum-size:10000}") long maximumSize,
+                     @Value("${app.cache.near.max-ttl:10s}") Duration maxTtl,
+                     @Value("${app.cache.near.invalidation-channel:cache:invalidate}") String invalidationChannel) {
+        this.enabled = enabled;
+        this.maxTtl = maxTtl;
+        this.invalidationChannel = invalidationChannel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EntryExpiry())
+                .build();
+        this.hits = tierCounter(meterRegistry, "hit");
+        this.misses = tierCounter(meterRegistry, "miss");
+    }
+
+    public <T> Optional<CachedValue<T>> get(String key, Class<T> type) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && type.isInstance(entry.value())) {
+            hits.increment();
+            return Optional.of(new CachedValue<>(type.cast(entry.value()), entry.softExpiresAt()));
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String key, Object value, Duration ttl, long softExpiresAt) {
+        if (!enabled || value == null) {
+            return;
+        }
+        Duration effective = ttl == null || ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl;
+        if (effective.isZero() || effective.isNegative()) {
+            return;
+        }
+        cache.put(key, new Entry(value, effective.toNanos(), softExpiresAt));
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public String invalidationMessage(String key) {
+        return nodeId + SEPARATOR + key;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return;
+        }
+        // Mensagens publicadas por este nó já foram aplicadas localmente
+        if (separator == nodeId.length() && body.startsWith(nodeId)) {
+            return;
+        }
+        String key = body.substring(separator + 1);
+        cache.invalidate(key);
+        log.debug("Near cache entry invalidated by remote node: {}", key);
+    }
+
+    private static Counter tierCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.requests")
+                .tag("tier", "l1")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(Object value, long ttlNanos, long softExpiresAt) {
+    }
+
+    private static class EntryExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,57 +1,298 @@
 package com.financial.infrastructure.cache;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.financial.infrastructure.cache.codec.CacheCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RedisCacheService {
-    
+
+    // Cabeçalho gravado antes do payload do codec: marcador + soft expiry (epoch millis)
+    private static final byte ENVELOPE_MARKER = 0x02;
+    private static final int ENVELOPE_HEADER_SIZE = 1 + Long.BYTES;
+
     private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
-    
+    private final RedisTemplate<byte[], byte[]> binaryRedisTemplate;
+    private final CacheCodec codec;
+    private final NearCache nearCache;
+    private final SingleFlight singleFlight;
+    // Pool próprio, fora do contexto: um bean Executor desligaria o applicationTaskExecutor do Spring Boot
+    private final ThreadPoolTaskExecutor refreshExecutor;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter staleHits;
+    private final Counter refreshFailures;
+
+    public RedisCacheService(RedisTemplate<String, String> redisTemplate,
+                             RedisTemplate<byte[], byte[]> binaryRedisTemplate,
+                             CacheCodec codec,
+                             NearCache nearCache,
+                             SingleFlight singleFlight,
+                             MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.codec = codec;
+        this.nearCache = nearCache;
+        this.singleFlight = singleFlight;
+        this.refreshExecutor = new ThreadPoolTaskExecutor();
+        this.refreshExecutor.setCorePoolSize(2);
+        this.refreshExecutor.setMaxPoolSize(4);
+        this.refreshExecutor.setQueueCapacity(200);
+        this.refreshExecutor.setThreadNamePrefix("cache-refresh-");
+        this.refreshExecutor.initialize();
+        this.redisHits = tierCounter(meterRegistry, "hit");
+        this.redisMisses = tierCounter(meterRegistry, "miss");
+        this.staleHits = Counter.builder("cache.stale.hits").register(meterRegistry);
+        this.refreshFailures = Counter.builder("cache.refresh.failures").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+
     public <T> void set(String key, T value, Duration ttl) {
+        set(key, value, CachePolicy.of(ttl));
+    }
+
+    public <T> void set(String key, T value, CachePolicy policy) {
         try {
-            String jsonValue = objectMapper.writeValueAsString(value);
-            redisTemplate.opsForValue().set(key, jsonValue, ttl);
+            long softExpiresAt = System.currentTimeMillis() + policy.softTtl().toMillis();
+            byte[] encoded = wrap(codec.encode(value), softExpiresAt);
+            binaryRedisTemplate.opsForValue().set(keyBytes(key), encoded, policy.hardTtl());
+            nearCache.put(key, value, policy.hardTtl(), softExpiresAt);
+            publishInvalidation(key);
             log.debug("Cached object with key: {}", key);
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             log.error("Error serializing object to cache: {}", e.getMessage());
         }
     }
-    
+
     public <T> Optional<T> get(String key, Class<T> type) {
+        return getEntry(key, type).map(CachedValue::value);
+    }
+
+    public <T> Optional<CachedValue<T>> getEntry(String key, Class<T> type) {
+        Optional<CachedValue<T>> local = nearCache.get(key, type);
+        if (local.isPresent()) {
+            return local;
+        }
+
         try {
-            String jsonValue = redisTemplate.opsForValue().get(key);
-            if (jsonValue != null) {
-                T value = objectMapper.readValue(jsonValue, type);
+            byte[] encoded = binaryRedisTemplate.opsForValue().get(keyBytes(key));
+            if (encoded != null) {
+                redisHits.increment();
+                CachedValue<T> entry = unwrap(encoded, type);
+                nearCache.put(key, entry.value(), null, entry.softExpiresAt());
                 log.debug("Retrieved cached object with key: {}", key);
-                return Optional.of(value);
+                return Optional.of(entry);
             }
+            redisMisses.increment();
         } catch (Exception e) {
             log.error("Error deserializing cached object: {}", e.getMessage());
         }
         return Optional.empty();
     }
-    
+
+    public <T> Map<String, T> multiGet(Collection<String> keys, Class<T> type) {
+        Map<String, T> found = new LinkedHashMap<>();
+        List<String> remoteKeys = new ArrayList<>();
+
+        for (String key : keys) {
+            Optional<CachedValue<T>> local = nearCache.get(key, type);
+            if (local.isPresent()) {
+                found.put(key, local.get().value());
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        // Um único MGET para todas as chaves que não estão no cache local
+        List<byte[]> encodedValues = binaryRedisTemplate.opsForValue()
+                .multiGet(remoteKeys.stream().map(RedisCacheService::keyBytes).toList());
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            String key = remoteKeys.get(i);
+            byte[] encoded = encodedValues != null ? encodedValues.get(i) : null;
+            if (encoded == null) {
+                redisMisses.increment();
+                continue;
+            }
+            redisHits.increment();
+            try {
+                CachedValue<T> entry = unwrap(encoded, type);
+                nearCache.put(key, entry.value(), null, entry.softExpiresAt());
+                found.put(key, entry.value());
+            } catch (Exception e) {
+                log.error("Error deserializing cached object for key {}: {}", key, e.getMessage());
+            }
+        }
+
+        log.debug("Multi-get resolved {} of {} keys", found.size(), keys.size());
+        return found;
+    }
+
+    public <T> void multiSet(Map<String, T> values, Duration ttl) {
+        multiSet(values, CachePolicy.of(ttl));
+    }
+
+    public <T> void multiSet(Map<String, T> values, CachePolicy policy) {
+        long softExpiresAt = System.currentTimeMillis() + policy.softTtl().toMillis();
+        Map<String, byte[]> serialized = new LinkedHashMap<>();
+        for (Map.Entry<String, T> entry : values.entrySet()) {
+            try {
+                serialized.put(entry.getKey(), wrap(codec.encode(entry.getValue()), softExpiresAt));
+            } catch (IOException e) {
+                log.error("Error serializing object to cache: {}", e.getMessage());
+            }
+        }
+
+        if (serialized.isEmpty()) {
+            return;
+        }
+
+        byte[] channel = keyBytes(nearCache.getInvalidationChannel());
+        binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Map.Entry<String, byte[]> entry : serialized.entrySet()) {
+                connection.stringCommands().set(keyBytes(entry.getKey()), entry.getValue(),
+                        Expiration.from(policy.hardTtl()), SetOption.upsert());
+                connection.publish(channel, keyBytes(nearCache.invalidationMessage(entry.getKey())));
+            }
+            return null;
+        });
+
+        serialized.keySet().forEach(key -> nearCache.put(key, values.get(key), policy.hardTtl(), softExpiresAt));
+        log.debug("Pipelined multi-set of {} keys", serialized.size());
+    }
+
+    public <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
+        return getOrLoad(key, type, CachePolicy.of(ttl), loader);
+    }
+
+    public <T> T getOrLoad(String key, Class<T> type, CachePolicy policy, Supplier<T> loader) {
+        Optional<CachedValue<T>> cached = getEntry(key, type);
+        if (cached.isPresent()) {
+            CachedValue<T> entry = cached.get();
+            if (entry.isStale(System.currentTimeMillis())) {
+                // Servir o valor antigo imediatamente e atualizar em background
+                staleHits.increment();
+                refreshAsync(key, policy, loader);
+            }
+            return entry.value();
+        }
+
+        // Apenas um loader por chave; as demais requisições aguardam o mesmo resultado
+        return singleFlight.execute(key, () -> get(key, type).orElseGet(() -> {
+            T value = loader.get();
+            set(key, value, policy);
+            return value;
+        }));
+    }
+
     public void delete(String key) {
-        redisTemplate.delete(key);
+        binaryRedisTemplate.delete(keyBytes(key));
+        nearCache.invalidate(key);
+        publishInvalidation(key);
         log.debug("Deleted cache key: {}", key);
     }
-    
+
     public void increment(String key) {
         redisTemplate.opsForValue().increment(key);
     }
-    
+
+    public long getCounter(String key) {
+        String value = redisTemplate.opsForValue().get(key);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
     public void setWithExpire(String key, String value, long seconds) {
         redisTemplate.opsForValue().set(key, value, Duration.ofSeconds(seconds));
     }
-}
\ No newline at end of file
+
+    private <T> void refreshAsync(String key, CachePolicy policy, Supplier<T> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    set(key, loader.get(), policy);
+                    log.debug("Refreshed stale cache key: {}", key);
+                } catch (Exception e) {
+                    refreshFailures.increment();
+                    log.warn("Background refresh failed for key {}: {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (Exception e) {
+            refreshing.remove(key);
+            log.warn("Could not schedule background refresh for key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void publishInvalidation(String key) {
+        try {
+            redisTemplate.convertAndSend(nearCache.getInvalidationChannel(), nearCache.invalidationMessage(key));
+        } catch (Exception e) {
+            log.warn("Could not publish cache invalidation for key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static byte[] wrap(byte[] payload, long softExpiresAt) {
+        return ByteBuffer.allocate(ENVELOPE_HEADER_SIZE + payload.length)
+                .put(ENVELOPE_MARKER)
+                .putLong(softExpiresAt)
+                .put(payload)
+                .array();
+    }
+
+    private <T> CachedValue<T> unwrap(byte[] encoded, Class<T> type) throws IOException {
+        // Valores gravados sem envelope não têm soft expiry: nunca ficam "stale"
+        if (encoded.length < ENVELOPE_HEADER_SIZE || encoded[0] != ENVELOPE_MARKER) {
+            return new CachedValue<>(codec.decode(encoded, type), Long.MAX_VALUE);
+        }
+        long softExpiresAt = ByteBuffer.wrap(encoded, 1, Long.BYTES).getLong();
+        byte[] payload = Arrays.copyOfRange(encoded, ENVELOPE_HEADER_SIZE, encoded.length);
+        return new CachedValue<>(codec.decode(payload, type), softExpiresAt);
+    }
+
+    private static byte[] keyBytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Counter tierCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.requests")
+                .tag("tier", "l2")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
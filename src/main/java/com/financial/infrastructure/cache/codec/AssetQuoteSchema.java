@@ -0,0 +1,70 @@
+package com.financial.infrastructure.cache.codec;
+
+import com.financial.application.dto.AssetQuoteDto;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+public class AssetQuoteSchema implements CacheSchema<AssetQuoteDto> {
+
+    // Números de campo nunca devem ser reutilizados; novos campos recebem números novos
+    private static final int TICKER = 1;
+    private static final int NAME = 2;
+    private static final int CATEGORY = 3;
+    private static final int CURRENT_PRICE = 4;
+    private static final int PREVIOUS_CLOSE = 5;
+    private static final int PRICE_CHANGE = 6;
+    private static final int PRICE_CHANGE_PERCENT = 7;
+    private static final int LAST_UPDATED = 8;
+    private static final int SOURCE = 9;
+
+    @Override
+    public int id() {
+        return 1;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<AssetQuoteDto> type() {
+        return AssetQuoteDto.class;
+    }
+
+    @Override
+    public void write(AssetQuoteDto quote, BinaryWriter writer) {
+        writer.writeString(TICKER, quote.getTicker())
+                .writeString(NAME, quote.getName())
+                .writeString(CATEGORY, quote.getCategory())
+                .writeDecimal(CURRENT_PRICE, quote.getCurrentPrice())
+                .writeDecimal(PREVIOUS_CLOSE, quote.getPreviousClose())
+                .writeDecimal(PRICE_CHANGE, quote.getPriceChange())
+                .writeDecimal(PRICE_CHANGE_PERCENT, quote.getPriceChangePercent())
+                .writeDateTime(LAST_UPDATED, quote.getLastUpdated())
+                .writeString(SOURCE, quote.getSource());
+    }
+
+    @Override
+    public AssetQuoteDto read(BinaryReader reader, int version) throws IOException {
+        AssetQuoteDto quote = new AssetQuoteDto();
+        int field;
+        while ((field = reader.nextField()) != 0) {
+            switch (field) {
+                case TICKER -> quote.setTicker(reader.readString());
+                case NAME -> quote.setName(reader.readString());
+                case CATEGORY -> quote.setCategory(reader.readString());
+                case CURRENT_PRICE -> quote.setCurrentPrice(reader.readDecimal());
+                case PREVIOUS_CLOSE -> quote.setPreviousClose(reader.readDecimal());
+                case PRICE_CHANGE -> quote.setPriceChange(reader.readDecimal());
+                case PRICE_CHANGE_PERCENT -> quote.setPriceChangePercent(reader.readDecimal());
+                case LAST_UPDATED -> quote.setLastUpdated(reader.readDateTime());
+                case SOURCE -> quote.setSource(reader.readString());
+                default -> reader.skip();
+            }
+        }
+        return quote;
+    }
+}
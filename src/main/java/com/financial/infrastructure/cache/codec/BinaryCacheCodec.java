@@ -0,0 +1,65 @@
+package com.financial.infrastructure.cache.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class BinaryCacheCodec implements CacheCodec {
+
+    // Payloads JSON sempre começam com um caractere imprimível, então este marcador
+    // permite ler valores gravados antes da troca de codec
+    static final int BINARY_FORMAT = 0x01;
+
+    private final JsonCacheCodec fallback;
+    private final Map<Class<?>, CacheSchema<?>> schemasByType = new HashMap<>();
+    private final Map<Integer, CacheSchema<?>> schemasById = new HashMap<>();
+
+    public BinaryCacheCodec(ObjectMapper objectMapper, List<CacheSchema<?>> schemas) {
+        this.fallback = new JsonCacheCodec(objectMapper);
+        for (CacheSchema<?> schema : schemas) {
+            if (schemasById.put(schema.id(), schema) != null) {
+                throw new IllegalStateException("Duplicate cache schema id: " + schema.id());
+            }
+            schemasByType.put(schema.type(), schema);
+        }
+        log.info("Binary cache codec registered {} schemas", schemas.size());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Object value) throws IOException {
+        CacheSchema<Object> schema = (CacheSchema<Object>) schemasByType.get(value.getClass());
+        if (schema == null) {
+            return fallback.encode(value);
+        }
+
+        BinaryWriter writer = new BinaryWriter(64)
+                .writeByte(BINARY_FORMAT)
+                .writeByte(schema.id())
+                .writeByte(schema.version());
+        schema.write(value, writer);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) throws IOException {
+        if (bytes.length == 0 || bytes[0] != BINARY_FORMAT) {
+            return fallback.decode(bytes, type);
+        }
+
+        BinaryReader reader = new BinaryReader(bytes, 1);
+        int schemaId = reader.readByte();
+        int version = reader.readByte();
+
+        CacheSchema<?> schema = schemasById.get(schemaId);
+        if (schema == null || !type.isAssignableFrom(schema.type())) {
+            throw new IOException("No cache schema " + schemaId + " for type " + type.getSimpleName());
+        }
+        return type.cast(schema.read(reader, version));
+    }
+}
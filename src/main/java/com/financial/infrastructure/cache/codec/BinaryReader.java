@@ -0,0 +1,137 @@
+package com.financial.infrastructure.cache.codec;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static com.financial.infrastructure.cache.codec.BinaryWriter.WIRE_BIG_DECIMAL;
+import static com.financial.infrastructure.cache.codec.BinaryWriter.WIRE_BYTES;
+import static com.financial.infrastructure.cache.codec.BinaryWriter.WIRE_DATETIME;
+import static com.financial.infrastructure.cache.codec.BinaryWriter.WIRE_DECIMAL;
+import static com.financial.infrastructure.cache.codec.BinaryWriter.WIRE_VARINT;
+
+public final class BinaryReader {
+
+    private final byte[] buffer;
+    private int position;
+    private int wireType;
+
+    public BinaryReader(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public int readByte() throws IOException {
+        if (position >= buffer.length) {
+            throw new IOException("Unexpected end of cache payload");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    // Retorna o número do próximo campo ou 0 ao fim do payload
+    public int nextField() throws IOException {
+        if (position >= buffer.length) {
+            return 0;
+        }
+        long tag = readVarint();
+        wireType = (int) (tag & 0x7);
+        return (int) (tag >>> 3);
+    }
+
+    public String readString() throws IOException {
+        expect(WIRE_BYTES);
+        int length = (int) readVarint();
+        checkAvailable(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public long readLong() throws IOException {
+        expect(WIRE_VARINT);
+        return unZigZag(readVarint());
+    }
+
+    public int readInt() throws IOException {
+        return (int) readLong();
+    }
+
+    public BigDecimal readDecimal() throws IOException {
+        if (wireType == WIRE_DECIMAL) {
+            int scale = (int) unZigZag(readVarint());
+            return BigDecimal.valueOf(unZigZag(readVarint()), scale);
+        }
+        expect(WIRE_BIG_DECIMAL);
+        int scale = (int) unZigZag(readVarint());
+        int length = (int) readVarint();
+        checkAvailable(length);
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, position, bytes, 0, length);
+        position += length;
+        return new BigDecimal(new BigInteger(bytes), scale);
+    }
+
+    public LocalDateTime readDateTime() throws IOException {
+        expect(WIRE_DATETIME);
+        long epochSecond = unZigZag(readVarint());
+        int nanos = (int) readVarint();
+        return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+    }
+
+    // Campos desconhecidos (gravados por uma versão mais nova do schema) são ignorados
+    public void skip() throws IOException {
+        switch (wireType) {
+            case WIRE_VARINT -> readVarint();
+            case WIRE_DECIMAL -> {
+                readVarint();
+                readVarint();
+            }
+            case WIRE_DATETIME -> {
+                readVarint();
+                readVarint();
+            }
+            case WIRE_BIG_DECIMAL -> {
+                readVarint();
+                skipBytes((int) readVarint());
+            }
+            case WIRE_BYTES -> skipBytes((int) readVarint());
+            default -> throw new IOException("Unknown wire type: " + wireType);
+        }
+    }
+
+    private void skipBytes(int length) throws IOException {
+        checkAvailable(length);
+        position += length;
+    }
+
+    private long readVarint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint in cache payload");
+    }
+
+    private void expect(int expected) throws IOException {
+        if (wireType != expected) {
+            throw new IOException("Unexpected wire type " + wireType + ", expected " + expected);
+        }
+    }
+
+    private void checkAvailable(int length) throws IOException {
+        if (length < 0 || position + length > buffer.length) {
+            throw new IOException("Unexpected end of cache payload");
+        }
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.financial.infrastructure.cache.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+public final class BinaryWriter {
+
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_BYTES = 1;
+    static final int WIRE_DECIMAL = 2;
+    static final int WIRE_BIG_DECIMAL = 3;
+    static final int WIRE_DATETIME = 4;
+
+    private byte[] buffer;
+    private int position;
+
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public BinaryWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public BinaryWriter writeString(int field, String value) {
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeTag(field, WIRE_BYTES);
+            writeVarint(bytes.length);
+            writeRaw(bytes);
+        }
+        return this;
+    }
+
+    public BinaryWriter writeLong(int field, Long value) {
+        if (value != null) {
+            writeTag(field, WIRE_VARINT);
+            writeVarint(zigZag(value));
+        }
+        return this;
+    }
+
+    public BinaryWriter writeInt(int field, Integer value) {
+        return writeLong(field, value != null ? value.longValue() : null);
+    }
+
+    public BinaryWriter writeDecimal(int field, BigDecimal value) {
+        if (value == null) {
+            return this;
+        }
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < 64) {
+            writeTag(field, WIRE_DECIMAL);
+            writeVarint(zigZag(value.scale()));
+            writeVarint(zigZag(unscaled.longValue()));
+        } else {
+            byte[] bytes = unscaled.toByteArray();
+            writeTag(field, WIRE_BIG_DECIMAL);
+            writeVarint(zigZag(value.scale()));
+            writeVarint(bytes.length);
+            writeRaw(bytes);
+        }
+        return this;
+    }
+
+    public BinaryWriter writeDateTime(int field, LocalDateTime value) {
+        if (value != null) {
+            writeTag(field, WIRE_DATETIME);
+            writeVarint(zigZag(value.toEpochSecond(ZoneOffset.UTC)));
+            writeVarint(value.getNano());
+        }
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeTag(int field, int wireType) {
+        writeVarint(((long) field << 3) | wireType);
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeRaw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
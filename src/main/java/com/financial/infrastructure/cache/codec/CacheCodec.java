@@ -0,0 +1,10 @@
+package com.financial.infrastructure.cache.codec;
+
+import java.io.IOException;
+
+public interface CacheCodec {
+
+    byte[] encode(Object value) throws IOException;
+
+    <T> T decode(byte[] bytes, Class<T> type) throws IOException;
+}
@@ -0,0 +1,16 @@
+package com.financial.infrastructure.cache.codec;
+
+import java.io.IOException;
+
+public interface CacheSchema<T> {
+
+    int id();
+
+    int version();
+
+    Class<T> type();
+
+    void write(T value, BinaryWriter writer);
+
+    T read(BinaryReader reader, int version) throws IOException;
+}
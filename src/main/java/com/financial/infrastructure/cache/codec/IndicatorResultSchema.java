@@ -0,0 +1,81 @@
+package com.financial.infrastructure.cache.codec;
+
+import com.financial.application.dto.IndicatorResultDto;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class IndicatorResultSchema implements CacheSchema<IndicatorResultDto> {
+
+    // Números de campo nunca devem ser reutilizados; novos campos recebem números novos
+    private static final int TICKER = 1;
+    private static final int INDICATOR = 2;
+    private static final int VALUE = 3;
+    private static final int PERIODS = 4;
+    private static final int INTERPRETATION = 5;
+    private static final int CALCULATED_AT = 6;
+    // Componentes gravados como pares nome/valor repetidos
+    private static final int COMPONENT_NAME = 7;
+    private static final int COMPONENT_VALUE = 8;
+
+    @Override
+    public int id() {
+        return 2;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<IndicatorResultDto> type() {
+        return IndicatorResultDto.class;
+    }
+
+    @Override
+    public void write(IndicatorResultDto result, BinaryWriter writer) {
+        writer.writeString(TICKER, result.getTicker())
+                .writeString(INDICATOR, result.getIndicator())
+                .writeDecimal(VALUE, result.getValue())
+                .writeInt(PERIODS, result.getPeriods())
+                .writeString(INTERPRETATION, result.getInterpretation())
+                .writeDateTime(CALCULATED_AT, result.getCalculatedAt());
+        if (result.getComponents() != null) {
+            for (Map.Entry<String, BigDecimal> component : result.getComponents().entrySet()) {
+                writer.writeString(COMPONENT_NAME, component.getKey())
+                        .writeDecimal(COMPONENT_VALUE, component.getValue());
+            }
+        }
+    }
+
+    @Override
+    public IndicatorResultDto read(BinaryReader reader, int version) throws IOException {
+        IndicatorResultDto result = new IndicatorResultDto();
+        String componentName = null;
+        int field;
+        while ((field = reader.nextField()) != 0) {
+            switch (field) {
+                case TICKER -> result.setTicker(reader.readString());
+                case INDICATOR -> result.setIndicator(reader.readString());
+                case VALUE -> result.setValue(reader.readDecimal());
+                case PERIODS -> result.setPeriods(reader.readInt());
+                case INTERPRETATION -> result.setInterpretation(reader.readString());
+                case CALCULATED_AT -> result.setCalculatedAt(reader.readDateTime());
+                case COMPONENT_NAME -> componentName = reader.readString();
+                case COMPONENT_VALUE -> {
+                    if (result.getComponents() == null) {
+                        result.setComponents(new LinkedHashMap<>());
+                    }
+                    result.getComponents().put(componentName, reader.readDecimal());
+                }
+                default -> reader.skip();
+            }
+        }
+        return result;
+    }
+}
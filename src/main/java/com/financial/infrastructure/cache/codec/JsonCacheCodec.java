@@ -0,0 +1,22 @@
+package com.financial.infrastructure.cache.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class JsonCacheCodec implements CacheCodec {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) throws IOException {
+        return objectMapper.readValue(bytes, type);
+    }
+}
@@ -1,11 +1,23 @@
 package com.financial.infrastructure.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financial.infrastructure.cache.NearCache;
+import com.financial.infrastructure.cache.codec.BinaryCacheCodec;
+import com.financial.infrastructure.cache.codec.CacheCodec;
+import com.financial.infrastructure.cache.codec.CacheSchema;
+import com.financial.infrastructure.cache.codec.JsonCacheCodec;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 @Configuration
 public class RedisConfig {
 
@@ -20,4 +32,36 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public RedisTemplate<byte[], byte[]> binaryRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<byte[], byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setEnableDefaultSerializer(false);
+        template.setKeySerializer(RedisSerializer.byteArray());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashKeySerializer(RedisSerializer.byteArray());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    @Bean
+    public CacheCodec cacheCodec(@Value("${app.cache.codec:binary}") String codec,
+                                 ObjectMapper objectMapper,
+                                 List<CacheSchema<?>> schemas) {
+        if ("json".equalsIgnoreCase(codec)) {
+            return new JsonCacheCodec(objectMapper);
+        }
+        return new BinaryCacheCodec(objectMapper, schemas);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            NearCache nearCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(nearCache, new ChannelTopic(nearCache.getInvalidationChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,327 @@
+package com.financial.infrastructure.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Converte linhas CSV "ticker,timestamp,open,high,low,close,volume" (ou sem a coluna ticker, quando o ticker
+// é fixo) diretamente em linhas do formato texto do COPY, byte a byte e sem criar objetos por linha.
+// Toda linha aceita aqui é garantidamente aceita pelo COPY: um único valor inválido abortaria a carga inteira.
+final class OhlcvCsvParser {
+
+    // Linhas de entrada maiores são rejeitadas; uma linha de saída nunca excede MAX_OUTPUT bytes
+    static final int MAX_LINE = 512;
+    static final int MAX_OUTPUT = MAX_LINE + 64;
+
+    private static final int MAX_TICKER = 32;
+    private static final int MAX_DIGITS = 18;
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private final byte[] fixedTicker;
+    private final int columns;
+    private final int[] fieldStart = new int[7];
+    private final int[] fieldEnd = new int[7];
+
+    OhlcvCsvParser(String fixedTicker) {
+        this.fixedTicker = fixedTicker != null ? fixedTicker.getBytes(StandardCharsets.US_ASCII) : null;
+        this.columns = fixedTicker != null ? 6 : 7;
+    }
+
+    // Cabeçalho: a primeira coluna não começa com dígito no modo de ticker fixo, ou é literalmente "ticker"
+    boolean isHeader(ByteBuffer in, int start, int end) {
+        int first = skipSpaces(in, start, end);
+        if (first < end && in.get(first) == '"') {
+            first++;
+        }
+        if (fixedTicker != null) {
+            return first < end && !isDigit(in.get(first));
+        }
+        byte[] word = {'t', 'i', 'c', 'k', 'e', 'r'};
+        if (end - first < word.length) {
+            return false;
+        }
+        for (int i = 0; i < word.length; i++) {
+            if ((in.get(first + i) | 0x20) != word[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Escreve a linha convertida em out a partir de pos; devolve a nova posição ou -1 se a linha é inválida
+    int parse(ByteBuffer in, int start, int end, byte[] out, int pos) {
+        if (end > start && in.get(end - 1) == '\r') {
+            end--;
+        }
+        if (!split(in, start, end)) {
+            return -1;
+        }
+        int field = 0;
+        if (fixedTicker != null) {
+            System.arraycopy(fixedTicker, 0, out, pos, fixedTicker.length);
+            pos += fixedTicker.length;
+        } else {
+            pos = writeTicker(in, fieldStart[0], fieldEnd[0], out, pos);
+            if (pos < 0) {
+                return -1;
+            }
+            field = 1;
+        }
+        out[pos++] = '\t';
+
+        pos = writeTimestamp(in, fieldStart[field], fieldEnd[field], out, pos);
+        if (pos < 0) {
+            return -1;
+        }
+        for (int i = field + 1; i < field + 5; i++) {
+            out[pos++] = '\t';
+            pos = writeDecimal(in, fieldStart[i], fieldEnd[i], out, pos);
+            if (pos < 0) {
+                return -1;
+            }
+        }
+        out[pos++] = '\t';
+        pos = writeInteger(in, fieldStart[field + 5], fieldEnd[field + 5], out, pos);
+        if (pos < 0) {
+            return -1;
+        }
+        out[pos++] = '\n';
+        return pos;
+    }
+
+    // Separa os campos por vírgula, removendo espaços e aspas ao redor de cada um
+    private boolean split(ByteBuffer in, int start, int end) {
+        if (end - start > MAX_LINE) {
+            return false;
+        }
+        int field = 0;
+        int fieldBegin = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || in.get(i) == ',') {
+                if (field == columns) {
+                    return false;
+                }
+                int s = skipSpaces(in, fieldBegin, i);
+                int e = i;
+                while (e > s && in.get(e - 1) == ' ') {
+                    e--;
+                }
+                if (e - s >= 2 && in.get(s) == '"' && in.get(e - 1) == '"') {
+                    s++;
+                    e--;
+                }
+                fieldStart[field] = s;
+                fieldEnd[field] = e;
+                field++;
+                fieldBegin = i + 1;
+            }
+        }
+        return field == columns;
+    }
+
+    private static int writeTicker(ByteBuffer in, int start, int end, byte[] out, int pos) {
+        int length = end - start;
+        if (length < 1 || length > MAX_TICKER) {
+            return -1;
+        }
+        for (int i = start; i < end; i++) {
+            byte b = in.get(i);
+            if (b >= 'a' && b <= 'z') {
+                b -= 32;
+            } else if (!(b >= 'A' && b <= 'Z') && !isDigit(b) && b != '.' && b != '-' && b != '_') {
+                return -1;
+            }
+            out[pos++] = b;
+        }
+        return pos;
+    }
+
+    // Aceita yyyy-MM-dd, yyyy-MM-dd[T ]HH:mm[:ss[.fração]] e epoch em segundos (até 10 dígitos) ou milissegundos
+    private static int writeTimestamp(ByteBuffer in, int start, int end, byte[] out, int pos) {
+        int length = end - start;
+        if (length > 0 && allDigits(in, start, end)) {
+            if (length > 13) {
+                return -1;
+            }
+            long value = parseLong(in, start, end);
+            return writeEpochMillis(length <= 10 ? value * 1000 : value, out, pos);
+        }
+        if (length < 10 || in.get(start + 4) != '-' || in.get(start + 7) != '-') {
+            return -1;
+        }
+        int year = digits(in, start, 4);
+        int month = digits(in, start + 5, 2);
+        int day = digits(in, start + 8, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return -1;
+        }
+        if (length > 10) {
+            byte separator = in.get(start + 10);
+            if ((separator != 'T' && separator != ' ') || length < 16 || in.get(start + 13) != ':') {
+                return -1;
+            }
+            int hour = digits(in, start + 11, 2);
+            int minute = digits(in, start + 14, 2);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                return -1;
+            }
+            int i = start + 16;
+            if (i < end) {
+                if (end - i < 3 || in.get(i) != ':') {
+                    return -1;
+                }
+                int second = digits(in, i + 1, 2);
+                if (second < 0 || second > 59) {
+                    return -1;
+                }
+                i += 3;
+                if (i < end) {
+                    // Fração de segundo: no máximo microssegundos, precisão do timestamp do PostgreSQL
+                    if (in.get(i) != '.' || end - i < 2 || end - i > 7 || !allDigits(in, i + 1, end)) {
+                        return -1;
+                    }
+                }
+            }
+        }
+        for (int i = start; i < end; i++) {
+            byte b = in.get(i);
+            out[pos++] = b == 'T' ? (byte) ' ' : b;
+        }
+        return pos;
+    }
+
+    // Data civil a partir de dias desde a época (algoritmo de Howard Hinnant), em UTC
+    private static int writeEpochMillis(long epochMillis, byte[] out, int pos) {
+        long days = Math.floorDiv(epochMillis, 86_400_000L);
+        long millisOfDay = Math.floorMod(epochMillis, 86_400_000L);
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long doe = z - era * 146_097;
+        long yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yoe + era * 400 + (month <= 2 ? 1 : 0));
+        if (year < 1 || year > 9999) {
+            return -1;
+        }
+
+        pos = writePadded(year, 4, out, pos);
+        out[pos++] = '-';
+        pos = writePadded(month, 2, out, pos);
+        out[pos++] = '-';
+        pos = writePadded(day, 2, out, pos);
+        out[pos++] = ' ';
+        pos = writePadded((int) (millisOfDay / 3_600_000), 2, out, pos);
+        out[pos++] = ':';
+        pos = writePadded((int) (millisOfDay / 60_000 % 60), 2, out, pos);
+        out[pos++] = ':';
+        pos = writePadded((int) (millisOfDay / 1000 % 60), 2, out, pos);
+        out[pos++] = '.';
+        return writePadded((int) (millisOfDay % 1000), 3, out, pos);
+    }
+
+    // -?dígitos[.dígitos], copiado sem conversão para o COPY
+    private static int writeDecimal(ByteBuffer in, int start, int end, byte[] out, int pos) {
+        int i = start;
+        if (i < end && in.get(i) == '-') {
+            i++;
+        }
+        int integerDigits = 0;
+        while (i < end && isDigit(in.get(i))) {
+            i++;
+            integerDigits++;
+        }
+        if (integerDigits == 0 || integerDigits > MAX_DIGITS) {
+            return -1;
+        }
+        if (i < end) {
+            if (in.get(i) != '.' || i + 1 == end || !allDigits(in, i + 1, end) || end - i - 1 > MAX_DIGITS) {
+                return -1;
+            }
+        }
+        for (int j = start; j < end; j++) {
+            out[pos++] = in.get(j);
+        }
+        return pos;
+    }
+
+    // Volume inteiro não negativo; uma parte fracionária só é aceita se for toda de zeros ("1200.0")
+    private static int writeInteger(ByteBuffer in, int start, int end, byte[] out, int pos) {
+        int i = start;
+        while (i < end && isDigit(in.get(i))) {
+            i++;
+        }
+        if (i == start || i - start > MAX_DIGITS) {
+            return -1;
+        }
+        if (i < end) {
+            if (in.get(i) != '.') {
+                return -1;
+            }
+            for (int j = i + 1; j < end; j++) {
+                if (in.get(j) != '0') {
+                    return -1;
+                }
+            }
+        }
+        for (int j = start; j < i; j++) {
+            out[pos++] = in.get(j);
+        }
+        return pos;
+    }
+
+    private static int writePadded(int value, int width, byte[] out, int pos) {
+        for (int i = width - 1; i >= 0; i--) {
+            out[pos + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+    // Valor dos count dígitos a partir de start, ou -1 se algum não for dígito
+    private static int digits(ByteBuffer in, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            byte b = in.get(i);
+            if (!isDigit(b)) {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static long parseLong(ByteBuffer in, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (in.get(i) - '0');
+        }
+        return value;
+    }
+
+    private static boolean allDigits(ByteBuffer in, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isDigit(in.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipSpaces(ByteBuffer in, int start, int end) {
+        while (start < end && in.get(start) == ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        boolean leap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+        return month == 2 && leap ? 29 : DAYS_IN_MONTH[month - 1];
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,342 @@
+package com.financial.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+// Carga em massa de OHLCV histórico: arquivos CSV divididos em blocos alinhados a linhas, convertidos em
+// paralelo e enviados por COPY para uma tabela de staging UNLOGGED (uma conexão por bloco). Um único
+// INSERT ... SELECT move para price_history apenas as linhas novas, descartando duplicatas de (ticker, timestamp)
+// tanto dentro dos arquivos (vence a última ocorrência na ordem arquivo/linha) quanto em relação ao que já
+// existe no banco (índice único + ON CONFLICT, seguro contra importações concorrentes e ticks ao vivo).
+@Component
+@Slf4j
+public class PriceHistoryBulkLoader {
+
+    private static final Pattern TICKER = Pattern.compile("[A-Z0-9._-]{1,32}");
+    private static final long MIN_CHUNK_SIZE = 8L * 1024 * 1024;
+    private static final long MAX_CHUNK_SIZE = 64L * 1024 * 1024;
+    private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+    private static final int MAX_REJECTED_SAMPLES = 10;
+    private static final long PROGRESS_INTERVAL_MS = 5_000;
+    // Colunas de ordem (arquivo, deslocamento) acrescentadas a cada linha do COPY
+    private static final int MAX_ORDINAL_OUTPUT = 32;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PriceHistoryPartitionManager partitionManager;
+    private final ForkJoinPool pool;
+    private final Counter stagedRows;
+    private final Counter rejectedRows;
+
+    public PriceHistoryBulkLoader(DataSource dataSource,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  PriceHistoryPartitionManager partitionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.history.import.parallelism:0}") int parallelism,
+                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionManager = partitionManager;
+        this.pool = new ForkJoinPool(parallelism(parallelism, poolSize));
+        this.stagedRows = Counter.builder("history.import.rows").tag("result", "staged").register(meterRegistry);
+        this.rejectedRows = Counter.builder("history.import.rows").tag("result", "rejected").register(meterRegistry);
+    }
+
+    // Cada bloco segura uma conexão do pool durante todo o COPY: no máximo metade do pool, para que o
+    // PriceTickWriter e as requisições HTTP continuem sendo atendidos durante uma importação
+    static int parallelism(int configured, int poolSize) {
+        int requested = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        int limit = Math.max(1, poolSize / 2);
+        if (requested > limit) {
+            log.info("History import parallelism capped at {} (connection pool size {})", limit, poolSize);
+            return limit;
+        }
+        return requested;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public record Result(long bytes, long rowsParsed, long rowsRejected, long duplicates, long rowsInserted,
+                         List<String> tickers, LocalDateTime from, LocalDateTime to, long elapsedMs,
+                         List<String> rejectedSamples) {
+    }
+
+    // Layout: ticker,timestamp,open,high,low,close,volume; com fixedTicker, os arquivos não têm a coluna ticker
+    public Result load(List<Path> files, String fixedTicker) throws IOException {
+        String ticker = fixedTicker != null && !fixedTicker.isBlank() ? fixedTicker.trim().toUpperCase() : null;
+        if (ticker != null && !TICKER.matcher(ticker).matches()) {
+            throw new IllegalArgumentException("Invalid ticker: " + fixedTicker);
+        }
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("At least one file is required");
+        }
+
+        long started = System.currentTimeMillis();
+        List<Chunk> chunks = new ArrayList<>();
+        long bytes = 0;
+        for (int i = 0; i < files.size(); i++) {
+            bytes += split(files.get(i), i, chunks);
+        }
+
+        String staging = "price_history_import_" + UUID.randomUUID().toString().replace("-", "");
+        jdbcTemplate.execute("CREATE UNLOGGED TABLE " + staging + " (ticker varchar(255) NOT NULL, " +
+                "timestamp timestamp NOT NULL, open numeric NOT NULL, high numeric NOT NULL, low numeric NOT NULL, " +
+                "close numeric NOT NULL, volume bigint NOT NULL, source int NOT NULL, position bigint NOT NULL)");
+        try {
+            Progress progress = new Progress(started);
+            List<ChunkResult> results = pool.submit(() -> chunks.parallelStream()
+                    .map(chunk -> copy(staging, chunk, ticker, progress))
+                    .toList()).join();
+
+            long parsed = 0;
+            long rejected = 0;
+            List<String> samples = new ArrayList<>();
+            for (ChunkResult result : results) {
+                parsed += result.rows();
+                rejected += result.rejected();
+                result.samples().stream().limit(MAX_REJECTED_SAMPLES - samples.size()).forEach(samples::add);
+            }
+            log.info("Staged {} rows ({} rejected) from {} files in {} ms", parsed, rejected, files.size(),
+                    System.currentTimeMillis() - started);
+
+            Merge merge = merge(staging);
+            long elapsed = System.currentTimeMillis() - started;
+            log.info("History import inserted {} rows, skipped {} duplicates, {} tickers, {} ms",
+                    merge.inserted(), parsed - merge.inserted(), merge.tickers().size(), elapsed);
+            return new Result(bytes, parsed, rejected, parsed - merge.inserted(), merge.inserted(), merge.tickers(),
+                    merge.from(), merge.to(), elapsed, samples);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + staging);
+        }
+    }
+
+    // Blocos de até MAX_CHUNK_SIZE terminando em fim de linha
+    private long split(Path file, int source, List<Chunk> chunks) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkSize = Math.max(MIN_CHUNK_SIZE,
+                    Math.min(MAX_CHUNK_SIZE, size / (pool.getParallelism() * 4L) + 1));
+            split(channel, file, source, chunkSize, chunks);
+            return size;
+        }
+    }
+
+    static void split(FileChannel channel, Path file, int source, long chunkSize, List<Chunk> chunks) throws IOException {
+        long size = channel.size();
+        ByteBuffer probe = ByteBuffer.allocate(OhlcvCsvParser.MAX_LINE + 2);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+            if (end < size) {
+                end = nextLineStart(channel, end, probe);
+            }
+            chunks.add(new Chunk(file, source, start, end));
+            start = end;
+        }
+    }
+
+    static long nextLineStart(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        long offset = position;
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, offset);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+    }
+
+    private ChunkResult copy(String staging, Chunk chunk, String fixedTicker, Progress progress) {
+        OhlcvCsvParser parser = new OhlcvCsvParser(fixedTicker);
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        List<String> samples = new ArrayList<>();
+        long rows = 0;
+        long pending = 0;
+        long rejected = 0;
+
+        try (FileChannel channel = FileChannel.open(chunk.file(), StandardOpenOption.READ);
+             Connection connection = dataSource.getConnection()) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.end() - chunk.start());
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn("COPY " + staging +
+                    " (ticker, timestamp, open, high, low, close, volume, source, position) FROM STDIN");
+            try {
+                int limit = in.limit();
+                int lineStart = 0;
+                int pos = 0;
+                while (lineStart < limit) {
+                    int lineEnd = lineStart;
+                    while (lineEnd < limit && in.get(lineEnd) != '\n') {
+                        lineEnd++;
+                    }
+                    boolean blank = lineEnd == lineStart || (lineEnd == lineStart + 1 && in.get(lineStart) == '\r');
+                    boolean header = chunk.start() == 0 && lineStart == 0 && parser.isHeader(in, lineStart, lineEnd);
+                    if (!blank && !header) {
+                        int next = parser.parse(in, lineStart, lineEnd, buffer, pos);
+                        if (next < 0) {
+                            rejected++;
+                            if (samples.size() < MAX_REJECTED_SAMPLES) {
+                                samples.add(sample(in, chunk.start(), lineStart, lineEnd));
+                            }
+                        } else {
+                            pos = writeOrdinal(chunk.source(), chunk.start() + lineStart, buffer, next);
+                            pending++;
+                        }
+                    }
+                    if (pos > COPY_BUFFER_SIZE - OhlcvCsvParser.MAX_OUTPUT - MAX_ORDINAL_OUTPUT) {
+                        copyIn.writeToCopy(buffer, 0, pos);
+                        progress.add(pending);
+                        stagedRows.increment(pending);
+                        rows += pending;
+                        pending = 0;
+                        pos = 0;
+                    }
+                    lineStart = lineEnd + 1;
+                }
+                if (pos > 0) {
+                    copyIn.writeToCopy(buffer, 0, pos);
+                }
+                copyIn.endCopy();
+            } catch (SQLException | RuntimeException e) {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY into " + staging + " failed: " + e.getMessage(), e);
+        }
+
+        progress.add(pending);
+        stagedRows.increment(pending);
+        rejectedRows.increment(rejected);
+        return new ChunkResult(rows + pending, rejected, samples);
+    }
+
+    private Merge merge(String staging) {
+        Map<String, Object> range = jdbcTemplate.queryForMap("SELECT MIN(timestamp) AS min_ts, MAX(timestamp) AS max_ts FROM " + staging);
+        if (range.get("min_ts") == null) {
+            return new Merge(0, Collections.emptyList(), null, null);
+        }
+        LocalDateTime from = ((Timestamp) range.get("min_ts")).toLocalDateTime();
+        LocalDateTime to = ((Timestamp) range.get("max_ts")).toLocalDateTime();
+        partitionManager.ensurePartitions(from, to);
+
+        long started = System.currentTimeMillis();
+        Integer inserted = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "INSERT INTO price_history (id, ticker, open, high, low, close, volume, timestamp) " +
+                "SELECT nextval('price_history_seq'), s.ticker, s.open, s.high, s.low, s.close, s.volume, s.timestamp " +
+                "FROM (SELECT DISTINCT ON (ticker, timestamp) ticker, timestamp, open, high, low, close, volume FROM " +
+                staging + " ORDER BY ticker, timestamp, source DESC, position DESC) s " +
+                "ON CONFLICT (ticker, timestamp) DO NOTHING"));
+        log.info("Merged staged rows into price_history in {} ms", System.currentTimeMillis() - started);
+
+        List<String> tickers = jdbcTemplate.queryForList("SELECT DISTINCT ticker FROM " + staging + " ORDER BY ticker", String.class);
+        partitionManager.refreshRollups(from, to);
+        return new Merge(inserted != null ? inserted : 0, tickers, from, to);
+    }
+
+    // Troca o '\n' final da linha convertida pelas colunas source e position
+    private static int writeOrdinal(int source, long position, byte[] out, int pos) {
+        pos--;
+        out[pos++] = '\t';
+        pos = writeLong(source, out, pos);
+        out[pos++] = '\t';
+        pos = writeLong(position, out, pos);
+        out[pos++] = '\n';
+        return pos;
+    }
+
+    private static int writeLong(long value, byte[] out, int pos) {
+        int length = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            length++;
+        }
+        for (int i = pos + length - 1; i >= pos; i--) {
+            out[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + length;
+    }
+
+    private static String sample(ByteBuffer in, long chunkStart, int lineStart, int lineEnd) {
+        int length = Math.min(lineEnd - lineStart, 200);
+        byte[] line = new byte[length];
+        in.get(lineStart, line);
+        return "byte " + (chunkStart + lineStart) + ": " + new String(line, StandardCharsets.UTF_8).strip();
+    }
+
+    record Chunk(Path file, int source, long start, long end) {
+    }
+
+    private record ChunkResult(long rows, long rejected, List<String> samples) {
+    }
+
+    private record Merge(long inserted, List<String> tickers, LocalDateTime from, LocalDateTime to) {
+    }
+
+    // Progresso agregado entre os blocos, registrado em log a cada PROGRESS_INTERVAL_MS
+    private static final class Progress {
+        private final long started;
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong lastReport;
+
+        Progress(long started) {
+            this.started = started;
+            this.lastReport = new AtomicLong(started);
+        }
+
+        void add(long delta) {
+            long total = rows.addAndGet(delta);
+            long now = System.currentTimeMillis();
+            long last = lastReport.get();
+            if (now - last >= PROGRESS_INTERVAL_MS && lastReport.compareAndSet(last, now)) {
+                long elapsed = Math.max(1, now - started);
+                log.info("History import progress: {} rows staged ({} rows/s)", total, total * 1000 / elapsed);
+            }
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.financial.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Modo de armazenamento particionado de price_history: partições mensais mantidas pela aplicação,
+// rollup dos ticks brutos em tabelas de candles 1m/1h/1d e retenção por DROP de partição.
+// Inicia antes do PriceTickWriter para que a migração ocorra antes de qualquer insert.
+@Component
+@Slf4j
+public class PriceHistoryPartitionManager implements SmartLifecycle {
+
+    private static final String PARENT_TABLE = "price_history";
+    private static final Pattern PARTITION_NAME = Pattern.compile("price_history_y(\\d{4})m(\\d{2})");
+    // Evita que dois nós executem a manutenção ao mesmo tempo
+    private static final String MAINTENANCE_LOCK = "SELECT pg_try_advisory_xact_lock(hashtext('price_history_maintenance'))";
+    private static final Duration ROLLUP_CHUNK = Duration.ofDays(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int rawRetentionMonths;
+    private final Duration rollupAfter;
+    private final Map<RollupResolution, LocalDateTime> watermarks = new EnumMap<>(RollupResolution.class);
+
+    private volatile boolean running;
+
+    public PriceHistoryPartitionManager(JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        @Value("${app.history.partitioning.enabled:false}") boolean enabled,
+                                        @Value("${app.history.partitioning.months-ahead:2}") int monthsAhead,
+                                        @Value("${app.history.partitioning.raw-retention-months:3}") int rawRetentionMonths,
+                                        @Value("${app.history.rollup.after:7d}") Duration rollupAfter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.rawRetentionMonths = rawRetentionMonths;
+        this.rollupAfter = rollupAfter;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Início do período ainda coberto pelos ticks brutos; antes disso só existem candles compactados
+    public Optional<LocalDateTime> rawHorizon() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.now().minusMonths(rawRetentionMonths).atDay(1).atStartOfDay());
+    }
+
+    // Candles da resolução já compactados até este instante (exclusivo)
+    public Optional<LocalDateTime> watermark(RollupResolution resolution) {
+        synchronized (watermarks) {
+            return Optional.ofNullable(watermarks.get(resolution));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled) {
+            return;
+        }
+        try {
+            migrateToPartitionedTable();
+            createRollupTables();
+            ensurePartitions();
+            loadWatermarks();
+        } catch (Exception e) {
+            log.error("Could not initialize partitioned price history storage: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 1;
+    }
+
+    @Scheduled(cron = "${app.history.partitioning.maintenance-cron:0 15 0 * * *}")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ensurePartitions();
+            loadWatermarks();
+            applyRetention();
+        } catch (Exception e) {
+            log.error("Price history partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${app.history.rollup.cron:0 */5 * * * *}")
+    public void rollup() {
+        if (!enabled) {
+            return;
+        }
+        // Outro nó pode ter avançado os watermarks
+        loadWatermarks();
+        for (RollupResolution resolution : RollupResolution.values()) {
+            try {
+                rollup(resolution);
+            } catch (Exception e) {
+                log.error("Rollup to {} failed: {}", resolution.table(), e.getMessage(), e);
+            }
+        }
+    }
+
+    // Partições para um período arbitrário, usado por cargas de histórico antigo antes do insert
+    public void ensurePartitions(LocalDateTime from, LocalDateTime to) {
+        if (!enabled) {
+            return;
+        }
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            createPartition(month);
+        }
+    }
+
+    // Ticks carregados abaixo de um watermark não seriam vistos pelo rollup incremental: recompacta o período
+    public void refreshRollups(LocalDateTime from, LocalDateTime to) {
+        if (!enabled) {
+            return;
+        }
+        for (RollupResolution resolution : RollupResolution.values()) {
+            LocalDateTime watermark = watermark(resolution).orElse(null);
+            if (watermark == null || !from.isBefore(watermark)) {
+                continue;
+            }
+            LocalDateTime end = truncate(to, resolution).plus(Duration.ofMillis(resolution.interval().millis()));
+            if (end.isAfter(watermark)) {
+                end = watermark;
+            }
+            for (LocalDateTime chunk = truncate(from, resolution); chunk.isBefore(end); chunk = chunk.plus(ROLLUP_CHUNK)) {
+                LocalDateTime chunkStart = chunk;
+                LocalDateTime chunkEnd = chunk.plus(ROLLUP_CHUNK).isBefore(end) ? chunk.plus(ROLLUP_CHUNK) : end;
+                transactionTemplate.executeWithoutResult(status -> upsertBars(resolution, chunkStart, chunkEnd));
+            }
+            log.info("Refreshed {} rollups from {} to {}", resolution.table(), from, end);
+        }
+    }
+
+    private void migrateToPartitionedTable() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.relname = ? AND pg_table_is_visible(c.oid)",
+                String.class, PARENT_TABLE);
+        if (kinds.isEmpty() || "p".equals(kinds.get(0))) {
+            return;
+        }
+
+        // Tabela comum criada pelo Hibernate: recria como particionada e copia as linhas existentes
+        log.info("Migrating {} to a monthly partitioned table", PARENT_TABLE);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE price_history RENAME TO price_history_legacy");
+            jdbcTemplate.execute("ALTER TABLE price_history_legacy RENAME CONSTRAINT price_history_pkey TO price_history_legacy_pkey");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_ticker_timestamp");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_timestamp");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS uk_price_history_ticker_timestamp");
+            jdbcTemplate.execute("CREATE TABLE price_history (LIKE price_history_legacy INCLUDING DEFAULTS, " +
+                    "PRIMARY KEY (id, timestamp)) PARTITION BY RANGE (timestamp)");
+            // Índice único em tabela particionada precisa conter a chave de partição (timestamp)
+            jdbcTemplate.execute("CREATE UNIQUE INDEX uk_price_history_ticker_timestamp ON price_history (ticker, timestamp)");
+            jdbcTemplate.execute("CREATE INDEX idx_timestamp ON price_history (timestamp)");
+
+            LocalDateTime oldest = jdbcTemplate.queryForObject(
+                    "SELECT MIN(timestamp) FROM price_history_legacy", LocalDateTime.class);
+            YearMonth month = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+            for (; !month.isAfter(YearMonth.now().plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+                createPartition(month);
+            }
+
+            // Duplicatas antigas de (ticker, timestamp) mantêm apenas a primeira linha gravada
+            jdbcTemplate.execute("INSERT INTO price_history SELECT * FROM price_history_legacy ORDER BY id " +
+                    "ON CONFLICT (ticker, timestamp) DO NOTHING");
+            jdbcTemplate.execute("DROP TABLE price_history_legacy");
+        });
+        log.info("Migration of {} to partitioned storage completed", PARENT_TABLE);
+    }
+
+    private void createRollupTables() {
+        for (RollupResolution resolution : RollupResolution.values()) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + resolution.table() + " (" +
+                    "ticker varchar(255) NOT NULL, bucket timestamp NOT NULL, open numeric NOT NULL, " +
+                    "high numeric NOT NULL, low numeric NOT NULL, close numeric NOT NULL, volume bigint NOT NULL, " +
+                    "PRIMARY KEY (ticker, bucket))");
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS price_rollup_state (" +
+                "resolution varchar(16) PRIMARY KEY, watermark timestamp NOT NULL)");
+    }
+
+    private void ensurePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF price_history FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    private void applyRetention() {
+        // Nunca descartar ticks que ainda não foram compactados em todas as resoluções
+        LocalDateTime cutoff = rawHorizon().orElseThrow();
+        for (RollupResolution resolution : RollupResolution.values()) {
+            LocalDateTime watermark = watermark(resolution).orElse(LocalDateTime.MIN);
+            if (watermark.isBefore(cutoff)) {
+                cutoff = watermark;
+            }
+        }
+
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?", String.class, PARENT_TABLE);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Dropped expired price history partition {}", partition);
+            }
+        }
+    }
+
+    private void rollup(RollupResolution resolution) {
+        LocalDateTime target = truncate(LocalDateTime.now().minus(rollupAfter), resolution);
+        LocalDateTime watermark = watermark(resolution).orElseGet(() -> oldestTick(resolution));
+        if (watermark == null) {
+            return;
+        }
+
+        // Processa em blocos de um dia para manter as transações curtas
+        while (watermark.isBefore(target)) {
+            LocalDateTime from = watermark;
+            LocalDateTime to = from.plus(ROLLUP_CHUNK).isBefore(target) ? from.plus(ROLLUP_CHUNK) : target;
+            Boolean done = transactionTemplate.execute(status -> {
+                if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(MAINTENANCE_LOCK, Boolean.class))) {
+                    return false;
+                }
+                upsertBars(resolution, from, to);
+                jdbcTemplate.update("INSERT INTO price_rollup_state (resolution, watermark) VALUES (?, ?) " +
+                        "ON CONFLICT (resolution) DO UPDATE SET watermark = GREATEST(price_rollup_state.watermark, EXCLUDED.watermark)",
+                        resolution.name(), Timestamp.valueOf(to));
+                return true;
+            });
+            if (!Boolean.TRUE.equals(done)) {
+                log.debug("Rollup to {} skipped, maintenance running on another node", resolution.table());
+                return;
+            }
+            synchronized (watermarks) {
+                watermarks.put(resolution, to);
+            }
+            watermark = to;
+        }
+    }
+
+    private void upsertBars(RollupResolution resolution, LocalDateTime from, LocalDateTime to) {
+        String bucket = "date_trunc('" + resolution.truncUnit() + "', p.timestamp)";
+        jdbcTemplate.update("INSERT INTO " + resolution.table() + " (ticker, bucket, open, high, low, close, volume) " +
+                "SELECT p.ticker, " + bucket + ", (ARRAY_AGG(p.open ORDER BY p.timestamp))[1], MAX(p.high), MIN(p.low), " +
+                "(ARRAY_AGG(p.close ORDER BY p.timestamp DESC))[1], SUM(p.volume) " +
+                "FROM price_history p WHERE p.timestamp >= ? AND p.timestamp < ? GROUP BY p.ticker, " + bucket + " " +
+                "ON CONFLICT (ticker, bucket) DO UPDATE SET open = EXCLUDED.open, high = EXCLUDED.high, " +
+                "low = EXCLUDED.low, close = EXCLUDED.close, volume = EXCLUDED.volume",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private LocalDateTime oldestTick(RollupResolution resolution) {
+        LocalDateTime oldest = jdbcTemplate.queryForObject("SELECT MIN(timestamp) FROM price_history", LocalDateTime.class);
+        return oldest != null ? truncate(oldest, resolution) : null;
+    }
+
+    private void loadWatermarks() {
+        jdbcTemplate.query("SELECT resolution, watermark FROM price_rollup_state", rs -> {
+            synchronized (watermarks) {
+                watermarks.put(RollupResolution.valueOf(rs.getString(1)), rs.getTimestamp(2).toLocalDateTime());
+            }
+        });
+    }
+
+    private static LocalDateTime truncate(LocalDateTime timestamp, RollupResolution resolution) {
+        return switch (resolution) {
+            case MINUTE -> timestamp.withSecond(0).withNano(0);
+            case HOUR -> timestamp.withMinute(0).withSecond(0).withNano(0);
+            case DAY -> timestamp.toLocalDate().atStartOfDay();
+        };
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("price_history_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
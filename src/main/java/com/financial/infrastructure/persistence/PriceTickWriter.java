@@ -0,0 +1,222 @@
+package com.financial.infrastructure.persistence;
+
+import com.financial.domain.model.Asset;
+import com.financial.domain.model.PriceHistory;
+import com.financial.infrastructure.repository.PriceHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Write-behind dos ticks: linhas de price_history e preços dos ativos ficam em buffer e são gravadas
+// em lotes JDBC quando o lote enche ou o intervalo de flush expira. A janela de perda em caso de queda
+// abrupta é limitada ao conteúdo do buffer (no máximo flush-interval de ticks); no shutdown tudo é gravado.
+@Component
+@Slf4j
+public class PriceTickWriter implements SmartLifecycle {
+
+    private static final String UPDATE_ASSET_PRICE =
+            "UPDATE assets SET current_price = ?, previous_close = ?, last_updated = ? WHERE id = ?";
+    // Ids de price_history vêm de uma sequence com alocação em blocos; alinha a sequence com ids antigos
+    private static final String ALIGN_SEQUENCE = "SELECT setval('price_history_seq', GREATEST(" +
+            "(SELECT COALESCE(MAX(id), 0) FROM price_history), (SELECT last_value FROM price_history_seq)))";
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final BlockingQueue<PriceHistory> ticks;
+    private final Map<Long, PriceUpdate> priceUpdates = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter dropped;
+    private final Counter flushFailures;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public PriceTickWriter(PriceHistoryRepository priceHistoryRepository,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.ticks.batch-size:500}") int batchSize,
+                           @Value("${app.ticks.flush-interval:1s}") Duration flushInterval,
+                           @Value("${app.ticks.buffer-capacity:50000}") int bufferCapacity,
+                           @Value("${app.ticks.offer-timeout:100ms}") Duration offerTimeout) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.ticks = new ArrayBlockingQueue<>(bufferCapacity);
+        this.flushTimer = Timer.builder("ticks.flush.latency").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("ticks.flush.batch.size").register(meterRegistry);
+        this.dropped = Counter.builder("ticks.dropped").register(meterRegistry);
+        this.flushFailures = Counter.builder("ticks.flush.failures").register(meterRegistry);
+        Gauge.builder("ticks.buffer.size", ticks, BlockingQueue::size).register(meterRegistry);
+    }
+
+    // Bloqueia o produtor por até offer-timeout quando o buffer está cheio (back-pressure);
+    // se o flusher não liberar espaço a tempo, o tick é descartado e contabilizado
+    public boolean submit(Asset asset, PriceHistory tick) {
+        priceUpdates.put(asset.getId(), new PriceUpdate(asset.getCurrentPrice(), asset.getPreviousClose(),
+                asset.getLastUpdated()));
+        try {
+            if (ticks.offer(tick, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.increment();
+        log.warn("Tick buffer full, dropping tick for {}", tick.getTicker());
+        return false;
+    }
+
+    // Aplica preços ainda não gravados a ativos lidos do banco, para que o próximo tick parta do último preço
+    public void applyPending(List<Asset> assets) {
+        for (Asset asset : assets) {
+            PriceUpdate pending = priceUpdates.get(asset.getId());
+            if (pending != null && !pending.lastUpdated().isBefore(asset.getLastUpdated())) {
+                asset.setCurrentPrice(pending.currentPrice());
+                asset.setPreviousClose(pending.previousClose());
+                asset.setLastUpdated(pending.lastUpdated());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            jdbcTemplate.execute(ALIGN_SEQUENCE);
+        } catch (Exception e) {
+            log.warn("Could not align price_history_seq with existing rows: {}", e.getMessage());
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "tick-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Grava o que restou no buffer antes de encerrar
+        while (!ticks.isEmpty() || !priceUpdates.isEmpty()) {
+            if (!flush(drain(Integer.MAX_VALUE))) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runFlusher() {
+        List<PriceHistory> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // Flush quando o lote enche ou quando o intervalo expira, o que vier primeiro
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PriceHistory tick = ticks.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (tick == null) {
+                        break;
+                    }
+                    batch.add(tick);
+                    ticks.drainTo(batch, batchSize - batch.size());
+                }
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+            } catch (InterruptedException e) {
+                // stop() interrompe a espera; o que estiver no lote volta para o flush final
+                batch.forEach(ticks::offer);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    private List<PriceHistory> drain(int max) {
+        List<PriceHistory> batch = new ArrayList<>();
+        ticks.drainTo(batch, max);
+        return batch;
+    }
+
+    private boolean flush(List<PriceHistory> batch) {
+        Map<Long, PriceUpdate> pending = new HashMap<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Long id : List.copyOf(priceUpdates.keySet())) {
+            PriceUpdate update = priceUpdates.remove(id);
+            if (update != null) {
+                pending.put(id, update);
+                updates.add(new Object[]{update.currentPrice(), update.previousClose(),
+                        Timestamp.valueOf(update.lastUpdated()), id});
+            }
+        }
+        if (batch.isEmpty() && updates.isEmpty()) {
+            return true;
+        }
+
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                priceHistoryRepository.saveAll(batch);
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_ASSET_PRICE, updates);
+                }
+            });
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.size());
+            log.debug("Flushed {} ticks and {} asset prices", batch.size(), updates.size());
+            return true;
+        } catch (Exception e) {
+            // Os ticks do lote com falha são descartados (perda limitada ao lote e visível na métrica);
+            // os preços voltam ao buffer, a menos que um tick mais novo já os tenha substituído
+            pending.forEach(priceUpdates::putIfAbsent);
+            flushFailures.increment();
+            dropped.increment(batch.size());
+            log.error("Failed to flush {} ticks: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private record PriceUpdate(BigDecimal currentPrice, BigDecimal previousClose, LocalDateTime lastUpdated) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.financial.infrastructure.persistence;
+
+import com.financial.domain.indicator.BarInterval;
+
+// Resoluções compactadas a partir dos ticks brutos, da mais fina para a mais grossa
+public enum RollupResolution {
+    MINUTE(BarInterval.M1, "price_bars_1m", "minute"),
+    HOUR(BarInterval.H1, "price_bars_1h", "hour"),
+    DAY(BarInterval.D1, "price_bars_1d", "day");
+
+    private final BarInterval interval;
+    private final String table;
+    private final String truncUnit;
+
+    RollupResolution(BarInterval interval, String table, String truncUnit) {
+        this.interval = interval;
+        this.table = table;
+        this.truncUnit = truncUnit;
+    }
+
+    public BarInterval interval() {
+        return interval;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public String truncUnit() {
+        return truncUnit;
+    }
+}
@@ -0,0 +1,495 @@
+package com.financial.infrastructure.persistence;
+
+import com.financial.domain.model.Transaction;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Write-ahead log local das transações aceitas em modo assíncrono. Um único thread grava os registros
+// pendentes de vários requisitantes e faz um fsync por grupo (group commit); o requisitante só recebe
+// a confirmação depois do fsync. Os registros ficam na fila de drenagem até que o drenador confirme a
+// gravação no banco e avance o checkpoint; na inicialização, tudo após o checkpoint é reaplicado.
+// Registro: [tamanho int][crc32 int][payload], payload com sequência, referência e campos da transação.
+@Component
+@ConditionalOnProperty(name = "app.transactions.wal.enabled", havingValue = "true")
+@Slf4j
+public class TransactionWal implements SmartLifecycle {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final String DEAD_LETTERS = "dead-letters.log";
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+    private static final int MAX_RECORD = 64 * 1024;
+
+    // Registro durável ainda não aplicado ao banco
+    public record Entry(long sequence, Transaction transaction) {
+    }
+
+    private record Pending(Transaction transaction, CompletableFuture<Long> durable) {
+    }
+
+    private record Segment(Path path, long firstSequence) {
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxGroupSize;
+    private final Duration appendTimeout;
+    private final BlockingQueue<Pending> pending;
+    private final Deque<Entry> undrained = new ConcurrentLinkedDeque<>();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Timer fsyncTimer;
+    private final DistributionSummary groupSizes;
+
+    private volatile boolean running;
+    private volatile long checkpoint;
+    private volatile long lastSequence;
+    private FileChannel active;
+    private Thread writer;
+
+    public TransactionWal(MeterRegistry meterRegistry,
+                          @Value("${app.transactions.wal.directory:data/transactions-wal}") String directory,
+                          @Value("${app.transactions.wal.segment-bytes:67108864}") long segmentBytes,
+                          @Value("${app.transactions.wal.max-group-size:1000}") int maxGroupSize,
+                          @Value("${app.transactions.wal.queue-capacity:10000}") int queueCapacity,
+                          @Value("${app.transactions.wal.append-timeout:5s}") Duration appendTimeout) {
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.maxGroupSize = maxGroupSize;
+        this.appendTimeout = appendTimeout;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.fsyncTimer = Timer.builder("transactions.wal.fsync.latency").register(meterRegistry);
+        this.groupSizes = DistributionSummary.builder("transactions.wal.group.size").register(meterRegistry);
+        Gauge.builder("transactions.wal.depth", this, TransactionWal::depth).register(meterRegistry);
+        Gauge.builder("transactions.wal.drain.lag", this, wal -> wal.drainLag().toMillis())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    // Bloqueia até o registro estar em disco; devolve a sequência atribuída
+    public long append(Transaction transaction) {
+        if (!running) {
+            throw new IllegalStateException("Transaction log is not running");
+        }
+        Pending request = new Pending(transaction, new CompletableFuture<>());
+        try {
+            if (!pending.offer(request, appendTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Transaction log is saturated");
+            }
+            return request.durable().get(appendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while appending to the transaction log", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not append to the transaction log: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for the transaction log", e);
+        }
+    }
+
+    // Próximos registros a aplicar, em ordem de sequência, sem removê-los da fila
+    public List<Entry> peek(int max) {
+        List<Entry> entries = new ArrayList<>(Math.min(max, 1024));
+        for (Entry entry : undrained) {
+            if (entries.size() >= max) {
+                break;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    // Registros até a sequência informada foram aplicados ao banco: persiste o checkpoint e libera segmentos
+    public synchronized void checkpoint(long sequence) {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        try {
+            Path temporary = directory.resolve(CHECKPOINT + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+                channel.force(true);
+            }
+            Files.move(temporary, directory.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not persist transaction log checkpoint", e);
+        }
+        checkpoint = sequence;
+        while (!undrained.isEmpty() && undrained.peekFirst().sequence() <= sequence) {
+            undrained.pollFirst();
+        }
+        deleteObsoleteSegments();
+    }
+
+    // Registro recusado pelo banco (restrição violada): já foi confirmado ao cliente, então vai com fsync para
+    // um arquivo à parte, no mesmo formato, antes que o checkpoint passe por ele. Nunca é descartado
+    public synchronized void deadLetter(Entry entry) {
+        Path file = directory.resolve(DEAD_LETTERS);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Uma gravação interrompida anterior deixaria lixo entre os registros
+            long valid = validLength(file);
+            channel.truncate(valid);
+            channel.position(valid);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+            writeRecord(buffer, encode(entry));
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write transaction log dead letter", e);
+        }
+    }
+
+    // Conteúdo do arquivo de dead letters, para análise e reprocessamento manual
+    public synchronized List<Entry> deadLetters() {
+        Path file = directory.resolve(DEAD_LETTERS);
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return entries;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            byte[] payload;
+            while ((payload = readRecord(in)) != null) {
+                entries.add(decode(payload));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read transaction log dead letters", e);
+        }
+        return entries;
+    }
+
+    public long depth() {
+        return Math.max(0, lastSequence - checkpoint);
+    }
+
+    // Idade do registro mais antigo ainda não aplicado ao banco
+    public Duration drainLag() {
+        Entry oldest = undrained.peekFirst();
+        if (oldest == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(oldest.transaction().getTimestamp(), LocalDateTime.now());
+    }
+
+    @Override
+    public void start() {
+        try {
+            Files.createDirectories(directory);
+            recover();
+            openSegment(lastSequence + 1);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open transaction log at " + directory, e);
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "transaction-wal");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Transaction log started at {}, {} entries pending replay", directory, undrained.size());
+    }
+
+    // Para depois do drenador: novas transações deixam de ser aceitas e os pedidos já enfileirados são gravados
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<Pending> remaining = new ArrayList<>();
+        pending.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeGroup(remaining);
+        }
+        try {
+            synchronized (this) {
+                if (active != null) {
+                    active.close();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not close transaction log segment: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 1;
+    }
+
+    private void runWriter() {
+        List<Pending> group = new ArrayList<>(maxGroupSize);
+        while (running) {
+            try {
+                Pending first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Tudo o que chegou enquanto o fsync anterior rodava entra no mesmo grupo
+                group.add(first);
+                pending.drainTo(group, maxGroupSize - 1);
+                writeGroup(group);
+                group = new ArrayList<>(maxGroupSize);
+            } catch (InterruptedException e) {
+                group.forEach(request -> pending.offer(request));
+                group = new ArrayList<>(maxGroupSize);
+            }
+        }
+    }
+
+    private synchronized void writeGroup(List<Pending> group) {
+        long start = System.nanoTime();
+        long sequence = lastSequence;
+        List<Entry> entries = new ArrayList<>(group.size());
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(group.size() * 256);
+            for (Pending request : group) {
+                Entry entry = new Entry(++sequence, request.transaction());
+                writeRecord(buffer, encode(entry));
+                entries.add(entry);
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                active.write(bytes);
+            }
+            active.force(false);
+        } catch (IOException | RuntimeException e) {
+            log.error("Transaction log write failed: {}", e.getMessage(), e);
+            truncateActive();
+            group.forEach(request -> request.durable().completeExceptionally(e));
+            return;
+        }
+
+        lastSequence = sequence;
+        undrained.addAll(entries);
+        fsyncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        groupSizes.record(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).durable().complete(entries.get(i).sequence());
+        }
+        rotateIfNeeded();
+    }
+
+    // Escrita parcial: volta o segmento ao fim do último grupo confirmado
+    private void truncateActive() {
+        try {
+            long size = active.size();
+            long valid = validLength(segments.peekLast().path());
+            if (valid < size) {
+                active.truncate(valid);
+                active.position(valid);
+            }
+        } catch (IOException e) {
+            log.error("Could not truncate transaction log segment: {}", e.getMessage());
+        }
+    }
+
+    private void rotateIfNeeded() {
+        try {
+            if (active.size() >= segmentBytes) {
+                active.close();
+                openSegment(lastSequence + 1);
+            }
+        } catch (IOException e) {
+            log.error("Could not rotate transaction log segment: {}", e.getMessage(), e);
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        active = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        active.position(active.size());
+        if (segments.isEmpty() || !segments.peekLast().path().equals(path)) {
+            segments.addLast(new Segment(path, firstSequence));
+        }
+    }
+
+    // Segmentos cujos registros estão todos até o checkpoint não são mais necessários
+    private void deleteObsoleteSegments() {
+        while (segments.size() > 1) {
+            Iterator<Segment> iterator = segments.iterator();
+            iterator.next();
+            if (iterator.next().firstSequence() - 1 > checkpoint) {
+                return;
+            }
+            Segment obsolete = segments.pollFirst();
+            try {
+                Files.deleteIfExists(obsolete.path());
+            } catch (IOException e) {
+                log.warn("Could not delete transaction log segment {}: {}", obsolete.path(), e.getMessage());
+            }
+        }
+    }
+
+    // Lê o checkpoint e reabre os registros posteriores; o último segmento é truncado no último registro íntegro
+    private void recover() throws IOException {
+        Path checkpointFile = directory.resolve(CHECKPOINT);
+        if (Files.exists(checkpointFile)) {
+            checkpoint = ByteBuffer.wrap(Files.readAllBytes(checkpointFile)).getLong();
+        }
+        lastSequence = checkpoint;
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long firstSequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            segments.addLast(new Segment(file, firstSequence));
+
+            long valid = 0;
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                while (true) {
+                    byte[] payload = readRecord(in);
+                    if (payload == null) {
+                        break;
+                    }
+                    Entry entry = decode(payload);
+                    valid += RECORD_HEADER + payload.length;
+                    lastSequence = Math.max(lastSequence, entry.sequence());
+                    if (entry.sequence() > checkpoint) {
+                        undrained.addLast(entry);
+                    }
+                }
+            }
+            if (valid < Files.size(file)) {
+                log.warn("Truncating torn tail of transaction log segment {} at byte {}", file, valid);
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                    channel.force(true);
+                }
+            }
+        }
+        deleteObsoleteSegments();
+    }
+
+    private static long validLength(Path file) throws IOException {
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            byte[] payload;
+            while ((payload = readRecord(in)) != null) {
+                valid += RECORD_HEADER + payload.length;
+            }
+        }
+        return valid;
+    }
+
+    private static void writeRecord(ByteArrayOutputStream buffer, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeInt(payload.length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+    }
+
+    // Registro completo e íntegro, ou null no fim do arquivo ou em uma escrita interrompida
+    private static byte[] readRecord(DataInputStream in) throws IOException {
+        byte[] header = in.readNBytes(RECORD_HEADER);
+        if (header.length < RECORD_HEADER) {
+            return null;
+        }
+        ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+        int length = headerBuffer.getInt();
+        int checksum = headerBuffer.getInt();
+        if (length <= 0 || length > MAX_RECORD) {
+            return null;
+        }
+        byte[] payload = in.readNBytes(length);
+        if (payload.length < length) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == checksum ? payload : null;
+    }
+
+    private static byte[] encode(Entry entry) throws IOException {
+        Transaction transaction = entry.transaction();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(192);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(entry.sequence());
+        out.writeUTF(transaction.getReference());
+        out.writeUTF(transaction.getUserId());
+        out.writeUTF(transaction.getTicker());
+        out.writeUTF(transaction.getType().name());
+        out.writeUTF(transaction.getQuantity().toPlainString());
+        out.writeUTF(transaction.getPrice().toPlainString());
+        out.writeUTF(transaction.getTotalValue().toPlainString());
+        LocalDateTime timestamp = transaction.getTimestamp();
+        out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(timestamp.getNano());
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long sequence = in.readLong();
+        Transaction transaction = Transaction.builder()
+                .reference(in.readUTF())
+                .userId(in.readUTF())
+                .ticker(in.readUTF())
+                .type(Transaction.TransactionType.valueOf(in.readUTF()))
+                .quantity(new BigDecimal(in.readUTF()))
+                .price(new BigDecimal(in.readUTF()))
+                .totalValue(new BigDecimal(in.readUTF()))
+                .timestamp(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC))
+                .build();
+        return new Entry(sequence, transaction);
+    }
+}
@@ -5,12 +5,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AssetRepository extends JpaRepository<Asset, Long> {
     Optional<Asset> findByTicker(String ticker);
+    List<Asset> findByTickerIn(Collection<String> tickers);
     List<Asset> findByActiveTrue();
     
     @Query("SELECT a FROM Asset a WHERE a.category = :category AND a.active = true")
@@ -0,0 +1,43 @@
+package com.financial.infrastructure.repository;
+
+import com.financial.domain.model.PriceHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "app.tickstore.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaPriceHistoryStore implements PriceHistoryStore {
+
+    private final PriceHistoryRepository priceHistoryRepository;
+
+    @Override
+    public void append(PriceHistory tick) {
+        // Nada a fazer: o tick chega ao banco pelo PriceTickWriter
+    }
+
+    @Override
+    public void reload(Collection<String> tickers) {
+        // Leituras já vão direto ao banco
+    }
+
+    @Override
+    public List<PriceHistory> findLatestByTicker(String ticker, int limit) {
+        return priceHistoryRepository.findLatestByTicker(ticker, limit);
+    }
+
+    @Override
+    public List<PriceHistory> findLatestByTickers(Collection<String> tickers, int limit) {
+        return priceHistoryRepository.findLatestByTickers(tickers, limit);
+    }
+
+    @Override
+    public void scanSince(Collection<String> tickers, LocalDateTime from, PriceRowHandler handler) {
+        priceHistoryRepository.scanSince(tickers, from, handler);
+    }
+}
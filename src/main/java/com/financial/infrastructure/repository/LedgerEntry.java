@@ -0,0 +1,12 @@
+package com.financial.infrastructure.repository;
+
+import com.financial.domain.model.Transaction;
+
+import java.math.BigDecimal;
+
+// Projeção do livro de transações usada na reconstrução das posições: não entra no contexto de persistência
+public record LedgerEntry(String ticker,
+                          Transaction.TransactionType type,
+                          BigDecimal quantity,
+                          BigDecimal totalValue) {
+}
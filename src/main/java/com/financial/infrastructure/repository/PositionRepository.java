@@ -0,0 +1,13 @@
+package com.financial.infrastructure.repository;
+
+import com.financial.domain.model.Position;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PositionRepository extends JpaRepository<Position, Position.Key> {
+
+    List<Position> findByUserIdOrderByTickerAsc(String userId);
+}
@@ -0,0 +1,37 @@
+package com.financial.infrastructure.repository;
+
+import java.math.BigDecimal;
+
+public record PriceBar(Long bucket, BigDecimal open, BigDecimal high, BigDecimal low, BigDecimal close, Long volume)
+        implements PriceBarView {
+
+    @Override
+    public Long getBucket() {
+        return bucket;
+    }
+
+    @Override
+    public BigDecimal getOpen() {
+        return open;
+    }
+
+    @Override
+    public BigDecimal getHigh() {
+        return high;
+    }
+
+    @Override
+    public BigDecimal getLow() {
+        return low;
+    }
+
+    @Override
+    public BigDecimal getClose() {
+        return close;
+    }
+
+    @Override
+    public Long getVolume() {
+        return volume;
+    }
+}
@@ -0,0 +1,18 @@
+package com.financial.infrastructure.repository;
+
+import java.math.BigDecimal;
+
+// Projeção de um candle (bruto ou agregado); bucket é o início do candle em epoch millis (UTC)
+public interface PriceBarView {
+    Long getBucket();
+
+    BigDecimal getOpen();
+
+    BigDecimal getHigh();
+
+    BigDecimal getLow();
+
+    BigDecimal getClose();
+
+    Long getVolume();
+}
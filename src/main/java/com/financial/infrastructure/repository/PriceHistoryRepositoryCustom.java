@@ -0,0 +1,41 @@
+package com.financial.infrastructure.repository;
+
+import com.financial.domain.indicator.BarInterval;
+import com.financial.domain.model.PriceHistory;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Consultas que escolhem a tabela de origem (ticks brutos ou candles compactados) conforme o período.
+// Abaixo do horizonte de retenção os ticks brutos já foram descartados e o histórico vem dos candles de 1 minuto
+public interface PriceHistoryRepositoryCustom {
+
+    // Últimos N ticks, mais recente primeiro; completado com candles de 1 minuto quando os ticks retidos não bastam
+    List<PriceHistory> findLatestByTicker(String ticker, int limit);
+
+    // Últimos N ticks de cada ticker: por ticker e, dentro do ticker, mais recente primeiro
+    List<PriceHistory> findLatestByTickers(Collection<String> tickers, int limit);
+
+    // Ticks a partir de from, agrupados por ticker e em ordem cronológica, lidos por cursor (fetch size)
+    void scanSince(Collection<String> tickers, LocalDateTime from, PriceRowHandler handler);
+
+    // Linhas do período, mais recente primeiro, por cursor JDBC: precisa de uma transação aberta pelo chamador
+    Stream<PriceBarView> streamBars(String ticker, LocalDateTime from, LocalDateTime to);
+
+    // Leituras tick a tick: IllegalArgumentException se o período começa antes dos ticks brutos retidos
+    List<PricePoint> findPointsSince(String ticker, LocalDateTime from);
+
+    // Paginação por keyset: (timestamp, id) da última linha da página anterior, em ordem decrescente
+    List<PricePoint> findPointsPage(String ticker, LocalDateTime from, int limit);
+
+    List<PricePoint> findPointsPageAfter(String ticker, LocalDateTime from, LocalDateTime cursorTimestamp,
+                                         Long cursorId, int limit);
+
+    List<PriceBarView> findBars(String ticker, LocalDateTime from, LocalDateTime to, BarInterval interval);
+
+    // Intervalo a usar quando o período pedido começa antes dos ticks brutos retidos; vazio se os ticks cobrem o período
+    Optional<BarInterval> resolutionFor(LocalDateTime from, LocalDateTime to);
+}
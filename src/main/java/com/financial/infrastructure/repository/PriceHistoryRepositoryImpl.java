@@ -0,0 +1,312 @@
+package com.financial.infrastructure.repository;
+
+import com.financial.domain.indicator.BarInterval;
+import com.financial.domain.model.PriceHistory;
+import com.financial.infrastructure.persistence.PriceHistoryPartitionManager;
+import com.financial.infrastructure.persistence.RollupResolution;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+public class PriceHistoryRepositoryImpl implements PriceHistoryRepositoryCustom {
+
+    private static final int MAX_AUTO_BARS = 5000;
+    private static final int SCAN_FETCH_SIZE = 5000;
+    // Agregação OHLCV no banco: primeiro open, maior high, menor low, último close e volume somado
+    private static final String AGGREGATE = "SELECT CAST(FLOOR((EXTRACT(EPOCH FROM s.ts) * 1000 - ?) / ?) * ? + ? AS bigint) AS bucket, " +
+            "(ARRAY_AGG(s.open ORDER BY s.ts))[1] AS open, MAX(s.high) AS high, MIN(s.low) AS low, " +
+            "(ARRAY_AGG(s.close ORDER BY s.ts DESC))[1] AS close, CAST(SUM(s.volume) AS bigint) AS volume FROM (%s) s " +
+            "GROUP BY 1 ORDER BY 1 DESC";
+    private static final String RAW_SOURCE = "SELECT p.timestamp AS ts, p.open, p.high, p.low, p.close, p.volume " +
+            "FROM price_history p WHERE p.ticker = ? AND p.timestamp >= ? AND p.timestamp <= ?";
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final LocalDateTime RAW_FLOOR = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // Abaixo do horizonte de retenção o histórico só existe na resolução compactada mais fina
+    private static final String ROLLUP_TABLE = RollupResolution.MINUTE.table();
+    private static final String TICK_COLUMNS = "p.id, p.ticker, p.open, p.high, p.low, p.close, p.volume, p.timestamp";
+    private static final String ROLLUP_TICK_COLUMNS = "b.ticker, b.open, b.high, b.low, b.close, b.volume, b.bucket AS timestamp";
+    private static final String LATEST_BY_TICKER = "SELECT " + TICK_COLUMNS + " FROM price_history p " +
+            "WHERE p.ticker = ? AND p.timestamp >= ? ORDER BY p.timestamp DESC LIMIT ?";
+    private static final String ROLLUP_LATEST_BY_TICKER = "SELECT " + ROLLUP_TICK_COLUMNS + " FROM " + ROLLUP_TABLE + " b " +
+            "WHERE b.ticker = ? AND b.bucket < ? ORDER BY b.bucket DESC LIMIT ?";
+    // Uma leitura de faixa no idx_ticker_timestamp por ticker, em vez de numerar todo o histórico dos tickers
+    private static final String LATEST_BY_TICKERS = "SELECT " + TICK_COLUMNS + " " +
+            "FROM unnest(?::varchar[]) AS t(ticker) CROSS JOIN LATERAL (" +
+            "SELECT h.* FROM price_history h WHERE h.ticker = t.ticker AND h.timestamp >= ? ORDER BY h.timestamp DESC LIMIT ?) p " +
+            "ORDER BY p.ticker, p.timestamp DESC";
+    // Completa cada ticker com a quantidade que faltou nos ticks brutos
+    private static final String ROLLUP_LATEST_BY_TICKERS = "SELECT " + ROLLUP_TICK_COLUMNS + " " +
+            "FROM unnest(?::varchar[], ?::int[]) AS t(ticker, remaining) CROSS JOIN LATERAL (" +
+            "SELECT r.* FROM " + ROLLUP_TABLE + " r WHERE r.ticker = t.ticker AND r.bucket < ? " +
+            "ORDER BY r.bucket DESC LIMIT t.remaining) b ORDER BY b.ticker, b.bucket DESC";
+    private static final String SCAN_RAW = "SELECT p.ticker, CAST(EXTRACT(EPOCH FROM p.timestamp) * 1000 AS bigint) AS ts, " +
+            "p.open, p.high, p.low, p.close, p.volume FROM price_history p " +
+            "WHERE p.ticker = ANY(?::varchar[]) AND p.timestamp >= ?";
+    private static final String SCAN_ROLLUP = "SELECT b.ticker, CAST(EXTRACT(EPOCH FROM b.bucket) * 1000 AS bigint) AS ts, " +
+            "b.open, b.high, b.low, b.close, b.volume FROM " + ROLLUP_TABLE + " b " +
+            "WHERE b.ticker = ANY(?::varchar[]) AND b.bucket >= ? AND b.bucket < ?";
+    private static final String STREAM_RAW = "SELECT CAST(EXTRACT(EPOCH FROM p.timestamp) * 1000 AS bigint) AS bucket, " +
+            "p.open, p.high, p.low, p.close, p.volume FROM price_history p " +
+            "WHERE p.ticker = ? AND p.timestamp >= ? AND p.timestamp <= ?";
+    private static final String STREAM_ROLLUP = "SELECT CAST(EXTRACT(EPOCH FROM b.bucket) * 1000 AS bigint) AS bucket, " +
+            "b.open, b.high, b.low, b.close, b.volume FROM " + ROLLUP_TABLE + " b " +
+            "WHERE b.ticker = ? AND b.bucket >= ? AND b.bucket < ? AND b.bucket <= ?";
+    private static final String POINTS = "SELECT p.id, p.ticker, p.timestamp, p.open, p.high, p.low, p.close, p.volume " +
+            "FROM price_history p WHERE p.ticker = ? AND p.timestamp >= ? ";
+    private static final String POINTS_ORDER = "ORDER BY p.timestamp DESC, p.id DESC";
+    private static final RowMapper<PriceHistory> TICK_MAPPER = (rs, rowNum) -> PriceHistory.builder()
+            .id(rs.getLong("id"))
+            .ticker(rs.getString("ticker"))
+            .open(rs.getBigDecimal("open"))
+            .high(rs.getBigDecimal("high"))
+            .low(rs.getBigDecimal("low"))
+            .close(rs.getBigDecimal("close"))
+            .volume(rs.getLong("volume"))
+            .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+            .build();
+    // Candle compactado no formato de tick: sem id, com o início do bucket como timestamp
+    private static final RowMapper<PriceHistory> ROLLUP_TICK_MAPPER = (rs, rowNum) -> PriceHistory.builder()
+            .ticker(rs.getString("ticker"))
+            .open(rs.getBigDecimal("open"))
+            .high(rs.getBigDecimal("high"))
+            .low(rs.getBigDecimal("low"))
+            .close(rs.getBigDecimal("close"))
+            .volume(rs.getLong("volume"))
+            .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+            .build();
+    private static final RowMapper<PricePoint> POINT_MAPPER = (rs, rowNum) -> new PricePoint(rs.getLong("id"),
+            rs.getString("ticker"), rs.getTimestamp("timestamp").toLocalDateTime(), rs.getBigDecimal("open"),
+            rs.getBigDecimal("high"), rs.getBigDecimal("low"), rs.getBigDecimal("close"), rs.getLong("volume"));
+    private static final RowMapper<PriceBarView> BAR_MAPPER = (rs, rowNum) -> new PriceBar(rs.getLong("bucket"),
+            rs.getBigDecimal("open"), rs.getBigDecimal("high"), rs.getBigDecimal("low"),
+            rs.getBigDecimal("close"), rs.getLong("volume"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PriceHistoryPartitionManager partitionManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PriceHistoryRepositoryImpl(JdbcTemplate jdbcTemplate, PriceHistoryPartitionManager partitionManager,
+                                      TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionManager = partitionManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<PriceHistory> findLatestByTicker(String ticker, int limit) {
+        Optional<LocalDateTime> split = rawSplit();
+        List<PriceHistory> latest = new ArrayList<>(jdbcTemplate.query(LATEST_BY_TICKER, TICK_MAPPER,
+                ticker, Timestamp.valueOf(split.orElse(RAW_FLOOR)), limit));
+        if (latest.size() < limit && split.isPresent()) {
+            latest.addAll(jdbcTemplate.query(ROLLUP_LATEST_BY_TICKER, ROLLUP_TICK_MAPPER,
+                    ticker, Timestamp.valueOf(split.get()), limit - latest.size()));
+        }
+        return latest;
+    }
+
+    @Override
+    public List<PriceHistory> findLatestByTickers(Collection<String> tickers, int limit) {
+        if (tickers.isEmpty()) {
+            return List.of();
+        }
+        Object[] distinct = new LinkedHashSet<>(tickers).toArray();
+        Optional<LocalDateTime> split = rawSplit();
+        List<PriceHistory> raw = jdbcTemplate.query(LATEST_BY_TICKERS, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar", distinct));
+            ps.setTimestamp(2, Timestamp.valueOf(split.orElse(RAW_FLOOR)));
+            ps.setInt(3, limit);
+        }, TICK_MAPPER);
+        if (split.isEmpty()) {
+            return raw;
+        }
+
+        Map<String, List<PriceHistory>> byTicker = new TreeMap<>();
+        for (Object ticker : distinct) {
+            byTicker.put((String) ticker, new ArrayList<>());
+        }
+        raw.forEach(row -> byTicker.get(row.getTicker()).add(row));
+        List<String> shortTickers = new ArrayList<>();
+        List<Integer> remaining = new ArrayList<>();
+        byTicker.forEach((ticker, rows) -> {
+            if (rows.size() < limit) {
+                shortTickers.add(ticker);
+                remaining.add(limit - rows.size());
+            }
+        });
+        if (shortTickers.isEmpty()) {
+            return raw;
+        }
+
+        jdbcTemplate.query(ROLLUP_LATEST_BY_TICKERS, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar", shortTickers.toArray()));
+            ps.setArray(2, ps.getConnection().createArrayOf("integer", remaining.toArray()));
+            ps.setTimestamp(3, Timestamp.valueOf(split.get()));
+        }, ROLLUP_TICK_MAPPER).forEach(row -> byTicker.get(row.getTicker()).add(row));
+        return byTicker.values().stream().flatMap(List::stream).toList();
+    }
+
+    @Override
+    public void scanSince(Collection<String> tickers, LocalDateTime from, PriceRowHandler handler) {
+        if (tickers.isEmpty()) {
+            return;
+        }
+        Object[] distinct = new LinkedHashSet<>(tickers).toArray();
+        Optional<LocalDateTime> split = rawSplit().filter(from::isBefore);
+        RowCallbackHandler rows = rs -> handler.accept(rs.getString(1), rs.getLong(2), rs.getDouble(3),
+                rs.getDouble(4), rs.getDouble(5), rs.getDouble(6), rs.getLong(7));
+        // O cursor do PostgreSQL só é usado dentro de uma transação
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps;
+            if (split.isEmpty()) {
+                ps = connection.prepareStatement(SCAN_RAW + " ORDER BY 1, 2");
+                ps.setArray(1, connection.createArrayOf("varchar", distinct));
+                ps.setTimestamp(2, Timestamp.valueOf(from));
+            } else {
+                ps = connection.prepareStatement(SCAN_ROLLUP + " UNION ALL " + SCAN_RAW + " ORDER BY 1, 2");
+                ps.setArray(1, connection.createArrayOf("varchar", distinct));
+                ps.setTimestamp(2, Timestamp.valueOf(from));
+                ps.setTimestamp(3, Timestamp.valueOf(split.get()));
+                ps.setArray(4, connection.createArrayOf("varchar", distinct));
+                ps.setTimestamp(5, Timestamp.valueOf(split.get()));
+            }
+            ps.setFetchSize(SCAN_FETCH_SIZE);
+            return ps;
+        }, rows));
+    }
+
+    @Override
+    public Stream<PriceBarView> streamBars(String ticker, LocalDateTime from, LocalDateTime to) {
+        Optional<LocalDateTime> split = rawSplit().filter(from::isBefore);
+        LocalDateTime rawFrom = split.orElse(from);
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement ps;
+            int index = 1;
+            if (split.isEmpty()) {
+                ps = connection.prepareStatement(STREAM_RAW + " ORDER BY 1 DESC");
+            } else {
+                ps = connection.prepareStatement(STREAM_ROLLUP + " UNION ALL " + STREAM_RAW + " ORDER BY 1 DESC");
+                ps.setString(index++, ticker);
+                ps.setTimestamp(index++, Timestamp.valueOf(from));
+                ps.setTimestamp(index++, Timestamp.valueOf(split.get()));
+                ps.setTimestamp(index++, Timestamp.valueOf(to));
+            }
+            ps.setString(index++, ticker);
+            ps.setTimestamp(index++, Timestamp.valueOf(rawFrom));
+            ps.setTimestamp(index, Timestamp.valueOf(to));
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        }, BAR_MAPPER);
+    }
+
+    @Override
+    public List<PricePoint> findPointsSince(String ticker, LocalDateTime from) {
+        requireRawTicks(from);
+        return jdbcTemplate.query(POINTS + POINTS_ORDER, POINT_MAPPER, ticker, Timestamp.valueOf(from));
+    }
+
+    @Override
+    public List<PricePoint> findPointsPage(String ticker, LocalDateTime from, int limit) {
+        requireRawTicks(from);
+        return jdbcTemplate.query(POINTS + POINTS_ORDER + " LIMIT ?", POINT_MAPPER,
+                ticker, Timestamp.valueOf(from), limit);
+    }
+
+    @Override
+    public List<PricePoint> findPointsPageAfter(String ticker, LocalDateTime from, LocalDateTime cursorTimestamp,
+                                                Long cursorId, int limit) {
+        requireRawTicks(from);
+        return jdbcTemplate.query(POINTS + "AND (p.timestamp, p.id) < (?, ?) " + POINTS_ORDER + " LIMIT ?", POINT_MAPPER,
+                ticker, Timestamp.valueOf(from), Timestamp.valueOf(cursorTimestamp), cursorId, limit);
+    }
+
+    @Override
+    public List<PriceBarView> findBars(String ticker, LocalDateTime from, LocalDateTime to, BarInterval interval) {
+        Optional<RollupResolution> source = partitionManager.isEnabled() ? rollupSource(interval) : Optional.empty();
+        Optional<LocalDateTime> watermark = source.flatMap(partitionManager::watermark)
+                .filter(mark -> mark.isAfter(from));
+
+        Object[] bucketArgs = {interval.offsetMillis(), interval.millis(), interval.millis(), interval.offsetMillis()};
+        if (source.isEmpty() || watermark.isEmpty()) {
+            return jdbcTemplate.query(String.format(AGGREGATE, RAW_SOURCE), BAR_MAPPER,
+                    concat(bucketArgs, ticker, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        }
+
+        // Candles compactados até o watermark e ticks brutos depois dele, reagregados no intervalo pedido
+        LocalDateTime split = watermark.get().isBefore(to) ? watermark.get() : to;
+        String sql = String.format(AGGREGATE, "SELECT b.bucket AS ts, b.open, b.high, b.low, b.close, b.volume FROM "
+                + source.get().table() + " b WHERE b.ticker = ? AND b.bucket >= ? AND b.bucket < ? UNION ALL " + RAW_SOURCE);
+        return jdbcTemplate.query(sql, BAR_MAPPER, concat(bucketArgs,
+                ticker, Timestamp.valueOf(from), Timestamp.valueOf(split),
+                ticker, Timestamp.valueOf(split), Timestamp.valueOf(to)));
+    }
+
+    @Override
+    public Optional<BarInterval> resolutionFor(LocalDateTime from, LocalDateTime to) {
+        Optional<LocalDateTime> horizon = partitionManager.rawHorizon();
+        if (horizon.isEmpty() || !from.isBefore(horizon.get())) {
+            return Optional.empty();
+        }
+        long span = Duration.between(from, to).toMillis();
+        for (RollupResolution resolution : RollupResolution.values()) {
+            if (span / resolution.interval().millis() <= MAX_AUTO_BARS) {
+                return Optional.of(resolution.interval());
+            }
+        }
+        return Optional.of(RollupResolution.DAY.interval());
+    }
+
+    // Início dos ticks brutos servidos: o horizonte de retenção, recuado até o watermark de 1 minuto se a compactação
+    // estiver atrasada (a retenção não descarta ticks ainda não compactados). Vazio se não há candles para completar
+    private Optional<LocalDateTime> rawSplit() {
+        Optional<LocalDateTime> horizon = partitionManager.rawHorizon();
+        Optional<LocalDateTime> watermark = partitionManager.watermark(RollupResolution.MINUTE);
+        if (horizon.isEmpty() || watermark.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(watermark.get().isBefore(horizon.get()) ? watermark.get() : horizon.get());
+    }
+
+    // Leituras tick a tick não têm equivalente nos candles: períodos além da retenção precisam de um intervalo
+    private void requireRawTicks(LocalDateTime from) {
+        Optional<LocalDateTime> split = rawSplit();
+        if (split.isPresent() && from.isBefore(split.get())) {
+            throw new IllegalArgumentException("Raw ticks are only retained since " + split.get()
+                    + "; request an interval to read older history as bars");
+        }
+    }
+
+    // Maior resolução compactada cujo candle divide o intervalo pedido
+    private static Optional<RollupResolution> rollupSource(BarInterval interval) {
+        RollupResolution best = null;
+        for (RollupResolution resolution : RollupResolution.values()) {
+            long millis = resolution.interval().millis();
+            if (interval.millis() >= millis && interval.millis() % millis == 0
+                    && (interval.offsetMillis() - resolution.interval().offsetMillis()) % millis == 0) {
+                best = resolution;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private static Object[] concat(Object[] head, Object... tail) {
+        Object[] all = new Object[head.length + tail.length];
+        System.arraycopy(head, 0, all, 0, head.length);
+        System.arraycopy(tail, 0, all, head.length, tail.length);
+        return all;
+    }
+}
@@ -0,0 +1,28 @@
+package com.financial.infrastructure.repository;
+
+import com.financial.domain.model.PriceHistory;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Leituras de histórico que alimentam os indicadores (últimos N e varredura por período).
+// Implementação padrão no PostgreSQL; opcionalmente servidas pelo tick store local em arquivos mapeados.
+public interface PriceHistoryStore {
+
+    // Registra um tick recém-gerado; o PostgreSQL continua sendo gravado pelo write-behind
+    void append(PriceHistory tick);
+
+    // Mais recente primeiro, como PriceHistoryRepository.findLatestByTicker
+    List<PriceHistory> findLatestByTicker(String ticker, int limit);
+
+    // Histórico gravado no banco por fora do fluxo de ticks (cargas em massa): descarta a cópia local
+    void reload(Collection<String> tickers);
+
+    // Por ticker e, dentro do ticker, mais recente primeiro
+    List<PriceHistory> findLatestByTickers(Collection<String> tickers, int limit);
+
+    // Ticks a partir de from, por ticker e, dentro do ticker, em ordem cronológica, entregues linha a linha
+    // em primitivos: varreduras longas não materializam entidades
+    void scanSince(Collection<String> tickers, LocalDateTime from, PriceRowHandler handler);
+}
@@ -0,0 +1,15 @@
+package com.financial.infrastructure.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Projeção somente leitura de uma linha de price_history: não entra no contexto de persistência
+public record PricePoint(Long id,
+                         String ticker,
+                         LocalDateTime timestamp,
+                         BigDecimal open,
+                         BigDecimal high,
+                         BigDecimal low,
+                         BigDecimal close,
+                         Long volume) {
+}
@@ -0,0 +1,9 @@
+package com.financial.infrastructure.repository;
+
+// Recebe linhas de histórico já convertidas em primitivos: varreduras longas (backtest, correlação) não criam
+// entidades nem projeções por linha e podem acumular direto em arrays
+@FunctionalInterface
+public interface PriceRowHandler {
+
+    void accept(String ticker, long epochMillis, double open, double high, double low, double close, long volume);
+}
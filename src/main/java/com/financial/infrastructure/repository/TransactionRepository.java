@@ -3,21 +3,42 @@ package com.financial.infrastructure.repository;
 import com.financial.domain.model.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
     
     List<Transaction> findByUserIdOrderByTimestampDesc(String userId);
     
+    Optional<Transaction> findByReference(String reference);
+    
     Page<Transaction> findByUserIdOrderByTimestampDesc(String userId, Pageable pageable);
     
+    // Sem count(*): o Slice busca uma linha a mais para saber se há próxima página
+    Slice<Transaction> findSliceByUserIdOrderByTimestampDescIdDesc(String userId, Pageable pageable);
+    
+    // Keyset: continua após a última linha entregue, sem OFFSET; custo independente da profundidade
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId " +
+           "AND (t.timestamp, t.id) < (:cursorTimestamp, :cursorId) " +
+           "ORDER BY t.timestamp DESC, t.id DESC")
+    Slice<Transaction> findSliceAfter(@Param("userId") String userId,
+                                      @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+                                      @Param("cursorId") Long cursorId,
+                                      Pageable pageable);
+    
     @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND t.timestamp >= :from AND t.timestamp <= :to ORDER BY t.timestamp DESC")
     List<Transaction> findByUserIdAndTimestampBetween(
         @Param("userId") String userId,
@@ -27,4 +48,14 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     @Query("SELECT t FROM Transaction t WHERE t.ticker = :ticker ORDER BY t.timestamp DESC")
     List<Transaction> findByTicker(@Param("ticker") String ticker);
-}
\ No newline at end of file
+    
+    @Query("SELECT DISTINCT t.userId FROM Transaction t ORDER BY t.userId")
+    List<String> findDistinctUserIds();
+    
+    // Livro do usuário na ordem em que as transações foram aplicadas às posições: o id é gerado sob o lock
+    // do usuário (PositionService.lockUsers), então segue a ordem de aplicação; o timestamp não
+    @Query("SELECT new com.financial.infrastructure.repository.LedgerEntry(t.ticker, t.type, t.quantity, t.totalValue) " +
+           "FROM Transaction t WHERE t.userId = :userId ORDER BY t.id ASC")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<LedgerEntry> streamLedger(@Param("userId") String userId);
+}
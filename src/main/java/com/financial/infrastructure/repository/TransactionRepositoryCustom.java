@@ -0,0 +1,16 @@
+package com.financial.infrastructure.repository;
+
+import com.financial.domain.model.Transaction;
+
+import java.util.List;
+
+// Inserts em lote por JDBC: o id IDENTITY impede o Hibernate de agrupar os inserts
+public interface TransactionRepositoryCustom {
+
+    // Grava as transações em lotes JDBC e preenche os ids gerados
+    void insertAll(List<Transaction> transactions);
+
+    // Ignora referências já gravadas (reaplicação do write-ahead log); devolve apenas as transações inseridas,
+    // com os ids preenchidos
+    List<Transaction> insertAllIfAbsent(List<Transaction> transactions);
+}
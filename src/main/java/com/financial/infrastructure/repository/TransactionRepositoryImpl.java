@@ -0,0 +1,85 @@
+package com.financial.infrastructure.repository;
+
+import com.financial.domain.model.Transaction;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String INSERT = "INSERT INTO transactions " +
+            "(reference, user_id, ticker, type, quantity, price, total_value, timestamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_IF_ABSENT = INSERT + " ON CONFLICT (reference) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Transaction> transactions) {
+        for (int from = 0; from < transactions.size(); from += BATCH_SIZE) {
+            List<Transaction> batch = transactions.subList(from, Math.min(from + BATCH_SIZE, transactions.size()));
+            List<Map<String, Object>> keys = insert(INSERT, batch);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+            }
+        }
+    }
+
+    @Override
+    public List<Transaction> insertAllIfAbsent(List<Transaction> transactions) {
+        List<Transaction> inserted = new ArrayList<>();
+        for (int from = 0; from < transactions.size(); from += BATCH_SIZE) {
+            List<Transaction> batch = transactions.subList(from, Math.min(from + BATCH_SIZE, transactions.size()));
+            // Conflitos não devolvem linha: as chaves geradas são associadas pela referência
+            Map<String, Long> ids = new HashMap<>();
+            for (Map<String, Object> key : insert(INSERT_IF_ABSENT, batch)) {
+                ids.put((String) key.get("reference"), ((Number) key.get("id")).longValue());
+            }
+            for (Transaction transaction : batch) {
+                Long id = ids.get(transaction.getReference());
+                if (id != null) {
+                    transaction.setId(id);
+                    inserted.add(transaction);
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private List<Map<String, Object>> insert(String sql, List<Transaction> batch) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[]{"id", "reference"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Transaction transaction = batch.get(i);
+                        ps.setString(1, transaction.getReference());
+                        ps.setString(2, transaction.getUserId());
+                        ps.setString(3, transaction.getTicker());
+                        ps.setString(4, transaction.getType().name());
+                        ps.setBigDecimal(5, transaction.getQuantity());
+                        ps.setBigDecimal(6, transaction.getPrice());
+                        ps.setBigDecimal(7, transaction.getTotalValue());
+                        ps.setTimestamp(8, Timestamp.valueOf(transaction.getTimestamp()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList();
+    }
+}
@@ -1,10 +1,14 @@
 package com.financial.infrastructure.scheduler;
 
 import com.financial.application.service.AssetService;
+import com.financial.application.service.CorrelationService;
+import com.financial.application.service.StreamingIndicatorEngine;
 import com.financial.domain.model.Asset;
 import com.financial.domain.model.PriceHistory;
+import com.financial.infrastructure.persistence.PriceTickWriter;
 import com.financial.infrastructure.repository.AssetRepository;
 import com.financial.infrastructure.repository.PriceHistoryRepository;
+import com.financial.infrastructure.repository.PriceHistoryStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -15,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -26,6 +31,10 @@ public class DataSimulationScheduler {
     private final AssetService assetService;
     private final AssetRepository assetRepository;
     private final PriceHistoryRepository priceHistoryRepository;
+    private final PriceHistoryStore priceHistoryStore;
+    private final StreamingIndicatorEngine indicatorEngine;
+    private final CorrelationService correlationService;
+    private final PriceTickWriter tickWriter;
     private final Random random = new Random();
 
     @EventListener(ApplicationReadyEvent.class)
@@ -56,11 +65,15 @@ public class DataSimulationScheduler {
     public void simulateRealTimeData() {
         try {
             List<Asset> assets = assetRepository.findByActiveTrue();
+            tickWriter.applyPending(assets);
             
             for (Asset asset : assets) {
                 simulatePriceMovement(asset);
                 createPriceHistoryEntry(asset);
             }
+
+            publishQuotes(assets);
+            correlationService.onTick();
             
             log.debug("Real-time data simulation completed for {} assets", assets.size());
         } catch (Exception e) {
@@ -68,6 +81,15 @@ public class DataSimulationScheduler {
         }
     }
 
+    private void publishQuotes(List<Asset> assets) {
+        // Write-through: o snapshot do tick vai para o cache em um único pipeline
+        try {
+            assetService.publishQuotes(assets);
+        } catch (Exception e) {
+            log.warn("Could not publish quotes to cache: {}", e.getMessage());
+        }
+    }
+
     private void createSampleAssetsIfNeeded() {
         try {
             if (assetRepository.count() == 0) {
@@ -109,6 +131,7 @@ public class DataSimulationScheduler {
     private void createHistoricalDataForAsset(Asset asset, int days) {
         LocalDateTime startDate = LocalDateTime.now().minusDays(days);
         BigDecimal currentPrice = asset.getCurrentPrice();
+        List<PriceHistory> rows = new ArrayList<>(days + 1);
         
         for (int i = days; i >= 0; i--) {
             LocalDateTime timestamp = startDate.plusDays(days - i);
@@ -132,9 +155,11 @@ public class DataSimulationScheduler {
                     .timestamp(timestamp)
                     .build();
             
-            priceHistoryRepository.save(history);
+            rows.add(history);
         }
         
+        priceHistoryRepository.saveAll(rows);
+        rows.forEach(priceHistoryStore::append);
         log.debug("Created {} days of historical data for {}", days, asset.getTicker());
     }
 
@@ -148,8 +173,6 @@ public class DataSimulationScheduler {
         asset.setPreviousClose(asset.getCurrentPrice());
         asset.setCurrentPrice(newPrice);
         asset.setLastUpdated(LocalDateTime.now());
-        
-        assetRepository.save(asset);
     }
 
     private void createPriceHistoryEntry(Asset asset) {
@@ -167,6 +190,9 @@ public class DataSimulationScheduler {
                 .timestamp(LocalDateTime.now())
                 .build();
         
-        priceHistoryRepository.save(history);
+        // Gravação em lote pelo write-behind; tick store e motor de indicadores recebem o tick imediatamente
+        priceHistoryStore.append(history);
+        tickWriter.submit(asset, history);
+        indicatorEngine.onTick(history);
     }
 }
\ No newline at end of file
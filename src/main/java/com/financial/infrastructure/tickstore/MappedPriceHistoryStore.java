@@ -0,0 +1,348 @@
+package com.financial.infrastructure.tickstore;
+
+import com.financial.domain.model.Asset;
+import com.financial.domain.model.PriceHistory;
+import com.financial.infrastructure.repository.AssetRepository;
+import com.financial.infrastructure.repository.PriceHistoryRepository;
+import com.financial.infrastructure.repository.PriceHistoryStore;
+import com.financial.infrastructure.repository.PriceRowHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Tick store local em arquivos mapeados em memória: atende as leituras dos indicadores, screener,
+// backtests e correlação sem ir ao PostgreSQL, que continua sendo o sistema de registro (gravado pelo
+// PriceTickWriter). O conteúdo é por nó; consultas que o store não cobre caem no banco.
+@Component
+@ConditionalOnProperty(name = "app.tickstore.enabled", havingValue = "true")
+@Slf4j
+public class MappedPriceHistoryStore implements PriceHistoryStore, SmartLifecycle {
+
+    private static final Pattern SAFE_TICKER = Pattern.compile("[A-Z0-9._-]{1,32}");
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final AssetRepository assetRepository;
+    private final Path directory;
+    private final int segmentCapacity;
+    private final int bootstrapRows;
+    private final Map<String, TickLog> logs = new ConcurrentHashMap<>();
+    private final Counter localReads;
+    private final Counter databaseReads;
+    private final Counter appendFailures;
+
+    private volatile boolean running;
+
+    public MappedPriceHistoryStore(PriceHistoryRepository priceHistoryRepository,
+                                   AssetRepository assetRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.tickstore.directory:data/tickstore}") String directory,
+                                   @Value("${app.tickstore.segment-capacity:65536}") int segmentCapacity,
+                                   @Value("${app.tickstore.bootstrap-rows:5000}") int bootstrapRows) {
+        if (segmentCapacity < TickSegment.INDEX_STRIDE || segmentCapacity > TickSegment.MAX_CAPACITY) {
+            throw new IllegalArgumentException("Tick store segment capacity must be between "
+                    + TickSegment.INDEX_STRIDE + " and " + TickSegment.MAX_CAPACITY);
+        }
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.assetRepository = assetRepository;
+        this.directory = Paths.get(directory);
+        this.segmentCapacity = segmentCapacity;
+        this.bootstrapRows = bootstrapRows;
+        this.localReads = readCounter(meterRegistry, "local");
+        this.databaseReads = readCounter(meterRegistry, "database");
+        this.appendFailures = Counter.builder("tickstore.append.failures").register(meterRegistry);
+    }
+
+    @Override
+    public void append(PriceHistory tick) {
+        TickLog tickLog = logFor(tick.getTicker());
+        if (tickLog == null) {
+            return;
+        }
+        try {
+            tickLog.append(tick);
+        } catch (IOException | RuntimeException e) {
+            appendFailures.increment();
+            log.warn("Could not append tick for {} to tick store: {}", tick.getTicker(), e.getMessage());
+        }
+    }
+
+    // O log do ticker é recriado a partir do banco; ticks anexados durante a troca podem ficar só no banco
+    @Override
+    public void reload(Collection<String> tickers) {
+        for (String ticker : tickers) {
+            if (ticker == null || !SAFE_TICKER.matcher(ticker).matches()) {
+                continue;
+            }
+            logs.compute(ticker, (t, previous) -> {
+                Path tickerDirectory = directory.resolve(t);
+                try {
+                    deleteLog(tickerDirectory);
+                    Files.createDirectories(tickerDirectory);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not reset tick store directory " + tickerDirectory, e);
+                }
+                TickLog tickLog = new TickLog(t, tickerDirectory, segmentCapacity);
+                bootstrap(t, tickLog);
+                return tickLog;
+            });
+        }
+    }
+
+    @Override
+    public List<PriceHistory> findLatestByTicker(String ticker, int limit) {
+        TickLog tickLog = logs.get(ticker);
+        if (tickLog != null && tickLog.coversLatest(limit)) {
+            localReads.increment();
+            return tickLog.latest(limit);
+        }
+        databaseReads.increment();
+        return priceHistoryRepository.findLatestByTicker(ticker, limit);
+    }
+
+    @Override
+    public List<PriceHistory> findLatestByTickers(Collection<String> tickers, int limit) {
+        List<PriceHistory> rows = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String ticker : tickers) {
+            TickLog tickLog = logs.get(ticker);
+            if (tickLog != null && tickLog.coversLatest(limit)) {
+                rows.addAll(tickLog.latest(limit));
+            } else {
+                missing.add(ticker);
+            }
+        }
+        return withDatabaseRows(rows, missing, () -> priceHistoryRepository.findLatestByTickers(missing, limit));
+    }
+
+    @Override
+    public void scanSince(Collection<String> tickers, LocalDateTime from, PriceRowHandler handler) {
+        List<String> missing = new ArrayList<>();
+        boolean local = false;
+        for (String ticker : tickers) {
+            TickLog tickLog = logs.get(ticker);
+            if (tickLog != null && tickLog.coversSince(from)) {
+                tickLog.scanSince(from, handler);
+                local = true;
+            } else {
+                missing.add(ticker);
+            }
+        }
+        if (local || missing.isEmpty()) {
+            localReads.increment();
+        }
+        if (!missing.isEmpty()) {
+            databaseReads.increment();
+            priceHistoryRepository.scanSince(missing, from, handler);
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> tickerDirectories = Files.list(directory)) {
+                tickerDirectories.filter(Files::isDirectory).forEach(this::recover);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open tick store at " + directory, e);
+        }
+        bootstrap();
+        logs.forEach((ticker, tickLog) -> {
+            if (!tickLog.isCurrent()) {
+                catchUp(ticker, tickLog);
+            }
+        });
+        running = true;
+        log.info("Tick store started at {} with {} tickers", directory, logs.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        logs.values().forEach(TickLog::flush);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Reabre os segmentos de um ticker: selados têm o CRC verificado, o último segmento aberto é truncado
+    // no último registro confirmado e segmentos abertos que não são o último (queda durante a troca) são selados.
+    // Um segmento corrompido deixaria um buraco no meio do log: o ticker inteiro é descartado e recarregado do banco
+    private void recover(Path tickerDirectory) {
+        String ticker = tickerDirectory.getFileName().toString();
+        if (!SAFE_TICKER.matcher(ticker).matches()) {
+            return;
+        }
+        TickLog tickLog = new TickLog(ticker, tickerDirectory, segmentCapacity);
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(tickerDirectory)) {
+            files = stream.filter(TickLog::isSegmentFile).sorted().toList();
+        } catch (IOException e) {
+            log.warn("Could not list tick store segments for {}: {}", ticker, e.getMessage());
+            return;
+        }
+
+        List<TickSegment> segments = new ArrayList<>();
+        for (Path file : files) {
+            try {
+                segments.add(TickSegment.open(file));
+            } catch (IOException e) {
+                log.error("Discarding tick store log for {}, corrupt segment {}: {}", ticker, file, e.getMessage());
+                quarantine(file);
+                try {
+                    deleteLog(tickerDirectory);
+                } catch (IOException deleteFailure) {
+                    log.warn("Could not reset tick store directory {}: {}", tickerDirectory, deleteFailure.getMessage());
+                    return;
+                }
+                logs.put(ticker, new TickLog(ticker, tickerDirectory, segmentCapacity));
+                return;
+            }
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            TickSegment segment = segments.get(i);
+            if (i < segments.size() - 1 && !segment.isSealed()) {
+                segment.seal();
+            }
+            tickLog.restore(segment);
+        }
+        if (tickLog.size() > 0) {
+            tickLog.beginCatchUp();
+        }
+        logs.put(ticker, tickLog);
+        log.debug("Recovered {} ticks in {} segments for {}", tickLog.size(), segments.size(), ticker);
+    }
+
+    // Ticks gravados no banco depois do último registro do log (nó parado ou outro nó escrevendo)
+    private void catchUp(String ticker, TickLog tickLog) {
+        LocalDateTime from = LocalDateTime.ofInstant(Instant.ofEpochMilli(tickLog.lastTimestamp()), ZoneOffset.UTC);
+        int before = tickLog.size();
+        try {
+            priceHistoryRepository.scanSince(List.of(ticker), from, (t, epochMillis, open, high, low, close, volume) -> {
+                try {
+                    tickLog.appendCaughtUp(epochMillis, open, high, low, close, volume);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            tickLog.finishCatchUp();
+            tickLog.flush();
+            log.debug("Caught up {} ticks for {} from database", tickLog.size() - before, ticker);
+        } catch (Exception e) {
+            tickLog.abandonCatchUp();
+            log.warn("Could not catch up tick store for {}, serving it from database: {}", ticker, e.getMessage());
+        }
+    }
+
+    // Tickers sem dados locais recebem os últimos bootstrap-rows registros do banco
+    private void bootstrap() {
+        List<Asset> assets;
+        try {
+            assets = assetRepository.findByActiveTrue();
+        } catch (Exception e) {
+            log.warn("Skipping tick store bootstrap, database not ready: {}", e.getMessage());
+            return;
+        }
+        for (Asset asset : assets) {
+            TickLog tickLog = logFor(asset.getTicker());
+            if (tickLog == null || tickLog.size() > 0) {
+                continue;
+            }
+            bootstrap(asset.getTicker(), tickLog);
+        }
+    }
+
+    private void bootstrap(String ticker, TickLog tickLog) {
+        try {
+            List<PriceHistory> latest = priceHistoryRepository.findLatestByTicker(ticker, bootstrapRows);
+            for (int i = latest.size() - 1; i >= 0; i--) {
+                tickLog.append(latest.get(i));
+            }
+            if (latest.size() < bootstrapRows) {
+                tickLog.markComplete();
+            }
+            tickLog.flush();
+            log.debug("Bootstrapped {} ticks for {} from database", latest.size(), ticker);
+        } catch (Exception e) {
+            log.warn("Could not bootstrap tick store for {}: {}", ticker, e.getMessage());
+        }
+    }
+
+    private static void deleteLog(Path tickerDirectory) throws IOException {
+        if (!Files.isDirectory(tickerDirectory)) {
+            return;
+        }
+        // Segmentos em quarentena ficam para análise
+        try (Stream<Path> files = Files.list(tickerDirectory)) {
+            for (Path file : files.filter(file -> !file.toString().endsWith(CORRUPT_SUFFIX)).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private TickLog logFor(String ticker) {
+        if (ticker == null || !SAFE_TICKER.matcher(ticker).matches()) {
+            return null;
+        }
+        return logs.computeIfAbsent(ticker, t -> {
+            Path tickerDirectory = directory.resolve(t);
+            try {
+                Files.createDirectories(tickerDirectory);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not create tick store directory " + tickerDirectory, e);
+            }
+            return new TickLog(t, tickerDirectory, segmentCapacity);
+        });
+    }
+
+    private List<PriceHistory> withDatabaseRows(List<PriceHistory> rows, List<String> missing,
+                                                Supplier<List<PriceHistory>> query) {
+        if (!rows.isEmpty() || missing.isEmpty()) {
+            localReads.increment();
+        }
+        if (!missing.isEmpty()) {
+            databaseReads.increment();
+            rows.addAll(query.get());
+        }
+        return rows;
+    }
+
+    private static void quarantine(Path file) {
+        try {
+            Files.move(file, file.resolveSibling(file.getFileName() + CORRUPT_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Could not quarantine tick store segment {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("tickstore.reads")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,258 @@
+package com.financial.infrastructure.tickstore;
+
+import com.financial.domain.model.PriceHistory;
+import com.financial.infrastructure.repository.PriceRowHandler;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Log de ticks de um ticker: sequência de segmentos em ordem cronológica, apenas o último aceita escrita.
+// Escritas são serializadas por ticker; leituras não bloqueiam (contagem volátil publicada após os dados).
+final class TickLog {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String COMPLETE_MARKER = "complete";
+
+    private final String ticker;
+    private final Path directory;
+    private final int segmentCapacity;
+    private final List<TickSegment> segments = new CopyOnWriteArrayList<>();
+    private volatile boolean complete;
+    // Falso para um log recuperado do disco até o catch-up com o banco: ticks gravados enquanto o nó estava
+    // parado ainda não estão no log, então as leituras vão ao banco
+    private volatile boolean current = true;
+    // Ticks recebidos durante o catch-up, anexados depois das linhas do banco; nulo fora do catch-up
+    private List<PriceHistory> pending;
+    private int nextSequence;
+
+    TickLog(String ticker, Path directory, int segmentCapacity) {
+        this.ticker = ticker;
+        this.directory = directory;
+        this.segmentCapacity = segmentCapacity;
+        this.complete = Files.exists(directory.resolve(COMPLETE_MARKER));
+    }
+
+    static boolean isSegmentFile(Path path) {
+        return path.getFileName().toString().matches("\\d{10}\\" + SEGMENT_SUFFIX);
+    }
+
+    // Segmentos reabertos na recuperação, na ordem dos nomes
+    void restore(TickSegment segment) {
+        segments.add(segment);
+        nextSequence = Math.max(nextSequence, sequenceOf(segment.path()) + 1);
+    }
+
+    // O log passa a conter todo o histórico do ticker: o banco não tem nada anterior ao primeiro registro
+    void markComplete() throws IOException {
+        Files.createDirectories(directory);
+        Path marker = directory.resolve(COMPLETE_MARKER);
+        if (!Files.exists(marker)) {
+            Files.createFile(marker);
+        }
+        complete = true;
+    }
+
+    int size() {
+        int size = 0;
+        for (TickSegment segment : segments) {
+            size += segment.count();
+        }
+        return size;
+    }
+
+    // Os últimos limit registros do ticker estão todos no log
+    boolean coversLatest(int limit) {
+        return current && (complete || size() >= limit);
+    }
+
+    // Nenhum registro a partir de from existe apenas no banco
+    boolean coversSince(LocalDateTime from) {
+        return current && (complete || firstTimestamp() <= toEpochMillis(from));
+    }
+
+    boolean isCurrent() {
+        return current;
+    }
+
+    // Log recuperado: deixa de atender leituras (inclusive as cobertas pelo marcador complete) até finishCatchUp
+    synchronized void beginCatchUp() {
+        current = false;
+        complete = false;
+        pending = new ArrayList<>();
+    }
+
+    // Linha lida do banco durante o catch-up; as que não são posteriores ao último registro já estão no log
+    synchronized void appendCaughtUp(long epochMillis, double open, double high, double low, double close, long volume)
+            throws IOException {
+        if (epochMillis > lastTimestamp()) {
+            write(epochMillis, toFixed(open), toFixed(high), toFixed(low), toFixed(close), volume);
+        }
+    }
+
+    // Anexa os ticks recebidos durante o catch-up e volta a atender leituras
+    synchronized void finishCatchUp() throws IOException {
+        for (PriceHistory tick : pending) {
+            long timestamp = toEpochMillis(tick.getTimestamp());
+            if (timestamp > lastTimestamp()) {
+                write(timestamp, toFixed(tick.getOpen()), toFixed(tick.getHigh()), toFixed(tick.getLow()),
+                        toFixed(tick.getClose()), tick.getVolume());
+            }
+        }
+        pending = null;
+        complete = Files.exists(directory.resolve(COMPLETE_MARKER));
+        current = true;
+    }
+
+    // Catch-up falhou: o log segue fora das leituras e para de receber ticks até ser recriado por reload
+    synchronized void abandonCatchUp() {
+        pending = null;
+    }
+
+    // Timestamp do último registro, Long.MIN_VALUE se o log está vazio
+    long lastTimestamp() {
+        for (int s = segments.size() - 1; s >= 0; s--) {
+            TickSegment segment = segments.get(s);
+            if (segment.count() > 0) {
+                return segment.lastTimestamp();
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private long firstTimestamp() {
+        for (TickSegment segment : segments) {
+            if (segment.count() > 0) {
+                return segment.firstTimestamp();
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    // Ticks fora de ordem são ignorados: o índice pressupõe timestamps não decrescentes.
+    // Durante o catch-up o tick fica pendente; com o catch-up abandonado, é descartado (continua no banco)
+    synchronized boolean append(PriceHistory tick) throws IOException {
+        if (!current) {
+            return pending != null && pending.add(tick);
+        }
+        return write(toEpochMillis(tick.getTimestamp()), toFixed(tick.getOpen()), toFixed(tick.getHigh()),
+                toFixed(tick.getLow()), toFixed(tick.getClose()), tick.getVolume());
+    }
+
+    private boolean write(long timestamp, long open, long high, long low, long close, long volume) throws IOException {
+        TickSegment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (active != null && active.count() > 0 && timestamp < active.lastTimestamp()) {
+            return false;
+        }
+        if (active == null || active.isFull() || active.isSealed()) {
+            if (active != null) {
+                active.seal();
+            }
+            active = TickSegment.create(directory.resolve(segmentName(nextSequence++)), segmentCapacity);
+            segments.add(active);
+        }
+        active.append(timestamp, open, high, low, close, volume);
+        return true;
+    }
+
+    synchronized void flush() {
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).flush();
+        }
+    }
+
+    // Mais recente primeiro
+    List<PriceHistory> latest(int limit) {
+        List<PriceHistory> rows = new ArrayList<>(Math.min(limit, segmentCapacity));
+        for (int s = segments.size() - 1; s >= 0 && rows.size() < limit; s--) {
+            TickSegment segment = segments.get(s);
+            for (int i = segment.count() - 1; i >= 0 && rows.size() < limit; i--) {
+                rows.add(read(segment, i));
+            }
+        }
+        return rows;
+    }
+
+    // Ordem cronológica, a partir de from (inclusivo), lido direto das colunas sem criar objetos por registro
+    void scanSince(LocalDateTime from, PriceRowHandler handler) {
+        long fromMillis = toEpochMillis(from);
+        List<TickSegment> snapshot = List.copyOf(segments);
+        int first = firstSegmentReaching(snapshot, fromMillis);
+        double scale = Math.pow(10, TickSegment.PRICE_SCALE);
+
+        for (int s = first; s < snapshot.size(); s++) {
+            TickSegment segment = snapshot.get(s);
+            int count = segment.count();
+            for (int i = s == first ? segment.lowerBound(fromMillis, count) : 0; i < count; i++) {
+                handler.accept(ticker, segment.get(TickSegment.TIMESTAMP, i),
+                        segment.get(TickSegment.OPEN, i) / scale, segment.get(TickSegment.HIGH, i) / scale,
+                        segment.get(TickSegment.LOW, i) / scale, segment.get(TickSegment.CLOSE, i) / scale,
+                        segment.get(TickSegment.VOLUME, i));
+            }
+        }
+    }
+
+    private static int firstSegmentReaching(List<TickSegment> snapshot, long fromMillis) {
+        // Busca binária pelo primeiro segmento cujo último registro alcança from
+        int low = 0;
+        int high = snapshot.size() - 1;
+        int first = snapshot.size();
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            TickSegment segment = snapshot.get(mid);
+            if (segment.count() > 0 && segment.lastTimestamp() >= fromMillis) {
+                first = mid;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return first;
+    }
+
+    private PriceHistory read(TickSegment segment, int index) {
+        return PriceHistory.builder()
+                .ticker(ticker)
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(segment.get(TickSegment.TIMESTAMP, index)),
+                        ZoneOffset.UTC))
+                .open(fromFixed(segment.get(TickSegment.OPEN, index)))
+                .high(fromFixed(segment.get(TickSegment.HIGH, index)))
+                .low(fromFixed(segment.get(TickSegment.LOW, index)))
+                .close(fromFixed(segment.get(TickSegment.CLOSE, index)))
+                .volume(segment.get(TickSegment.VOLUME, index))
+                .build();
+    }
+
+    private static String segmentName(int sequence) {
+        return String.format("%010d%s", sequence, SEGMENT_SUFFIX);
+    }
+
+    private static int sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static long toFixed(BigDecimal value) {
+        return value.setScale(TickSegment.PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static long toFixed(double value) {
+        return Math.round(value * Math.pow(10, TickSegment.PRICE_SCALE));
+    }
+
+    private static BigDecimal fromFixed(long value) {
+        return BigDecimal.valueOf(value, TickSegment.PRICE_SCALE);
+    }
+}
@@ -0,0 +1,217 @@
+package com.financial.infrastructure.tickstore;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Segmento append-only de um ticker em arquivo mapeado em memória, com layout colunar:
+// cabeçalho de 64 bytes seguido das colunas timestamp, open, high, low, close e volume (long cada).
+// Preços em ponto fixo (PRICE_SCALE casas decimais). A contagem no cabeçalho é gravada depois dos
+// dados e funciona como marcador de commit; o selo grava um CRC32 das colunas após o force().
+final class TickSegment {
+
+    static final int PRICE_SCALE = 6;
+    static final int COLUMNS = 6;
+    static final int TIMESTAMP = 0;
+    static final int OPEN = 1;
+    static final int HIGH = 2;
+    static final int LOW = 3;
+    static final int CLOSE = 4;
+    static final int VOLUME = 5;
+    // Uma entrada do índice esparso a cada INDEX_STRIDE registros
+    static final int INDEX_STRIDE = 256;
+    // Offsets do ByteBuffer são int: o segmento inteiro precisa caber em 2 GB
+    static final int MAX_CAPACITY = (Integer.MAX_VALUE - 64) / (COLUMNS * Long.BYTES);
+
+    private static final int MAGIC = 0x54434B31; // "TCK1"
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SEALED_OFFSET = 12;
+    static final int COUNT_OFFSET = 16;
+    static final int CRC_OFFSET = 24;
+
+    private final Path path;
+    private final int capacity;
+    private final MappedByteBuffer buffer;
+    private final long[] sparseIndex;
+    private volatile int count;
+    private volatile boolean sealed;
+
+    private TickSegment(Path path, int capacity, MappedByteBuffer buffer) {
+        this.path = path;
+        this.capacity = capacity;
+        this.buffer = buffer;
+        this.sparseIndex = new long[(capacity + INDEX_STRIDE - 1) / INDEX_STRIDE];
+    }
+
+    static TickSegment create(Path path, int capacity) throws IOException {
+        TickSegment segment = new TickSegment(path, capacity, map(path, HEADER_SIZE + (long) COLUMNS * capacity * Long.BYTES));
+        segment.buffer.putInt(MAGIC_OFFSET, MAGIC);
+        segment.buffer.putInt(VERSION_OFFSET, VERSION);
+        segment.buffer.putInt(CAPACITY_OFFSET, capacity);
+        segment.buffer.putInt(COUNT_OFFSET, 0);
+        segment.buffer.force();
+        return segment;
+    }
+
+    // Reabre um segmento existente; registros não confirmados ou inconsistentes são descartados
+    static TickSegment open(Path path) throws IOException {
+        long size = Files.size(path);
+        if (size < HEADER_SIZE) {
+            throw new IOException("Truncated tick segment " + path);
+        }
+        MappedByteBuffer buffer = map(path, size);
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Not a tick segment " + path);
+        }
+        int capacity = buffer.getInt(CAPACITY_OFFSET);
+        if (capacity <= 0 || capacity > MAX_CAPACITY || size < HEADER_SIZE + (long) COLUMNS * capacity * Long.BYTES) {
+            throw new IOException("Invalid capacity in tick segment " + path);
+        }
+
+        TickSegment segment = new TickSegment(path, capacity, buffer);
+        int committed = Math.min(Math.max(buffer.getInt(COUNT_OFFSET), 0), capacity);
+        segment.sealed = buffer.get(SEALED_OFFSET) == 1;
+
+        if (segment.sealed) {
+            if (segment.checksum(committed) != buffer.getLong(CRC_OFFSET)) {
+                throw new IOException("Checksum mismatch in sealed tick segment " + path);
+            }
+        } else {
+            // Segmento ativo no momento da queda: mantém apenas o prefixo válido (timestamps crescentes)
+            long previous = Long.MIN_VALUE;
+            for (int i = 0; i < committed; i++) {
+                long timestamp = segment.get(TIMESTAMP, i);
+                if (timestamp <= 0 || timestamp < previous) {
+                    committed = i;
+                    break;
+                }
+                previous = timestamp;
+            }
+            buffer.putInt(COUNT_OFFSET, committed);
+        }
+
+        for (int i = 0; i < committed; i += INDEX_STRIDE) {
+            segment.sparseIndex[i / INDEX_STRIDE] = segment.get(TIMESTAMP, i);
+        }
+        segment.count = committed;
+        return segment;
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    int count() {
+        return count;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long firstTimestamp() {
+        return get(TIMESTAMP, 0);
+    }
+
+    long lastTimestamp() {
+        return get(TIMESTAMP, count - 1);
+    }
+
+    long get(int column, int index) {
+        return buffer.getLong(offset(column, index));
+    }
+
+    // Chamado sob o lock do TickLog: dados primeiro, contagem por último
+    void append(long timestamp, long open, long high, long low, long close, long volume) {
+        int index = count;
+        put(TIMESTAMP, index, timestamp);
+        put(OPEN, index, open);
+        put(HIGH, index, high);
+        put(LOW, index, low);
+        put(CLOSE, index, close);
+        put(VOLUME, index, volume);
+        if (index % INDEX_STRIDE == 0) {
+            sparseIndex[index / INDEX_STRIDE] = timestamp;
+        }
+        buffer.putInt(COUNT_OFFSET, index + 1);
+        count = index + 1;
+    }
+
+    void seal() {
+        if (sealed) {
+            return;
+        }
+        buffer.force();
+        buffer.putLong(CRC_OFFSET, checksum(count));
+        buffer.put(SEALED_OFFSET, (byte) 1);
+        buffer.force();
+        sealed = true;
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    // Primeiro índice com timestamp >= from: busca binária no índice esparso e varredura no bloco
+    int lowerBound(long from, int snapshotCount) {
+        int blocks = (snapshotCount + INDEX_STRIDE - 1) / INDEX_STRIDE;
+        int low = 0;
+        int high = blocks - 1;
+        int block = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (sparseIndex[mid] < from) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int index = block * INDEX_STRIDE;
+        while (index < snapshotCount && get(TIMESTAMP, index) < from) {
+            index++;
+        }
+        return index;
+    }
+
+    private void put(int column, int index, long value) {
+        buffer.putLong(offset(column, index), value);
+    }
+
+    private int offset(int column, int index) {
+        return HEADER_SIZE + (column * capacity + index) * Long.BYTES;
+    }
+
+    private long checksum(int records) {
+        CRC32 crc = new CRC32();
+        for (int column = 0; column < COLUMNS; column++) {
+            for (int i = 0; i < records; i++) {
+                long value = get(column, i);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    crc.update((int) (value >>> shift) & 0xFF);
+                }
+            }
+        }
+        crc.update(records);
+        return crc.getValue();
+    }
+
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.financial.application.service;
+
+import com.financial.application.dto.BacktestRequestDto;
+import com.financial.application.dto.BacktestResultDto;
+import com.financial.application.dto.BacktestRunDto;
+import com.financial.domain.backtest.StrategyType;
+import com.financial.infrastructure.repository.PriceHistoryStore;
+import com.financial.infrastructure.repository.PriceRowHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class BacktestServiceTest {
+
+    private static final long DAY = 86_400_000L;
+
+    private final PriceHistoryStore priceHistoryStore = mock(PriceHistoryStore.class);
+    private BacktestService service = new BacktestService(priceHistoryStore, 2, 10_000);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void sweepRunsTheCartesianProductOfParameters() {
+        feed(Map.of("PETR4", wave(200, 1), "VALE3", wave(200, 2)));
+        BacktestRequestDto request = BacktestRequestDto.builder()
+                .tickers(List.of("petr4", "VALE3"))
+                .strategy(StrategyType.SMA_CROSSOVER)
+                .sweep(Map.of("fast", List.of(2.0, 3.0, 5.0), "slow", List.of(10.0, 20.0)))
+                .build();
+
+        BacktestResultDto result = service.run(request);
+
+        assertThat(result.getCombinations()).isEqualTo(12);
+        assertThat(result.getSweep()).hasSize(12);
+        assertThat(result.getSweep()).extracting(BacktestRunDto::getParameters)
+                .filteredOn(parameters -> parameters.get("fast") == 3.0 && parameters.get("slow") == 20.0)
+                .hasSize(2);
+        // Melhor execução de cada ticker, com trades e curva de capital
+        assertThat(result.getResults()).extracting(BacktestRunDto::getTicker).containsExactly("PETR4", "VALE3");
+        assertThat(result.getResults()).allSatisfy(run -> {
+            assertThat(run.getDataPoints()).isEqualTo(200);
+            assertThat(run.getEquityCurve()).isNotEmpty();
+        });
+        // O sweep vem ordenado pelo Sharpe, do maior para o menor
+        List<Double> sharpe = result.getSweep().stream().map(run -> run.getStats().getSharpe().doubleValue()).toList();
+        assertThat(sharpe).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+    }
+
+    @Test
+    void singleCombinationHasNoSweep() {
+        feed(Map.of("PETR4", wave(100, 1)));
+        BacktestResultDto result = service.run(BacktestRequestDto.builder()
+                .tickers(List.of("PETR4"))
+                .strategy(StrategyType.RSI_THRESHOLD)
+                .build());
+
+        assertThat(result.getCombinations()).isEqualTo(1);
+        assertThat(result.getSweep()).isEmpty();
+        assertThat(result.getResults().get(0).getParameters())
+                .containsEntry("periods", 14.0).containsEntry("buyBelow", 30.0).containsEntry("sellAbove", 70.0);
+    }
+
+    @Test
+    void oversizedGridIsRejectedBeforeLoadingHistory() {
+        List<Double> values = IntStream.rangeClosed(1, 30).mapToDouble(i -> i).boxed().toList();
+        BacktestRequestDto request = BacktestRequestDto.builder()
+                .tickers(List.of("PETR4"))
+                .strategy(StrategyType.SMA_CROSSOVER)
+                .sweep(Map.of("fast", values, "slow", values))
+                .build();
+
+        assertThatThrownBy(() -> service.run(request)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Too many combinations");
+        verify(priceHistoryStore, never()).scanSince(anyCollection(), any(), any());
+    }
+
+    @Test
+    void historyBeyondThePointLimitIsRejected() {
+        service.shutdown();
+        service = new BacktestService(priceHistoryStore, 1, 150);
+        feed(Map.of("PETR4", wave(100, 1), "VALE3", wave(100, 2)));
+
+        assertThatThrownBy(() -> service.run(BacktestRequestDto.builder()
+                .tickers(List.of("PETR4", "VALE3"))
+                .strategy(StrategyType.SMA_CROSSOVER)
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Too much price history");
+    }
+
+    @Test
+    void tickerWithoutHistoryIsRejected() {
+        feed(Map.of("PETR4", wave(100, 1)));
+
+        assertThatThrownBy(() -> service.run(BacktestRequestDto.builder()
+                .tickers(List.of("PETR4", "ITUB4"))
+                .strategy(StrategyType.SMA_CROSSOVER)
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ITUB4");
+    }
+
+    private void feed(Map<String, double[]> closesByTicker) {
+        doAnswer(invocation -> {
+            PriceRowHandler handler = invocation.getArgument(2);
+            closesByTicker.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+                double[] closes = entry.getValue();
+                for (int i = 0; i < closes.length; i++) {
+                    handler.accept(entry.getKey(), 1_700_000_000_000L + i * DAY,
+                            closes[i], closes[i], closes[i], closes[i], 100);
+                }
+            });
+            return null;
+        }).when(priceHistoryStore).scanSince(anyCollection(), any(), any());
+    }
+
+    private static double[] wave(int size, double phase) {
+        double[] closes = new double[size];
+        for (int i = 0; i < size; i++) {
+            closes[i] = 100 + 10 * Math.sin(i / 8.0 + phase) + i * 0.05;
+        }
+        return closes;
+    }
+}
@@ -0,0 +1,129 @@
+package com.financial.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.financial.infrastructure.persistence.PriceHistoryPartitionManager;
+import com.financial.infrastructure.repository.PriceHistoryRepository;
+import com.financial.infrastructure.repository.PriceHistoryRepositoryImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Testcontainers(disabledWithoutDocker = true)
+class HistoryExportServiceTest {
+
+    private static final int ROWS = 10_000_000;
+    // Uma lista materializada com as linhas do período passaria de centenas de MB
+    private static final long MAX_HEAP_GROWTH = 32L * 1024 * 1024;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static HistoryExportService service;
+
+    @BeforeAll
+    static void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(),
+                POSTGRES.getUsername(), POSTGRES.getPassword());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE TABLE price_history (id bigserial PRIMARY KEY, ticker varchar(255) NOT NULL, " +
+                "timestamp timestamp NOT NULL, open numeric NOT NULL, high numeric NOT NULL, low numeric NOT NULL, " +
+                "close numeric NOT NULL, volume bigint NOT NULL)");
+        jdbcTemplate.update("INSERT INTO price_history (ticker, timestamp, open, high, low, close, volume) " +
+                "SELECT 'PETR4', localtimestamp - interval '1 day' - i * interval '1 second', " +
+                "round((30 + random() * 10)::numeric, 2), round((40 + random() * 10)::numeric, 2), " +
+                "round((20 + random() * 10)::numeric, 2), round((30 + random() * 10)::numeric, 2), " +
+                "(random() * 100000)::bigint " +
+                "FROM generate_series(1, ?) i", ROWS);
+
+        PriceHistoryPartitionManager partitionManager = mock(PriceHistoryPartitionManager.class);
+        when(partitionManager.rawHorizon()).thenReturn(Optional.empty());
+        PriceHistoryRepositoryImpl fragment = new PriceHistoryRepositoryImpl(jdbcTemplate, partitionManager,
+                transactionTemplate);
+        PriceHistoryRepository repository = mock(PriceHistoryRepository.class);
+        when(repository.streamBars(anyString(), any(), any())).thenAnswer(invocation -> fragment.streamBars(
+                invocation.getArgument(0), invocation.<LocalDateTime>getArgument(1), invocation.getArgument(2)));
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new HistoryExportService(repository, transactionTemplate, objectMapper, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void ndjsonExportStreamsWithBoundedHeap() throws IOException {
+        assertBoundedExport(HistoryExportService.Format.NDJSON, false);
+    }
+
+    @Test
+    void gzippedCsvExportStreamsWithBoundedHeap() throws IOException {
+        assertBoundedExport(HistoryExportService.Format.CSV, true);
+    }
+
+    private static void assertBoundedExport(HistoryExportService.Format format, boolean gzip) throws IOException {
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+
+        long rows = service.export("PETR4", "1y", format, gzip, out);
+
+        assertThat(rows).isEqualTo(ROWS);
+        assertThat(out.bytes).isGreaterThan(ROWS);
+        assertThat(out.samples).isGreaterThan(0);
+        assertThat(out.maxRetained - out.baseline).isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    // Descarta os bytes e mede o heap retido (após GC) a cada SAMPLE_INTERVAL bytes recebidos; com 10 milhões de
+    // linhas, o CSV compactado ainda gera dezenas de amostras
+    private static final class HeapSamplingOutputStream extends OutputStream {
+        private static final long SAMPLE_INTERVAL = 4L * 1024 * 1024;
+
+        private final long baseline = retainedHeap();
+        private long bytes;
+        private long nextSample = SAMPLE_INTERVAL;
+        private long maxRetained = baseline;
+        private int samples;
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count(len);
+        }
+
+        private void count(int length) {
+            bytes += length;
+            if (bytes >= nextSample) {
+                nextSample += SAMPLE_INTERVAL;
+                maxRetained = Math.max(maxRetained, retainedHeap());
+                samples++;
+            }
+        }
+
+        private static long retainedHeap() {
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
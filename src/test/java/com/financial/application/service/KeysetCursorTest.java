@@ -0,0 +1,51 @@
+package com.financial.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+
+    @Test
+    void scopeWithTheSeparatorRoundTrips() {
+        TransactionCursor cursor = new TransactionCursor("team|alice|", TIMESTAMP, 42);
+
+        assertThat(TransactionCursor.decode(cursor.encode(), "team|alice|")).isEqualTo(cursor);
+    }
+
+    @Test
+    void historyCursorKeepsFullTimestampPrecision() {
+        HistoryCursor cursor = new HistoryCursor("PETR4", TIMESTAMP, 7);
+
+        assertThat(HistoryCursor.decode(cursor.encode(), "PETR4")).isEqualTo(cursor);
+    }
+
+    @Test
+    void cursorFromAnotherScopeIsRejected() {
+        String token = new TransactionCursor("alice", TIMESTAMP, 42).encode();
+
+        assertThatThrownBy(() -> TransactionCursor.decode(token, "bob"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid transaction cursor");
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        String wrongVersion = new KeysetCursor("PETR4", TIMESTAMP, 7).encode("v1");
+        String badId = Base64.getUrlEncoder().encodeToString(
+                ("v3|" + TIMESTAMP + "|x|PETR4").getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> HistoryCursor.decode(wrongVersion, "PETR4")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HistoryCursor.decode(badId, "PETR4")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HistoryCursor.decode("not base64!", "PETR4"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid history cursor");
+    }
+}
@@ -0,0 +1,99 @@
+package com.financial.application.service;
+
+import com.financial.domain.indicator.IndicatorKernels;
+import com.financial.domain.model.PriceHistory;
+import com.financial.infrastructure.cache.AssetCatalog;
+import com.financial.infrastructure.repository.PriceHistoryStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StreamingIndicatorEngineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 10, 0);
+
+    private final PriceHistoryStore priceHistoryStore = mock(PriceHistoryStore.class);
+    private final AssetCatalog assetCatalog = mock(AssetCatalog.class);
+    private StreamingIndicatorEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new StreamingIndicatorEngine(priceHistoryStore, assetCatalog);
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "windowCapacity", 100);
+        when(assetCatalog.find(anyString())).thenReturn(Optional.empty());
+        when(assetCatalog.find("PETR4")).thenReturn(Optional.of(
+                new AssetCatalog.Entry(1L, "PETR4", "Petrobras", "STOCK", true)));
+    }
+
+    @Test
+    void unknownTickersNeverCreateWindows() {
+        assertThat(engine.rsi("NOPE", 14)).isEmpty();
+        engine.onTick(tick("NOPE", 10, 0));
+
+        verify(priceHistoryStore, never()).findLatestByTicker(anyString(), anyInt());
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(engine, "windows")).isEmpty();
+    }
+
+    @Test
+    void streamedRsiMatchesBatchOverTheSameHistory() {
+        double[] closes = new double[60];
+        List<PriceHistory> latestFirst = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            closes[i] = 20 + Math.sin(i / 3.0) * 2 + i * 0.05;
+            latestFirst.add(0, tick("PETR4", closes[i], i));
+        }
+        when(priceHistoryStore.findLatestByTicker("PETR4", 100)).thenReturn(latestFirst);
+
+        assertThat(engine.rsi("petr4", 14).getAsDouble()).isCloseTo(IndicatorKernels.rsi(closes, 40, 14), within(1e-9));
+        for (int i = 40; i < closes.length; i++) {
+            closes[i] = closes[i - 1] + (i % 3 == 0 ? -0.4 : 0.3);
+            engine.onTick(tick("PETR4", closes[i], i));
+        }
+        assertThat(engine.rsi("PETR4", 14).getAsDouble())
+                .isCloseTo(IndicatorKernels.rsi(closes, closes.length, 14), within(1e-9));
+        assertThat(engine.sma("PETR4", 20).getAsDouble())
+                .isCloseTo(IndicatorKernels.sma(closes, closes.length, 20), within(1e-9));
+    }
+
+    @Test
+    void emptyHistoryIsLoadedOnceAndFilledByTicks() {
+        when(priceHistoryStore.findLatestByTicker("PETR4", 100)).thenReturn(List.of());
+
+        assertThat(engine.sma("PETR4", 3)).isEmpty();
+        assertThat(engine.sma("PETR4", 3)).isEmpty();
+        engine.onTick(tick("PETR4", 10, 0));
+        engine.onTick(tick("PETR4", 11, 1));
+        engine.onTick(tick("PETR4", 12, 2));
+
+        assertThat(engine.sma("PETR4", 3).getAsDouble()).isCloseTo(11, within(1e-9));
+        verify(priceHistoryStore, times(1)).findLatestByTicker("PETR4", 100);
+    }
+
+    private static PriceHistory tick(String ticker, double close, int minute) {
+        BigDecimal price = BigDecimal.valueOf(close);
+        return PriceHistory.builder()
+                .ticker(ticker)
+                .open(price).high(price).low(price).close(price)
+                .volume(100L)
+                .timestamp(START.plusMinutes(minute))
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.financial.application.service;
+
+import com.financial.application.dto.CreateTransactionDto;
+import com.financial.application.dto.TransactionBatchItemDto;
+import com.financial.application.dto.TransactionBatchResultDto;
+import com.financial.domain.model.Transaction;
+import com.financial.infrastructure.cache.AssetCatalog;
+import com.financial.infrastructure.cache.RedisCacheService;
+import com.financial.infrastructure.persistence.TransactionWal;
+import com.financial.infrastructure.repository.TransactionRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionServiceTest {
+
+    private static final AssetCatalog.Entry PETR4 = new AssetCatalog.Entry(1L, "PETR4", "Petrobras PN", "STOCK", true);
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final AssetCatalog assetCatalog = mock(AssetCatalog.class);
+    private final PositionService positionService = mock(PositionService.class);
+    private final TransactionWal wal = mock(TransactionWal.class);
+    private final TransactionService service = new TransactionService(transactionRepository, assetCatalog,
+            positionService, mock(AssetService.class), mock(RedisCacheService.class),
+            Validation.buildDefaultValidatorFactory().getValidator(), mock(TransactionTemplate.class), Optional.of(wal));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchItemsOutsideTheColumnsAreRejectedIndividually() {
+        when(assetCatalog.findAll(anyCollection())).thenReturn(Map.of("PETR4", PETR4));
+
+        TransactionBatchResultDto result = service.createTransactions(List.of(
+                dto("10", "35.42"),
+                dto("0.000000001", "35.42"),
+                dto("10", "0.004"),
+                dto("1000000000000", "35.42"),
+                dto("1000000000", "1000000000")));
+
+        assertThat(result.getResults()).extracting(TransactionBatchItemDto::getStatus).containsExactly(
+                TransactionBatchItemDto.Status.CREATED,
+                TransactionBatchItemDto.Status.REJECTED,
+                TransactionBatchItemDto.Status.REJECTED,
+                TransactionBatchItemDto.Status.REJECTED,
+                TransactionBatchItemDto.Status.REJECTED);
+        assertThat(result.getResults().get(1).getError()).startsWith("quantity:");
+        assertThat(result.getResults().get(2).getError()).startsWith("price:");
+        assertThat(result.getResults().get(3).getError()).startsWith("quantity:");
+        assertThat(result.getResults().get(4).getError()).startsWith("totalValue:");
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).insertAll(inserted.capture());
+        assertThat(inserted.getValue()).extracting(Transaction::getQuantity)
+                .containsExactly(new BigDecimal("10.00000000"));
+    }
+
+    @Test
+    void overflowingTransactionIsRefusedBeforeTheLogAcknowledgesIt() {
+        when(assetCatalog.find("PETR4")).thenReturn(Optional.of(PETR4));
+
+        assertThatThrownBy(() -> service.createTransaction(dto("1000000000000", "35.42")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("quantity:");
+        verify(wal, never()).append(any());
+    }
+
+    private static CreateTransactionDto dto(String quantity, String price) {
+        return CreateTransactionDto.builder()
+                .userId("user-1")
+                .ticker("PETR4")
+                .type(Transaction.TransactionType.BUY)
+                .quantity(new BigDecimal(quantity))
+                .price(new BigDecimal(price))
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.financial.application.service;
+
+import com.financial.domain.model.Transaction;
+import com.financial.infrastructure.persistence.TransactionWal;
+import com.financial.infrastructure.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionWalDrainerTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final PositionService positionService = mock(PositionService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    // Referências gravadas no "banco": o insertAllIfAbsent do repositório ignora as repetidas
+    private final Set<String> stored = new HashSet<>();
+    private final List<Transaction> inserted = new ArrayList<>();
+    private TransactionWal wal;
+    private TransactionWalDrainer drainer;
+
+    @AfterEach
+    void tearDown() {
+        if (drainer != null) {
+            drainer.stop();
+        }
+        if (wal != null) {
+            wal.stop();
+        }
+    }
+
+    @Test
+    void crashBetweenCommitAndCheckpointReplaysWithoutDuplicates() throws InterruptedException {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(transactionRepository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> {
+            List<Transaction> created = new ArrayList<>();
+            for (Transaction transaction : invocation.<List<Transaction>>getArgument(0)) {
+                if (stored.add(transaction.getReference())) {
+                    created.add(transaction);
+                }
+            }
+            inserted.addAll(created);
+            return created;
+        });
+        startWal();
+        List<Transaction> appended = List.of(transaction(), transaction(), transaction());
+        appended.forEach(wal::append);
+        // Commit das duas primeiras no banco e queda antes do checkpoint
+        stored.add(appended.get(0).getReference());
+        stored.add(appended.get(1).getReference());
+        wal.stop();
+
+        startWal();
+        assertThat(wal.peek(10)).hasSize(3);
+        startDrainer();
+        awaitDrained();
+
+        assertThat(inserted).extracting(Transaction::getReference).containsExactly(appended.get(2).getReference());
+        verify(positionService).applyAll(List.of(inserted.get(0)));
+        assertThat(stored).hasSize(3);
+        drainer.stop();
+        wal.stop();
+        startWal();
+        assertThat(wal.peek(10)).isEmpty();
+    }
+
+    @Test
+    void entryRejectedByTheDatabaseIsDeadLetteredBeforeTheCheckpoint() throws InterruptedException {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Transaction rejected = transaction();
+        when(transactionRepository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> {
+            List<Transaction> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(transaction -> transaction.getReference().equals(rejected.getReference()))) {
+                throw new DataIntegrityViolationException("numeric field overflow");
+            }
+            return batch;
+        });
+        startWal();
+        Transaction accepted = transaction();
+        wal.append(accepted);
+        long sequence = wal.append(rejected);
+
+        startDrainer();
+        awaitDrained();
+
+        assertThat(wal.deadLetters()).containsExactly(new TransactionWal.Entry(sequence, rejected));
+        verify(positionService).applyAll(List.of(accepted));
+        assertThat(meterRegistry.get("transactions.wal.dead.letters").counter().count()).isEqualTo(1);
+    }
+
+    private void startWal() {
+        wal = new TransactionWal(meterRegistry, directory.toString(), 64L * 1024 * 1024, 1000, 100, Duration.ofSeconds(5));
+        wal.start();
+    }
+
+    private void startDrainer() {
+        drainer = new TransactionWalDrainer(wal, transactionRepository, positionService, transactionTemplate,
+                meterRegistry, 100, Duration.ofMillis(10));
+        drainer.start();
+    }
+
+    private void awaitDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (wal.depth() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(wal.depth()).isZero();
+    }
+
+    private static Transaction transaction() {
+        return Transaction.builder()
+                .reference(UUID.randomUUID().toString())
+                .userId("user-1")
+                .ticker("PETR4")
+                .type(Transaction.TransactionType.BUY)
+                .quantity(new BigDecimal("10.00000000"))
+                .price(new BigDecimal("35.42"))
+                .totalValue(new BigDecimal("354.20"))
+                .timestamp(LocalDateTime.of(2024, 3, 1, 10, 15))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.financial.domain.backtest;
+
+import com.financial.domain.indicator.PriceSeries;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class BacktestEngineTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    // SMA(2) cruza acima da SMA(3) no candle 3 (11) e abaixo no candle 7 (12)
+    @Test
+    void smaCrossoverTradesOnCrossings() {
+        PriceSeries series = series(10, 10, 10, 11, 12, 14, 13, 12, 11, 11);
+        BacktestConfig config = new BacktestConfig(StrategyType.SMA_CROSSOVER,
+                Map.of("fast", 2.0, "slow", 3.0), 10000, 1, 0);
+
+        BacktestResult result = BacktestEngine.run(series, config);
+
+        assertThat(result.trades()).hasSize(1);
+        Trade trade = result.trades().get(0);
+        assertThat(trade.entryTime()).isEqualTo(series.timestamps()[3]);
+        assertThat(trade.entryPrice()).isEqualTo(11);
+        assertThat(trade.exitTime()).isEqualTo(series.timestamps()[7]);
+        assertThat(trade.exitPrice()).isEqualTo(12);
+        assertThat(trade.profit()).isCloseTo(10000.0 / 11, within(TOLERANCE));
+        assertThat(result.stats().finalEquity()).isCloseTo(10000 + 10000.0 / 11, within(TOLERANCE));
+    }
+
+    // Taxa cobrada na entrada e na saída; metade do capital alocada
+    @Test
+    void tradeProfitIncludesFeesAndPositionSize() {
+        PriceSeries series = series(10, 10, 10, 11, 12, 14, 13, 12, 11, 11);
+        BacktestConfig config = new BacktestConfig(StrategyType.SMA_CROSSOVER,
+                Map.of("fast", 2.0, "slow", 3.0), 10000, 0.5, 0.01);
+
+        BacktestResult result = BacktestEngine.run(series, config);
+
+        Trade trade = result.trades().get(0);
+        double quantity = 5000 * 0.99 / 11;
+        double proceeds = quantity * 12 * 0.99;
+        assertThat(trade.quantity()).isCloseTo(quantity, within(TOLERANCE));
+        assertThat(trade.profit()).isCloseTo(proceeds - 5000, within(TOLERANCE));
+        assertThat(trade.returnPercent()).isCloseTo(proceeds / 5000 - 1, within(TOLERANCE));
+        assertThat(result.stats().finalEquity()).isCloseTo(5000 + proceeds, within(TOLERANCE));
+        assertThat(result.stats().winRate()).isEqualTo(1);
+    }
+
+    // RSI(2) de Wilder: 0 após duas quedas (compra a 8), 50 e depois 75 nas altas seguintes (vende a 10)
+    @Test
+    void rsiThresholdBuysOversoldAndSellsOverbought() {
+        PriceSeries series = series(10, 9, 8, 9, 10, 11);
+        BacktestConfig config = new BacktestConfig(StrategyType.RSI_THRESHOLD,
+                Map.of("periods", 2.0, "buyBelow", 30.0, "sellAbove", 70.0), 10000, 1, 0);
+
+        BacktestResult result = BacktestEngine.run(series, config);
+
+        assertThat(result.trades()).hasSize(1);
+        Trade trade = result.trades().get(0);
+        assertThat(trade.entryPrice()).isEqualTo(8);
+        assertThat(trade.exitPrice()).isEqualTo(10);
+        assertThat(trade.profit()).isCloseTo(2500, within(TOLERANCE));
+        assertThat(result.equity()).hasSize(6);
+        assertThat(result.equity()[5]).isCloseTo(12500, within(TOLERANCE));
+    }
+
+    // Posição aberta no último candle é encerrada para contabilizar o trade
+    @Test
+    void openPositionIsClosedOnTheLastCandle() {
+        PriceSeries series = series(10, 10, 10, 11, 12, 13);
+        BacktestConfig config = new BacktestConfig(StrategyType.SMA_CROSSOVER,
+                Map.of("fast", 2.0, "slow", 3.0), 1000, 1, 0);
+
+        BacktestResult result = BacktestEngine.run(series, config);
+
+        assertThat(result.trades()).hasSize(1);
+        assertThat(result.trades().get(0).exitTime()).isEqualTo(series.timestamps()[5]);
+        assertThat(result.trades().get(0).exitPrice()).isEqualTo(13);
+        assertThat(result.stats().totalReturn()).isCloseTo(13.0 / 11 - 1, within(TOLERANCE));
+    }
+
+    @Test
+    void invalidParametersAreRejected() {
+        PriceSeries series = series(10, 11, 12);
+
+        assertThatThrownBy(() -> BacktestEngine.run(series, new BacktestConfig(StrategyType.SMA_CROSSOVER,
+                Map.of("fast", 5.0, "slow", 3.0), 1000, 1, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BacktestConfig(StrategyType.RSI_THRESHOLD, Map.of("window", 3.0), 1000, 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PriceSeries series(double... closes) {
+        PriceSeries.Builder builder = new PriceSeries.Builder("TEST", closes.length);
+        for (int i = 0; i < closes.length; i++) {
+            builder.append(1_700_000_000_000L + i * 86_400_000L, closes[i], closes[i], closes[i], closes[i], 100);
+        }
+        return builder.build();
+    }
+}
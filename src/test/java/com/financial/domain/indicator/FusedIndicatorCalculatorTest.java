@@ -0,0 +1,166 @@
+package com.financial.domain.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class FusedIndicatorCalculatorTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void singleValueIndicatorsMatchTheKernels() {
+        PriceSeries series = randomSeries(120, 1);
+        double[] close = series.close();
+        int size = series.size();
+
+        Map<IndicatorSpec, Map<String, Double>> results = FusedIndicatorCalculator.compute(series, List.of(
+                new IndicatorSpec(IndicatorType.SMA, 20),
+                new IndicatorSpec(IndicatorType.RSI, 14),
+                new IndicatorSpec(IndicatorType.VOLATILITY, 30)));
+
+        assertThat(results.get(new IndicatorSpec(IndicatorType.SMA, 20)).get("value"))
+                .isEqualTo(IndicatorKernels.sma(close, size, 20));
+        assertThat(results.get(new IndicatorSpec(IndicatorType.RSI, 14)).get("value"))
+                .isEqualTo(IndicatorKernels.rsi(close, size, 14));
+        assertThat(results.get(new IndicatorSpec(IndicatorType.VOLATILITY, 30)).get("value"))
+                .isEqualTo(IndicatorKernels.volatility(close, size, 30));
+    }
+
+    @Test
+    void emaAndMacdFollowTheTextbookRecurrence() {
+        PriceSeries series = randomSeries(200, 2);
+        double[] close = series.close();
+
+        Map<IndicatorSpec, Map<String, Double>> results = FusedIndicatorCalculator.compute(series, List.of(
+                new IndicatorSpec(IndicatorType.EMA, 10), IndicatorSpec.parse("macd")));
+
+        double[] ema10 = emaSeries(close, 10);
+        assertThat(results.get(new IndicatorSpec(IndicatorType.EMA, 10)).get("value"))
+                .isCloseTo(ema10[close.length - 1], within(TOLERANCE));
+
+        double[] fast = emaSeries(close, IndicatorSpec.MACD_FAST);
+        double[] slow = emaSeries(close, IndicatorSpec.MACD_SLOW);
+        double[] line = new double[close.length - IndicatorSpec.MACD_SLOW + 1];
+        for (int i = 0; i < line.length; i++) {
+            line[i] = fast[i + IndicatorSpec.MACD_SLOW - 1] - slow[i + IndicatorSpec.MACD_SLOW - 1];
+        }
+        double[] signal = emaSeries(line, IndicatorSpec.MACD_SIGNAL);
+        Map<String, Double> macd = results.get(IndicatorSpec.parse("macd"));
+        assertThat(macd.get("macd")).isCloseTo(line[line.length - 1], within(TOLERANCE));
+        assertThat(macd.get("signal")).isCloseTo(signal[signal.length - 1], within(TOLERANCE));
+        assertThat(macd.get("histogram")).isCloseTo(line[line.length - 1] - signal[signal.length - 1], within(TOLERANCE));
+    }
+
+    @Test
+    void rangeIndicatorsUseHighAndLow() {
+        PriceSeries series = randomSeries(60, 3);
+        double[] high = series.high();
+        double[] low = series.low();
+        double[] close = series.close();
+        int size = series.size();
+
+        Map<IndicatorSpec, Map<String, Double>> results = FusedIndicatorCalculator.compute(series, List.of(
+                new IndicatorSpec(IndicatorType.ATR, 14),
+                new IndicatorSpec(IndicatorType.STOCHASTIC, 14),
+                new IndicatorSpec(IndicatorType.BOLLINGER, 20)));
+
+        double atr = 0;
+        for (int i = 1; i <= 14; i++) {
+            atr += trueRange(high, low, close, i) / 14;
+        }
+        for (int i = 15; i < size; i++) {
+            atr = (atr * 13 + trueRange(high, low, close, i)) / 14;
+        }
+        assertThat(results.get(new IndicatorSpec(IndicatorType.ATR, 14)).get("value")).isCloseTo(atr, within(TOLERANCE));
+
+        double[] k = new double[3];
+        for (int s = 0; s < 3; s++) {
+            int last = size - 3 + s;
+            double highest = Double.NEGATIVE_INFINITY;
+            double lowest = Double.POSITIVE_INFINITY;
+            for (int i = last - 13; i <= last; i++) {
+                highest = Math.max(highest, high[i]);
+                lowest = Math.min(lowest, low[i]);
+            }
+            k[s] = (close[last] - lowest) / (highest - lowest) * 100;
+        }
+        Map<String, Double> stochastic = results.get(new IndicatorSpec(IndicatorType.STOCHASTIC, 14));
+        assertThat(stochastic.get("k")).isCloseTo(k[2], within(TOLERANCE));
+        assertThat(stochastic.get("d")).isCloseTo((k[0] + k[1] + k[2]) / 3, within(TOLERANCE));
+
+        double mean = 0;
+        for (int i = size - 20; i < size; i++) {
+            mean += close[i] / 20;
+        }
+        double variance = 0;
+        for (int i = size - 20; i < size; i++) {
+            variance += (close[i] - mean) * (close[i] - mean) / 20;
+        }
+        Map<String, Double> bollinger = results.get(new IndicatorSpec(IndicatorType.BOLLINGER, 20));
+        assertThat(bollinger.get("middle")).isCloseTo(mean, within(TOLERANCE));
+        assertThat(bollinger.get("upper")).isCloseTo(mean + 2 * Math.sqrt(variance), within(TOLERANCE));
+    }
+
+    @Test
+    void insufficientHistoryYieldsEmptyResults() {
+        PriceSeries series = randomSeries(10, 4);
+
+        Map<IndicatorSpec, Map<String, Double>> results = FusedIndicatorCalculator.compute(series, List.of(
+                new IndicatorSpec(IndicatorType.RSI, 10), new IndicatorSpec(IndicatorType.ATR, 10),
+                IndicatorSpec.parse("macd"), new IndicatorSpec(IndicatorType.SMA, 10)));
+
+        assertThat(results.get(new IndicatorSpec(IndicatorType.RSI, 10))).isEmpty();
+        assertThat(results.get(new IndicatorSpec(IndicatorType.ATR, 10))).isEmpty();
+        assertThat(results.get(IndicatorSpec.parse("macd"))).isEmpty();
+        assertThat(results.get(new IndicatorSpec(IndicatorType.SMA, 10))).containsKey("value");
+    }
+
+    // EMA semeada com a SMA dos primeiros N pontos, NaN antes disso
+    private static double[] emaSeries(double[] values, int periods) {
+        double[] out = new double[values.length];
+        double alpha = 2.0 / (periods + 1);
+        double sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i < periods - 1) {
+                sum += values[i];
+                out[i] = Double.NaN;
+            } else if (i == periods - 1) {
+                out[i] = (sum + values[i]) / periods;
+            } else {
+                out[i] = out[i - 1] + alpha * (values[i] - out[i - 1]);
+            }
+        }
+        return out;
+    }
+
+    private static double trueRange(double[] high, double[] low, double[] close, int i) {
+        return Math.max(high[i] - low[i], Math.max(Math.abs(high[i] - close[i - 1]), Math.abs(low[i] - close[i - 1])));
+    }
+
+    static PriceSeries randomSeries(int size, long seed) {
+        Random random = new Random(seed);
+        long[] timestamps = new long[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        long[] volume = new long[size];
+        double price = 100;
+        for (int i = 0; i < size; i++) {
+            open[i] = price;
+            price *= 1 + (random.nextDouble() - 0.5) * 0.04;
+            close[i] = price;
+            high[i] = Math.max(open[i], close[i]) * (1 + random.nextDouble() * 0.01);
+            low[i] = Math.min(open[i], close[i]) * (1 - random.nextDouble() * 0.01);
+            timestamps[i] = 1_700_000_000_000L + i * 60_000L;
+            volume[i] = 1000 + random.nextInt(1000);
+        }
+        return new PriceSeries("TEST", timestamps, open, high, low, close, volume);
+    }
+}
@@ -0,0 +1,120 @@
+package com.financial.domain.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LttbDownsamplerTest {
+
+    @Test
+    void streamingMatchesTheListBasedReference() {
+        Random random = new Random(7);
+        for (int n : new int[]{3, 4, 10, 99, 100, 101, 1000, 4321}) {
+            List<Point> points = series(random, n);
+            for (int threshold : new int[]{3, 4, 5, 7, 50, 99, 100, 1000}) {
+                List<Point> sampled = LttbDownsampler.downsample(points, threshold, Point::x, Point::y);
+
+                assertThat(sampled).as("n=%d threshold=%d", n, threshold)
+                        .containsExactlyElementsOf(reference(points, threshold))
+                        .hasSizeLessThanOrEqualTo(threshold);
+            }
+        }
+    }
+
+    @Test
+    void rowsInsertedAfterTheCountFallIntoTheLastBucket() {
+        List<Point> points = series(new Random(8), 1500);
+        List<Point> sampled = new ArrayList<>();
+        LttbDownsampler<Point> downsampler = new LttbDownsampler<>(1000, 50, Point::x, Point::y, sampled::add);
+
+        points.forEach(downsampler);
+        downsampler.finish();
+
+        assertThat(sampled).hasSize(50);
+        assertThat(sampled.get(0)).isEqualTo(points.get(0));
+        assertThat(sampled.get(49)).isEqualTo(points.get(1499));
+    }
+
+    @Test
+    void passThroughKeepsTheNewestPointWithinTheThreshold() {
+        List<Point> points = series(new Random(9), 15);
+        List<Point> sampled = new ArrayList<>();
+        LttbDownsampler<Point> downsampler = new LttbDownsampler<>(5, 10, Point::x, Point::y, sampled::add);
+
+        points.forEach(downsampler);
+        downsampler.finish();
+
+        assertThat(sampled).hasSize(10);
+        assertThat(sampled.subList(0, 9)).containsExactlyElementsOf(points.subList(0, 9));
+        assertThat(sampled.get(9)).isEqualTo(points.get(14));
+    }
+
+    @Test
+    void seriesWithinTheThresholdIsReturnedUnchanged() {
+        List<Point> points = series(new Random(10), 20);
+
+        assertThat(LttbDownsampler.downsample(points, 20, Point::x, Point::y)).containsExactlyElementsOf(points);
+        assertThat(LttbDownsampler.downsample(points, 500, Point::x, Point::y)).containsExactlyElementsOf(points);
+    }
+
+    // LTTB sobre a lista inteira, como descrito por Steinarsson (2013), com os limites dos buckets em aritmética
+    // inteira (floor(i * (n - 2) / (threshold - 2)))
+    private static List<Point> reference(List<Point> data, int threshold) {
+        int n = data.size();
+        if (threshold >= n || threshold < 3) {
+            return data;
+        }
+        List<Point> sampled = new ArrayList<>();
+        long span = n - 2;
+        int buckets = threshold - 2;
+        int a = 0;
+        sampled.add(data.get(0));
+        for (int i = 0; i < threshold - 2; i++) {
+            int averageStart = (int) ((i + 1) * span / buckets) + 1;
+            int averageEnd = Math.min((int) ((i + 2) * span / buckets) + 1, n);
+            double averageX = 0;
+            double averageY = 0;
+            for (int j = averageStart; j < averageEnd; j++) {
+                averageX += data.get(j).x();
+                averageY += data.get(j).y();
+            }
+            averageX /= averageEnd - averageStart;
+            averageY /= averageEnd - averageStart;
+
+            int rangeStart = (int) (i * span / buckets) + 1;
+            int rangeEnd = (int) ((i + 1) * span / buckets) + 1;
+            Point pointA = data.get(a);
+            double maxArea = -1;
+            int nextA = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((pointA.x() - averageX) * (data.get(j).y() - pointA.y())
+                        - (pointA.x() - data.get(j).x()) * (averageY - pointA.y()));
+                if (area > maxArea) {
+                    maxArea = area;
+                    nextA = j;
+                }
+            }
+            sampled.add(data.get(nextA));
+            a = nextA;
+        }
+        sampled.add(data.get(n - 1));
+        return sampled;
+    }
+
+    private static List<Point> series(Random random, int size) {
+        List<Point> points = new ArrayList<>(size);
+        double y = 100;
+        for (int i = 0; i < size; i++) {
+            y += random.nextGaussian();
+            points.add(new Point(1_700_000_000_000.0 + i * 60_000.0, y));
+        }
+        return points;
+    }
+
+    private record Point(double x, double y) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.financial.domain.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// Paridade entre o cálculo incremental e os kernels em lote sobre a mesma sequência de preços
+class RollingPriceWindowTest {
+
+    private static final double TOLERANCE = 1e-9;
+    private static final int CAPACITY = 50;
+
+    @Test
+    void streamingMatchesBatchTickByTick() {
+        double[] prices = randomWalk(400, 11);
+        RollingPriceWindow window = new RollingPriceWindow(CAPACITY);
+        window.seed(Arrays.copyOf(prices, 30), timestamps(0, 30));
+
+        for (int end = 30; end <= prices.length; end++) {
+            if (end > 30) {
+                window.append(prices[end - 1], end - 1);
+            }
+            assertThat(window.rsi(14).getAsDouble()).isCloseTo(IndicatorKernels.rsi(prices, end, 14), within(TOLERANCE));
+            assertThat(window.sma(20).getAsDouble()).isCloseTo(IndicatorKernels.sma(prices, end, 20), within(TOLERANCE));
+            assertThat(window.volatility(20).getAsDouble())
+                    .isCloseTo(IndicatorKernels.volatility(prices, end, 20), within(TOLERANCE));
+        }
+    }
+
+    // O RSI de Wilder continua a partir do seed mesmo depois que o anel e a reconstrução periódica passaram
+    @Test
+    void wilderRsiKeepsHistoryBeyondTheRing() {
+        double[] prices = randomWalk(10 * CAPACITY, 12);
+        RollingPriceWindow window = new RollingPriceWindow(CAPACITY);
+        window.seed(Arrays.copyOf(prices, 20), timestamps(0, 20));
+        assertThat(window.rsi(14)).isPresent();
+        for (int i = 20; i < prices.length; i++) {
+            window.append(prices[i], i);
+        }
+
+        assertThat(window.rsi(14).getAsDouble()).isCloseTo(IndicatorKernels.rsi(prices, prices.length, 14), within(TOLERANCE));
+        assertThat(IndicatorKernels.rsiSeries(prices, 14)[prices.length - 1])
+                .isCloseTo(IndicatorKernels.rsi(prices, prices.length, 14), within(TOLERANCE));
+    }
+
+    @Test
+    void wilderSmoothingWeightsEachNewChangeByOneOverN() {
+        RollingPriceWindow window = new RollingPriceWindow(CAPACITY);
+        window.seed(new double[]{10, 11, 12}, timestamps(0, 3));
+        assertThat(window.rsi(2).getAsDouble()).isEqualTo(100);
+
+        // Médias semeadas: ganho 1, perda 0; após queda de 2: ganho 0.5, perda 1
+        window.append(10, 3);
+        assertThat(window.rsi(2).getAsDouble()).isCloseTo(100 - 100 / 1.5, within(TOLERANCE));
+    }
+
+    // Tracker criado depois dos ticks usa todo o conteúdo do anel, como o cálculo em lote sobre os mesmos pontos
+    @Test
+    void lateTrackerStartsFromTheRingContents() {
+        double[] prices = randomWalk(3 * CAPACITY, 13);
+        RollingPriceWindow window = new RollingPriceWindow(CAPACITY);
+        window.seed(Arrays.copyOf(prices, 10), timestamps(0, 10));
+        for (int i = 10; i < prices.length; i++) {
+            window.append(prices[i], i);
+        }
+
+        double[] ring = Arrays.copyOfRange(prices, prices.length - CAPACITY, prices.length);
+        assertThat(window.rsi(7).getAsDouble()).isCloseTo(IndicatorKernels.rsi(ring, ring.length, 7), within(TOLERANCE));
+    }
+
+    @Test
+    void staleAndInsufficientDataAreIgnored() {
+        RollingPriceWindow window = new RollingPriceWindow(CAPACITY);
+        window.seed(new double[]{10, 11}, timestamps(0, 2));
+        assertThat(window.rsi(2)).isEmpty();
+
+        window.append(9, 1);
+        assertThat(window.rsi(2)).isEmpty();
+        window.append(9, 2);
+        assertThat(window.rsi(2)).isPresent();
+    }
+
+    private static long[] timestamps(int from, int count) {
+        long[] timestamps = new long[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = from + i;
+        }
+        return timestamps;
+    }
+
+    private static double[] randomWalk(int size, long seed) {
+        Random random = new Random(seed);
+        double[] prices = new double[size];
+        double price = 50;
+        for (int i = 0; i < size; i++) {
+            price *= 1 + (random.nextDouble() - 0.5) * 0.02;
+            prices[i] = price;
+        }
+        return prices;
+    }
+}
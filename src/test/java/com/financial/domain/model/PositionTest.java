@@ -0,0 +1,86 @@
+package com.financial.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PositionTest {
+
+    private final Position position = Position.empty("user-1", "PETR4");
+
+    @Test
+    void partialSellRealizesAgainstTheAverageCost() {
+        buy("10", "100");
+
+        sell("4", "60");
+
+        assertPosition("6", "60", "20");
+        assertThat(position.averageCost()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void oversellClosesTheLongAndOpensAShortWithItsProceedsAsBasis() {
+        buy("10", "100");
+
+        sell("15", "180");
+
+        // Só os 10 vendidos contra o comprado são realizados (120 - 100); os 5 a descoberto ficam em aberto
+        assertPosition("-5", "-60", "20");
+        assertThat(position.averageCost()).isEqualByComparingTo("12");
+    }
+
+    @Test
+    void shortFromFlatRealizesNothingUntilCovered() {
+        sell("5", "60");
+
+        assertPosition("-5", "-60", "0");
+    }
+
+    @Test
+    void partialCoverRealizesOnlyTheCoveredShares() {
+        sell("5", "60");
+
+        buy("2", "20");
+
+        assertPosition("-3", "-36", "4");
+        assertThat(position.averageCost()).isEqualByComparingTo("12");
+    }
+
+    @Test
+    void fullCoverRealizesTheRestAndClearsTheBasis() {
+        sell("5", "60");
+        buy("2", "20");
+
+        buy("3", "39");
+
+        assertPosition("0", "0", "1");
+        assertThat(position.getBuyCount()).isEqualTo(2);
+        assertThat(position.getSellCount()).isEqualTo(1);
+    }
+
+    @Test
+    void coverBeyondTheShortOpensALong() {
+        sell("5", "60");
+
+        buy("8", "80");
+
+        assertPosition("3", "30", "10");
+        assertThat(position.averageCost()).isEqualByComparingTo("10");
+    }
+
+    private void buy(String quantity, String totalValue) {
+        position.apply(Transaction.TransactionType.BUY, new BigDecimal(quantity), new BigDecimal(totalValue));
+    }
+
+    private void sell(String quantity, String totalValue) {
+        position.apply(Transaction.TransactionType.SELL, new BigDecimal(quantity), new BigDecimal(totalValue));
+    }
+
+    private void assertPosition(String quantity, String costBasis, String realizedPnl) {
+        assertThat(position.getQuantity()).isEqualByComparingTo(quantity);
+        assertThat(position.getCostBasis()).isEqualByComparingTo(costBasis);
+        assertThat(position.getRealizedPnl()).isEqualByComparingTo(realizedPnl);
+    }
+}
@@ -0,0 +1,54 @@
+package com.financial.domain.risk;
+
+import com.financial.domain.indicator.BarInterval;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AlignedClosesTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long T0 = 1_700_000_000_000L - 1_700_000_000_000L % MINUTE;
+
+    @Test
+    void lastCloseOfEachBucketPrevailsAndGapsAreNaN() {
+        AlignedCloses.Builder builder = new AlignedCloses.Builder(BarInterval.parse("1m"), List.of("AAA", "BBB", "CCC"));
+        builder.add("AAA", T0, 10);
+        builder.add("AAA", T0 + 30_000, 11);
+        builder.add("AAA", T0 + 2 * MINUTE, 12);
+        builder.add("BBB", T0 + MINUTE, 20);
+        builder.add("BBB", T0 + MINUTE + 1, -1);
+        builder.add("ZZZ", T0, 99);
+
+        AlignedCloses aligned = builder.build(10);
+
+        assertThat(builder.tickersWithData()).isEqualTo(2);
+        assertThat(aligned.tickers()).containsExactly("AAA", "BBB");
+        assertThat(aligned.buckets()).containsExactly(T0, T0 + MINUTE, T0 + 2 * MINUTE);
+        double[] aaa = aligned.logCloses()[0];
+        assertThat(aaa[0]).isCloseTo(Math.log(11), within(1e-12));
+        assertThat(aaa[1]).isNaN();
+        assertThat(aaa[2]).isCloseTo(Math.log(12), within(1e-12));
+        double[] bbb = aligned.logCloses()[1];
+        assertThat(bbb[0]).isNaN();
+        assertThat(bbb[1]).isCloseTo(Math.log(20), within(1e-12));
+    }
+
+    @Test
+    void keepsOnlyTheLatestBuckets() {
+        AlignedCloses.Builder builder = new AlignedCloses.Builder(BarInterval.parse("1m"), List.of("AAA", "BBB"));
+        for (int i = 0; i < 200; i++) {
+            builder.add("AAA", T0 + i * MINUTE, 10 + i);
+            builder.add("BBB", T0 + i * MINUTE, 50 - i * 0.1);
+        }
+
+        AlignedCloses aligned = builder.build(5);
+
+        assertThat(aligned.buckets()).hasSize(5);
+        assertThat(aligned.buckets()[0]).isEqualTo(T0 + 195 * MINUTE);
+        assertThat(aligned.logCloses()[0][4]).isCloseTo(Math.log(209), within(1e-12));
+    }
+}
@@ -0,0 +1,60 @@
+package com.financial.domain.service;
+
+import com.financial.domain.model.PriceHistory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssetDomainServiceTest {
+
+    private final AssetDomainService domainService = new AssetDomainService();
+
+    // findLatestByTicker devolve o mais recente primeiro: uma alta contínua precisa resultar em RSI 100
+    @Test
+    void risingPricesGiveMaximumRsi() {
+        List<PriceHistory> latestFirst = latestFirst(100, 101, 102, 103, 104, 105);
+
+        assertThat(domainService.calculateRSI(latestFirst, 5)).isEqualByComparingTo("100");
+    }
+
+    @Test
+    void fallingPricesGiveMinimumRsi() {
+        List<PriceHistory> latestFirst = latestFirst(105, 104, 103, 102, 101, 100);
+
+        assertThat(domainService.calculateRSI(latestFirst, 5)).isEqualByComparingTo("0");
+    }
+
+    // Ganhos 2 + 2 contra perda de 1: avgGain / avgLoss = 4
+    @Test
+    void gainsAndLossesFollowChronologicalOrder() {
+        List<PriceHistory> latestFirst = latestFirst(100, 102, 101, 103);
+
+        assertThat(domainService.calculateRSI(latestFirst, 3)).isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    void insufficientHistoryIsNeutral() {
+        assertThat(domainService.calculateRSI(latestFirst(100, 101), 5)).isEqualByComparingTo("50");
+    }
+
+    // Recebe os preços em ordem cronológica e devolve como o repositório: do mais recente para o mais antigo
+    private static List<PriceHistory> latestFirst(double... chronological) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 2, 10, 0);
+        List<PriceHistory> history = new ArrayList<>();
+        for (int i = chronological.length - 1; i >= 0; i--) {
+            BigDecimal close = BigDecimal.valueOf(chronological[i]);
+            history.add(PriceHistory.builder()
+                    .ticker("TEST")
+                    .open(close).high(close).low(close).close(close)
+                    .volume(1000L)
+                    .timestamp(start.plusMinutes(i))
+                    .build());
+        }
+        return history;
+    }
+}
@@ -0,0 +1,112 @@
+package com.financial.infrastructure.cache;
+
+import com.financial.domain.model.Asset;
+import com.financial.infrastructure.repository.AssetRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AssetCatalogTest {
+
+    private final AssetRepository assetRepository = mock(AssetRepository.class);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void snapshotMissFoundInTheDatabaseIsMergedIntoTheSnapshot() {
+        AssetCatalog catalog = catalog(Duration.ofSeconds(30));
+        when(assetRepository.findAll()).thenReturn(List.of(asset("PETR4", "STOCK")));
+        when(assetRepository.findByTicker("VALE3")).thenReturn(Optional.of(asset("VALE3", "STOCK")));
+
+        assertThat(catalog.find("vale3")).map(AssetCatalog.Entry::ticker).contains("VALE3");
+
+        assertThat(catalog.find("VALE3")).isPresent();
+        assertThat(catalog.findAll(Set.of("PETR4", "VALE3"))).containsOnlyKeys("PETR4", "VALE3");
+        assertThat(catalog.activeByCategory("stock")).extracting(AssetCatalog.Entry::ticker)
+                .containsExactly("PETR4", "VALE3");
+        verify(assetRepository, times(1)).findByTicker("VALE3");
+        verify(assetRepository, never()).findByTickerIn(anyCollection());
+    }
+
+    @Test
+    void unknownTickerIsLookedUpAgainAfterTheNegativeTtl() throws InterruptedException {
+        AssetCatalog catalog = catalog(Duration.ofMillis(50));
+        when(assetRepository.findAll()).thenReturn(List.of());
+        when(assetRepository.findByTicker("NOPE3")).thenReturn(Optional.empty());
+
+        assertThat(catalog.find("NOPE3")).isEmpty();
+        assertThat(catalog.find("NOPE3")).isEmpty();
+        assertThat(catalog.findAll(Set.of("NOPE3"))).isEmpty();
+        verify(assetRepository, times(1)).findByTicker("NOPE3");
+        verify(assetRepository, never()).findByTickerIn(anyCollection());
+
+        // Criado em outra instância enquanto estava no cache negativo
+        when(assetRepository.findByTicker("NOPE3")).thenReturn(Optional.of(asset("NOPE3", "STOCK")));
+        Thread.sleep(150);
+
+        assertThat(catalog.find("NOPE3")).isPresent();
+        verify(assetRepository, times(2)).findByTicker("NOPE3");
+    }
+
+    @Test
+    void registeredAssetIsPublishedOnlyAfterCommit() {
+        AssetCatalog catalog = catalog(Duration.ofSeconds(30));
+        when(assetRepository.findAll()).thenReturn(List.of());
+        catalog.reload();
+
+        TransactionSynchronizationManager.initSynchronization();
+        catalog.register(asset("BBAS3", "STOCK"));
+        assertThat(catalog.active()).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(catalog.active()).extracting(AssetCatalog.Entry::ticker).containsExactly("BBAS3");
+    }
+
+    @Test
+    void rolledBackRegistrationIsNeverPublished() {
+        AssetCatalog catalog = catalog(Duration.ofSeconds(30));
+        when(assetRepository.findAll()).thenReturn(List.of());
+        catalog.reload();
+
+        TransactionSynchronizationManager.initSynchronization();
+        catalog.register(asset("BBAS3", "STOCK"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(catalog.active()).isEmpty();
+    }
+
+    private AssetCatalog catalog(Duration negativeTtl) {
+        return new AssetCatalog(assetRepository, new SimpleMeterRegistry(), negativeTtl);
+    }
+
+    private static Asset asset(String ticker, String category) {
+        return Asset.builder()
+                .id((long) ticker.hashCode())
+                .ticker(ticker)
+                .name(ticker)
+                .category(category)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.financial.infrastructure.cache.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financial.application.dto.AssetQuoteDto;
+import com.financial.application.dto.IndicatorResultDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryCacheCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final BinaryCacheCodec codec = new BinaryCacheCodec(objectMapper,
+            List.of(new AssetQuoteSchema(), new IndicatorResultSchema()));
+
+    @Test
+    void quoteRoundTripsWithScalesAndNanos() throws IOException {
+        AssetQuoteDto quote = quote();
+
+        byte[] bytes = codec.encode(quote);
+
+        assertThat(bytes[0]).isEqualTo((byte) BinaryCacheCodec.BINARY_FORMAT);
+        assertThat(codec.decode(bytes, AssetQuoteDto.class)).isEqualTo(quote);
+    }
+
+    @Test
+    void nullFieldsAreOmittedAndStayNull() throws IOException {
+        AssetQuoteDto quote = AssetQuoteDto.builder().ticker("VALE3").currentPrice(new BigDecimal("61.2")).build();
+
+        assertThat(codec.decode(codec.encode(quote), AssetQuoteDto.class)).isEqualTo(quote);
+    }
+
+    @Test
+    void indicatorRoundTripsWithComponentsInOrder() throws IOException {
+        IndicatorResultDto result = indicator();
+
+        IndicatorResultDto decoded = codec.decode(codec.encode(result), IndicatorResultDto.class);
+
+        assertThat(decoded).isEqualTo(result);
+        assertThat(decoded.getComponents()).containsExactly(
+                Map.entry("macd", new BigDecimal("0.4213")),
+                Map.entry("signal", new BigDecimal("-0.1002")),
+                Map.entry("histogram", new BigDecimal("123456789012345678901234.5678")));
+    }
+
+    @Test
+    void olderQuotePayloadWithoutLaterFieldsIsReadable() throws IOException {
+        // Payload de uma versão anterior do schema: sem variação nem origem
+        byte[] older = new BinaryWriter(32)
+                .writeByte(BinaryCacheCodec.BINARY_FORMAT)
+                .writeByte(1)
+                .writeByte(0)
+                .writeString(1, "PETR4")
+                .writeDecimal(4, new BigDecimal("35.42"))
+                .writeDateTime(8, LocalDateTime.of(2024, 3, 1, 10, 0))
+                .toByteArray();
+
+        AssetQuoteDto quote = codec.decode(older, AssetQuoteDto.class);
+
+        assertThat(quote.getTicker()).isEqualTo("PETR4");
+        assertThat(quote.getCurrentPrice()).isEqualTo(new BigDecimal("35.42"));
+        assertThat(quote.getLastUpdated()).isEqualTo(LocalDateTime.of(2024, 3, 1, 10, 0));
+        assertThat(quote.getPriceChange()).isNull();
+        assertThat(quote.getSource()).isNull();
+    }
+
+    @Test
+    void unknownFieldsFromANewerSchemaAreSkipped() throws IOException {
+        BinaryWriter writer = new BinaryWriter(64)
+                .writeByte(BinaryCacheCodec.BINARY_FORMAT)
+                .writeByte(2)
+                .writeByte(9);
+        new IndicatorResultSchema().write(indicator(), writer);
+        writer.writeLong(40, 7L)
+                .writeString(41, "extra")
+                .writeDecimal(42, new BigDecimal("1.5"))
+                .writeDecimal(43, new BigDecimal("98765432109876543210.1"))
+                .writeDateTime(44, LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        assertThat(codec.decode(writer.toByteArray(), IndicatorResultDto.class)).isEqualTo(indicator());
+    }
+
+    @Test
+    void jsonWrittenBeforeTheCodecSwitchIsStillReadable() throws IOException {
+        byte[] legacy = new JsonCacheCodec(objectMapper).encode(quote());
+
+        assertThat(codec.decode(legacy, AssetQuoteDto.class)).isEqualTo(quote());
+    }
+
+    @Test
+    void payloadOfAnotherSchemaIsRejected() throws IOException {
+        byte[] bytes = codec.encode(quote());
+
+        assertThatThrownBy(() -> codec.decode(bytes, IndicatorResultDto.class)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void truncatedPayloadIsRejected() throws IOException {
+        byte[] bytes = codec.encode(quote());
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        assertThatThrownBy(() -> codec.decode(truncated, AssetQuoteDto.class)).isInstanceOf(IOException.class);
+    }
+
+    static AssetQuoteDto quote() {
+        return AssetQuoteDto.builder()
+                .ticker("PETR4")
+                .name("Petrobras PN")
+                .category("STOCK")
+                .currentPrice(new BigDecimal("35.4200"))
+                .previousClose(new BigDecimal("35.10"))
+                .priceChange(new BigDecimal("0.3200"))
+                .priceChangePercent(new BigDecimal("-0.911680"))
+                .lastUpdated(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_789))
+                .source("CACHE")
+                .build();
+    }
+
+    static IndicatorResultDto indicator() {
+        Map<String, BigDecimal> components = new LinkedHashMap<>();
+        components.put("macd", new BigDecimal("0.4213"));
+        components.put("signal", new BigDecimal("-0.1002"));
+        components.put("histogram", new BigDecimal("123456789012345678901234.5678"));
+        return IndicatorResultDto.builder()
+                .ticker("PETR4")
+                .indicator("MACD")
+                .value(new BigDecimal("0.4213"))
+                .periods(26)
+                .interpretation("BULLISH")
+                .calculatedAt(LocalDateTime.of(2024, 3, 1, 10, 15))
+                .components(components)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.financial.infrastructure.cache.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financial.application.dto.AssetQuoteDto;
+import com.financial.application.dto.IndicatorResultDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Medição simples (sem JMH) do tamanho e da latência de encode/decode dos dois codecs para os valores
+// mais frequentes no Redis. Só o tamanho é verificado: a latência varia com a máquina e fica no relatório
+class CacheCodecMeasurementTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final CacheCodec binary = new BinaryCacheCodec(objectMapper,
+            List.of(new AssetQuoteSchema(), new IndicatorResultSchema()));
+    private final CacheCodec json = new JsonCacheCodec(objectMapper);
+
+    @Test
+    void binaryQuoteIsSmallerThanJson() throws IOException {
+        Measurement binaryQuote = measure(binary, BinaryCacheCodecTest.quote(), AssetQuoteDto.class);
+        Measurement jsonQuote = measure(json, BinaryCacheCodecTest.quote(), AssetQuoteDto.class);
+        report("quote", binaryQuote, jsonQuote);
+
+        assertThat(binaryQuote.bytes()).isLessThan(jsonQuote.bytes() / 2);
+    }
+
+    @Test
+    void binaryIndicatorIsSmallerThanJson() throws IOException {
+        Measurement binaryIndicator = measure(binary, BinaryCacheCodecTest.indicator(), IndicatorResultDto.class);
+        Measurement jsonIndicator = measure(json, BinaryCacheCodecTest.indicator(), IndicatorResultDto.class);
+        report("indicator", binaryIndicator, jsonIndicator);
+
+        assertThat(binaryIndicator.bytes()).isLessThan(jsonIndicator.bytes() / 2);
+    }
+
+    private static <T> Measurement measure(CacheCodec codec, T value, Class<T> type) throws IOException {
+        byte[] bytes = codec.encode(value);
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += codec.decode(codec.encode(value), type).hashCode();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += codec.encode(value).length;
+        }
+        long encodeNanos = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += codec.decode(bytes, type).hashCode();
+        }
+        long decodeNanos = (System.nanoTime() - start) / ITERATIONS;
+
+        assertThat(sink).isNotZero();
+        return new Measurement(bytes.length, encodeNanos, decodeNanos);
+    }
+
+    private static void report(String name, Measurement binary, Measurement json) {
+        System.out.printf("%s: binary %d bytes, encode %d ns, decode %d ns | json %d bytes, encode %d ns, decode %d ns%n",
+                name, binary.bytes(), binary.encodeNanos(), binary.decodeNanos(),
+                json.bytes(), json.encodeNanos(), json.decodeNanos());
+    }
+
+    private record Measurement(int bytes, long encodeNanos, long decodeNanos) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.financial.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OhlcvCsvParserTest {
+
+    // Formatos de entrada de timestamp do PostgreSQL que o parser pode emitir
+    private static final DateTimeFormatter COPY_TIMESTAMP = new DateTimeFormatterBuilder()
+            .appendPattern("uuuu-MM-dd HH:mm")
+            .optionalStart().appendPattern(":ss")
+            .optionalStart().appendFraction(ChronoField.NANO_OF_SECOND, 1, 6, true).optionalEnd()
+            .optionalEnd()
+            .toFormatter()
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter COPY_DATE = DateTimeFormatter.ofPattern("uuuu-MM-dd")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private final OhlcvCsvParser fixed = new OhlcvCsvParser("PETR4");
+    private final OhlcvCsvParser withTicker = new OhlcvCsvParser(null);
+
+    @Test
+    void leapDaysFollowTheGregorianRules() {
+        assertThat(parse(fixed, "2024-02-29,10,11,9,10.5,100")).isEqualTo("PETR4\t2024-02-29\t10\t11\t9\t10.5\t100\n");
+        assertThat(parse(fixed, "2000-02-29,10,11,9,10.5,100")).isNotNull();
+        assertThat(parse(fixed, "2023-02-29,10,11,9,10.5,100")).isNull();
+        assertThat(parse(fixed, "1900-02-29,10,11,9,10.5,100")).isNull();
+        assertThat(parse(fixed, "2024-04-31,10,11,9,10.5,100")).isNull();
+    }
+
+    @Test
+    void timesAreValidatedAndTheSeparatorNormalized() {
+        assertThat(parse(fixed, "2024-01-02T10:15,1,1,1,1,1")).startsWith("PETR4\t2024-01-02 10:15\t");
+        assertThat(parse(fixed, "2024-01-02 10:15:30.123456,1,1,1,1,1")).startsWith("PETR4\t2024-01-02 10:15:30.123456\t");
+        assertThat(parse(fixed, "2024-01-02 24:00,1,1,1,1,1")).isNull();
+        assertThat(parse(fixed, "2024-01-02 10:60,1,1,1,1,1")).isNull();
+        assertThat(parse(fixed, "2024-01-02 10:15:30.1234567,1,1,1,1,1")).isNull();
+        assertThat(parse(fixed, "2024-01-02 10:15:30.,1,1,1,1,1")).isNull();
+    }
+
+    @Test
+    void epochUpToTenDigitsIsSecondsAndLongerIsMilliseconds() {
+        assertThat(parse(fixed, "1709164800,1,1,1,1,1")).startsWith("PETR4\t2024-02-29 00:00:00.000\t");
+        assertThat(parse(fixed, "1709164800123,1,1,1,1,1")).startsWith("PETR4\t2024-02-29 00:00:00.123\t");
+        assertThat(parse(fixed, "0,1,1,1,1,1")).startsWith("PETR4\t1970-01-01 00:00:00.000\t");
+        assertThat(parse(fixed, "17091648001234,1,1,1,1,1")).isNull();
+    }
+
+    @Test
+    void decimalsAndVolumesAreCheckedBeforeCopy() {
+        assertThat(parse(fixed, "2024-01-02,-1.25,0.5,0,12345678901234567.12345678,1200.00"))
+                .isEqualTo("PETR4\t2024-01-02\t-1.25\t0.5\t0\t12345678901234567.12345678\t1200\n");
+        assertThat(parse(fixed, "2024-01-02,1.,1,1,1,1")).isNull();
+        assertThat(parse(fixed, "2024-01-02,.5,1,1,1,1")).isNull();
+        assertThat(parse(fixed, "2024-01-02,1e5,1,1,1,1")).isNull();
+        assertThat(parse(fixed, "2024-01-02,1234567890123456789,1,1,1,1")).isNull();
+        assertThat(parse(fixed, "2024-01-02,1,1,1,1,1200.5")).isNull();
+        assertThat(parse(fixed, "2024-01-02,1,1,1,1,-5")).isNull();
+        assertThat(parse(fixed, "2024-01-02,1,1,1,1,1234567890123456789")).isNull();
+    }
+
+    @Test
+    void quotedFieldsSpacesAndCrlfAreStripped() {
+        assertThat(parse(withTicker, "\"petr4\", \"2024-01-02 10:00:00\" ,\"1\",\"2\",\"0.5\",\"1.5\",\"100\"\r"))
+                .isEqualTo("PETR4\t2024-01-02 10:00:00\t1\t2\t0.5\t1.5\t100\n");
+        assertThat(parse(withTicker, "PETR$,2024-01-02,1,1,1,1,1")).isNull();
+        assertThat(parse(withTicker, "2024-01-02,1,1,1,1,1")).isNull();
+        assertThat(parse(withTicker, "PETR4,2024-01-02,1,1,1,1,1,1")).isNull();
+        assertThat(parse(withTicker, "PETR4,2024-01-02,1,1,1,1,1\r")).endsWith("\t1\n");
+    }
+
+    @Test
+    void headerDetectionDependsOnTheLayout() {
+        assertThat(isHeader(fixed, "timestamp,open,high,low,close,volume")).isTrue();
+        assertThat(isHeader(fixed, "\"date\",\"open\",\"high\",\"low\",\"close\",\"volume\"")).isTrue();
+        assertThat(isHeader(fixed, "2024-01-02,1,1,1,1,1")).isFalse();
+        assertThat(isHeader(withTicker, "Ticker,timestamp,open,high,low,close,volume")).isTrue();
+        assertThat(isHeader(withTicker, " \"TICKER\",timestamp,open,high,low,close,volume")).isTrue();
+        assertThat(isHeader(withTicker, "PETR4,2024-01-02,1,1,1,1,1")).isFalse();
+    }
+
+    // Linhas válidas com mutações aleatórias: toda linha aceita precisa produzir valores que o COPY aceita
+    @Test
+    void everyAcceptedLineIsValidCopyInput() {
+        Random random = new Random(42);
+        String alphabet = "0123456789-:.,T \"\r\tAbz$e";
+        int accepted = 0;
+        for (int n = 0; n < 50_000; n++) {
+            StringBuilder line = new StringBuilder(validLine(random));
+            int mutations = random.nextInt(4);
+            for (int m = 0; m < mutations && line.length() > 0; m++) {
+                int at = random.nextInt(line.length());
+                char c = alphabet.charAt(random.nextInt(alphabet.length()));
+                switch (random.nextInt(3)) {
+                    case 0 -> line.setCharAt(at, c);
+                    case 1 -> line.insert(at, c);
+                    default -> line.deleteCharAt(at);
+                }
+            }
+            String output = parse(withTicker, line.toString());
+            if (output != null) {
+                accepted++;
+                assertValidCopyRow(output, line.toString());
+            }
+        }
+        assertThat(accepted).isGreaterThan(10_000);
+    }
+
+    private static String validLine(Random random) {
+        String timestamp = switch (random.nextInt(4)) {
+            case 0 -> String.format("%04d-%02d-%02d", 1990 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28));
+            case 1 -> String.format("%04d-%02d-%02dT%02d:%02d:%02d.%03d", 1990 + random.nextInt(40), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1000));
+            case 2 -> Long.toString(1_000_000_000L + random.nextInt(900_000_000));
+            default -> Long.toString(1_000_000_000_000L + (long) (random.nextDouble() * 900_000_000_000L));
+        };
+        return "PETR4," + timestamp + "," + price(random) + "," + price(random) + "," + price(random) + ","
+                + price(random) + "," + random.nextInt(1_000_000);
+    }
+
+    private static String price(Random random) {
+        return BigDecimal.valueOf(random.nextInt(1_000_000), random.nextInt(5)).toPlainString();
+    }
+
+    private static void assertValidCopyRow(String output, String input) {
+        assertThat(output).as(input).endsWith("\n").hasSizeLessThanOrEqualTo(OhlcvCsvParser.MAX_OUTPUT);
+        String[] fields = output.substring(0, output.length() - 1).split("\t", -1);
+        assertThat(fields).as(input).hasSize(7);
+        assertThat(fields[0]).as(input).matches("[A-Z0-9._-]{1,32}");
+        if (fields[1].length() == 10) {
+            LocalDate.parse(fields[1], COPY_DATE);
+        } else {
+            LocalDateTime.parse(fields[1], COPY_TIMESTAMP);
+        }
+        for (int i = 2; i < 6; i++) {
+            assertThat(fields[i]).as(input).matches("-?[0-9]+(\\.[0-9]+)?");
+            new BigDecimal(fields[i]);
+        }
+        assertThat(fields[6]).as(input).matches("[0-9]+");
+        assertThat(Long.parseLong(fields[6])).isNotNegative();
+    }
+
+    private static String parse(OhlcvCsvParser parser, String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        byte[] out = new byte[OhlcvCsvParser.MAX_OUTPUT];
+        int end = parser.parse(ByteBuffer.wrap(bytes), 0, bytes.length, out, 0);
+        return end < 0 ? null : new String(out, 0, end, StandardCharsets.US_ASCII);
+    }
+
+    private static boolean isHeader(OhlcvCsvParser parser, String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        return parser.isHeader(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+}
@@ -0,0 +1,83 @@
+package com.financial.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceHistoryBulkLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void chunksEndOnLineBoundariesWhateverTheChunkSize() throws IOException {
+        StringBuilder content = new StringBuilder("ticker,timestamp,open,high,low,close,volume\r\n");
+        for (int i = 0; i < 200; i++) {
+            content.append("PETR4,2024-01-02 10:").append(String.format("%02d", i % 60)).append(",")
+                    .append(i).append(".5,").append(i + 1).append(",").append(i).append(",").append(i).append(".25,")
+                    .append(1000 + i).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        // Última linha sem quebra
+        content.append("VALE3,2024-01-03,1,2,0.5,1.5,10");
+        byte[] bytes = content.toString().getBytes(StandardCharsets.US_ASCII);
+        Path file = Files.write(directory.resolve("history.csv"), bytes);
+
+        for (long chunkSize : new long[]{1, 7, 40, 41, 100, 1000, bytes.length - 1, bytes.length, bytes.length + 1}) {
+            List<String> lines = new ArrayList<>();
+            for (PriceHistoryBulkLoader.Chunk chunk : split(file, chunkSize)) {
+                String text = new String(bytes, (int) chunk.start(), (int) (chunk.end() - chunk.start()),
+                        StandardCharsets.US_ASCII);
+                if (chunk.end() < bytes.length) {
+                    assertThat(text).as("chunk size %d", chunkSize).endsWith("\n");
+                }
+                lines.addAll(List.of(text.split("\n")));
+            }
+            assertThat(lines).as("chunk size %d", chunkSize)
+                    .containsExactly(content.toString().split("\n"));
+        }
+    }
+
+    @Test
+    void chunksAreContiguousAndCoverTheFile() throws IOException {
+        byte[] bytes = "a,1\nbb,22\nccc,333\n".getBytes(StandardCharsets.US_ASCII);
+        Path file = Files.write(directory.resolve("small.csv"), bytes);
+
+        List<PriceHistoryBulkLoader.Chunk> chunks = split(file, 5);
+
+        assertThat(chunks).extracting(PriceHistoryBulkLoader.Chunk::start).containsExactly(0L, 10L);
+        assertThat(chunks).extracting(PriceHistoryBulkLoader.Chunk::end).containsExactly(10L, (long) bytes.length);
+    }
+
+    @Test
+    void lineLongerThanTheProbeIsFollowedToItsEnd() throws IOException {
+        String longLine = "x".repeat(OhlcvCsvParser.MAX_LINE * 3) + "\n";
+        byte[] bytes = ("a,1\n" + longLine + "b,2\n").getBytes(StandardCharsets.US_ASCII);
+        Path file = Files.write(directory.resolve("long.csv"), bytes);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThat(PriceHistoryBulkLoader.nextLineStart(channel, 5, ByteBuffer.allocate(OhlcvCsvParser.MAX_LINE + 2)))
+                    .isEqualTo(4 + longLine.length());
+            assertThat(PriceHistoryBulkLoader.nextLineStart(channel, bytes.length - 1,
+                    ByteBuffer.allocate(OhlcvCsvParser.MAX_LINE + 2))).isEqualTo(bytes.length);
+        }
+    }
+
+    private static List<PriceHistoryBulkLoader.Chunk> split(Path file, long chunkSize) throws IOException {
+        List<PriceHistoryBulkLoader.Chunk> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            PriceHistoryBulkLoader.split(channel, file, 0, chunkSize, chunks);
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,178 @@
+package com.financial.infrastructure.persistence;
+
+import com.financial.domain.model.Transaction;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionWalTest {
+
+    private static final long LARGE_SEGMENT = 64L * 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TransactionWal wal;
+
+    @AfterEach
+    void tearDown() {
+        if (wal != null) {
+            wal.stop();
+        }
+    }
+
+    @Test
+    void entriesAfterTheCheckpointAreReplayedAfterARestart() {
+        start(LARGE_SEGMENT);
+        List<Transaction> appended = List.of(transaction(), transaction(), transaction());
+        appended.forEach(wal::append);
+        wal.checkpoint(1);
+
+        restart(LARGE_SEGMENT);
+
+        assertThat(wal.peek(10)).extracting(TransactionWal.Entry::sequence).containsExactly(2L, 3L);
+        assertThat(wal.peek(10)).extracting(entry -> entry.transaction().getReference())
+                .containsExactly(appended.get(1).getReference(), appended.get(2).getReference());
+        assertThat(wal.peek(10).get(0).transaction()).isEqualTo(appended.get(1));
+        assertThat(wal.append(transaction())).isEqualTo(4L);
+    }
+
+    @Test
+    void tornTailIsTruncatedAndTheLogKeepsAppending() throws IOException {
+        start(LARGE_SEGMENT);
+        wal.append(transaction());
+        wal.append(transaction());
+        wal.stop();
+        Path segment = segments().get(0);
+        long intact = Files.size(segment);
+        // Cabeçalho de um registro de 100 bytes seguido de só parte do payload
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(20).putInt(0, 100).putInt(4, 12345));
+        }
+
+        start(LARGE_SEGMENT);
+
+        assertThat(Files.size(segment)).isEqualTo(intact);
+        assertThat(wal.peek(10)).extracting(TransactionWal.Entry::sequence).containsExactly(1L, 2L);
+        wal.append(transaction());
+        restart(LARGE_SEGMENT);
+        assertThat(wal.peek(10)).extracting(TransactionWal.Entry::sequence).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void segmentsFullyBeforeTheCheckpointAreDeleted() throws IOException {
+        // Um byte por segmento: cada grupo fecha o seu segmento
+        start(1);
+        wal.append(transaction());
+        wal.append(transaction());
+        wal.append(transaction());
+        assertThat(segments()).hasSize(4);
+
+        wal.checkpoint(2);
+
+        assertThat(segments()).extracting(path -> path.getFileName().toString())
+                .containsExactly(segmentName(3), segmentName(4));
+        restart(1);
+        assertThat(wal.peek(10)).extracting(TransactionWal.Entry::sequence).containsExactly(3L);
+    }
+
+    @Test
+    void concurrentAppendsShareOneFsync() throws InterruptedException {
+        start(LARGE_SEGMENT);
+        int appenders = 50;
+        List<Thread> threads = new ArrayList<>();
+        // Com o monitor do log ocupado o escritor não grava: os pedidos se acumulam na fila
+        synchronized (wal) {
+            for (int i = 0; i < appenders; i++) {
+                Thread thread = new Thread(() -> wal.append(transaction()));
+                threads.add(thread);
+                thread.start();
+            }
+            awaitWaiting(threads);
+        }
+        for (Thread thread : threads) {
+            thread.join(10_000);
+        }
+
+        DistributionSummary groups = meterRegistry.get("transactions.wal.group.size").summary();
+        assertThat(groups.totalAmount()).isEqualTo(appenders);
+        // O escritor pode ter retirado o primeiro pedido antes dos demais chegarem
+        assertThat(groups.count()).isLessThanOrEqualTo(2);
+        assertThat(meterRegistry.get("transactions.wal.fsync.latency").timer().count()).isEqualTo(groups.count());
+        assertThat(wal.peek(appenders)).hasSize(appenders);
+    }
+
+    @Test
+    void deadLettersAreDurableAndReadableAfterARestart() {
+        start(LARGE_SEGMENT);
+        Transaction transaction = transaction();
+        long sequence = wal.append(transaction);
+
+        wal.deadLetter(new TransactionWal.Entry(sequence, transaction));
+        wal.checkpoint(sequence);
+        restart(LARGE_SEGMENT);
+
+        assertThat(wal.peek(10)).isEmpty();
+        assertThat(wal.deadLetters()).containsExactly(new TransactionWal.Entry(sequence, transaction));
+    }
+
+    private void start(long segmentBytes) {
+        wal = new TransactionWal(meterRegistry, directory.toString(), segmentBytes, 1000, 100, Duration.ofSeconds(5));
+        wal.start();
+    }
+
+    private void restart(long segmentBytes) {
+        wal.stop();
+        start(segmentBytes);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("wal-")).sorted().toList();
+        }
+    }
+
+    private static String segmentName(long firstSequence) {
+        return String.format("wal-%020d.log", firstSequence);
+    }
+
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline
+                && !threads.stream().allMatch(thread -> thread.getState() == Thread.State.TIMED_WAITING)) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Transaction transaction() {
+        return Transaction.builder()
+                .reference(UUID.randomUUID().toString())
+                .userId("user-1")
+                .ticker("PETR4")
+                .type(Transaction.TransactionType.BUY)
+                .quantity(new BigDecimal("10.50000000"))
+                .price(new BigDecimal("35.42"))
+                .totalValue(new BigDecimal("371.91"))
+                .timestamp(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_789))
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.financial.infrastructure.repository;
+
+import com.financial.domain.model.PriceHistory;
+import com.financial.infrastructure.persistence.PriceHistoryPartitionManager;
+import com.financial.infrastructure.persistence.RollupResolution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PriceHistoryRepositoryImplTest {
+
+    // Ticks brutos a partir do horizonte, candles de 1 minuto antes dele
+    private static final LocalDateTime HORIZON = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final PriceHistoryPartitionManager partitionManager = mock(PriceHistoryPartitionManager.class);
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private PriceHistoryRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(),
+                POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS price_history, " + RollupResolution.MINUTE.table());
+        jdbcTemplate.execute("CREATE TABLE price_history (id bigserial PRIMARY KEY, ticker varchar(255) NOT NULL, " +
+                "timestamp timestamp NOT NULL, open numeric NOT NULL, high numeric NOT NULL, low numeric NOT NULL, " +
+                "close numeric NOT NULL, volume bigint NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE " + RollupResolution.MINUTE.table() + " (ticker varchar(255) NOT NULL, " +
+                "bucket timestamp NOT NULL, open numeric NOT NULL, high numeric NOT NULL, low numeric NOT NULL, " +
+                "close numeric NOT NULL, volume bigint NOT NULL, PRIMARY KEY (ticker, bucket))");
+
+        when(partitionManager.rawHorizon()).thenReturn(Optional.of(HORIZON));
+        when(partitionManager.watermark(RollupResolution.MINUTE)).thenReturn(Optional.of(HORIZON));
+        repository = new PriceHistoryRepositoryImpl(jdbcTemplate, partitionManager, transactionTemplate);
+
+        for (int minute = 1; minute <= 3; minute++) {
+            insertBar("PETR4", HORIZON.minusMinutes(minute), 10 - minute);
+            insertTick("PETR4", HORIZON.plusMinutes(minute), 10 + minute);
+        }
+        insertBar("VALE3", HORIZON.minusMinutes(1), 50);
+    }
+
+    @Test
+    void latestTicksAreCompletedWithBarsBelowTheHorizon() {
+        List<PriceHistory> latest = repository.findLatestByTicker("PETR4", 5);
+
+        assertThat(latest).extracting(PriceHistory::getTimestamp).containsExactly(
+                HORIZON.plusMinutes(3), HORIZON.plusMinutes(2), HORIZON.plusMinutes(1),
+                HORIZON.minusMinutes(1), HORIZON.minusMinutes(2));
+        assertThat(latest.get(3).getId()).isNull();
+    }
+
+    @Test
+    void latestByTickersTopsUpEachTickerSeparately() {
+        List<PriceHistory> latest = repository.findLatestByTickers(List.of("VALE3", "PETR4"), 4);
+
+        assertThat(latest).extracting(PriceHistory::getTicker)
+                .containsExactly("PETR4", "PETR4", "PETR4", "PETR4", "VALE3");
+        assertThat(latest.get(3).getTimestamp()).isEqualTo(HORIZON.minusMinutes(1));
+    }
+
+    @Test
+    void scanAndStreamReadBarsBeforeTheHorizonAndTicksAfterIt() {
+        List<Long> scanned = new ArrayList<>();
+        repository.scanSince(List.of("PETR4"), HORIZON.minusHours(1),
+                (ticker, epochMillis, open, high, low, close, volume) -> scanned.add(epochMillis));
+        assertThat(scanned).hasSize(6).isSorted();
+
+        List<Long> streamed = transactionTemplate.execute(status -> {
+            try (Stream<PriceBarView> bars = repository.streamBars("PETR4", HORIZON.minusHours(1), HORIZON.plusHours(1))) {
+                return bars.map(PriceBarView::getBucket).toList();
+            }
+        });
+        assertThat(streamed).hasSize(6).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    void tickReadsBeforeTheHorizonAreRejected() {
+        assertThat(repository.findPointsPage("PETR4", HORIZON, 10)).hasSize(3);
+        assertThatThrownBy(() -> repository.findPointsSince("PETR4", HORIZON.minusMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("interval");
+    }
+
+    private void insertTick(String ticker, LocalDateTime timestamp, double price) {
+        jdbcTemplate.update("INSERT INTO price_history (ticker, timestamp, open, high, low, close, volume) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 100)", ticker, Timestamp.valueOf(timestamp), price, price, price, price);
+    }
+
+    private void insertBar(String ticker, LocalDateTime bucket, double price) {
+        jdbcTemplate.update("INSERT INTO " + RollupResolution.MINUTE.table() +
+                " (ticker, bucket, open, high, low, close, volume) VALUES (?, ?, ?, ?, ?, ?, 100)",
+                ticker, Timestamp.valueOf(bucket), price, price, price, price);
+    }
+}
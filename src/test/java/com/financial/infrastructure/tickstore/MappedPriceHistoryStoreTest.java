@@ -0,0 +1,166 @@
+package com.financial.infrastructure.tickstore;
+
+import com.financial.domain.model.Asset;
+import com.financial.domain.model.PriceHistory;
+import com.financial.infrastructure.repository.AssetRepository;
+import com.financial.infrastructure.repository.PriceHistoryRepository;
+import com.financial.infrastructure.repository.PriceRowHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MappedPriceHistoryStoreTest {
+
+    private static final String TICKER = "PETR4";
+    private static final int CAPACITY = TickSegment.INDEX_STRIDE;
+    private static final long MINUTE = 60_000L;
+    private static final long START = 1_700_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    private final PriceHistoryRepository priceHistoryRepository = mock(PriceHistoryRepository.class);
+    private final AssetRepository assetRepository = mock(AssetRepository.class);
+    private MappedPriceHistoryStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.stop();
+        }
+    }
+
+    @Test
+    void unsealedMiddleSegmentIsSealedAndServedAfterCatchUp() throws IOException {
+        Path first = segment(0, false, 1, 2, 3);
+        segment(1, false, 4, 5);
+        rowsFromDatabase();
+
+        start();
+
+        assertThat(TickSegment.open(first).isSealed()).isTrue();
+        assertThat(store.findLatestByTicker(TICKER, 5)).extracting(MappedPriceHistoryStoreTest::minute)
+                .containsExactly(5L, 4L, 3L, 2L, 1L);
+        verify(priceHistoryRepository, never()).findLatestByTicker(anyString(), anyInt());
+    }
+
+    @Test
+    void recoveredLogCatchesUpWithTicksWrittenWhileTheNodeWasDown() throws IOException {
+        segment(0, false, 1, 2, 3);
+        new TickLog(TICKER, directory.resolve(TICKER), CAPACITY).markComplete();
+        // A linha do último registro volta na consulta (from inclusivo) e não pode ser duplicada
+        rowsFromDatabase(3, 4, 5);
+
+        start();
+
+        verify(priceHistoryRepository).scanSince(eq(List.of(TICKER)), eq(at(3)), any());
+        assertThat(store.findLatestByTicker(TICKER, 100)).extracting(MappedPriceHistoryStoreTest::minute)
+                .containsExactly(5L, 4L, 3L, 2L, 1L);
+        verify(priceHistoryRepository, never()).findLatestByTicker(anyString(), anyInt());
+    }
+
+    @Test
+    void failedCatchUpKeepsTheTickerOnTheDatabaseDespiteTheCompleteMarker() throws IOException {
+        segment(0, false, 1, 2, 3);
+        new TickLog(TICKER, directory.resolve(TICKER), CAPACITY).markComplete();
+        doThrow(new IllegalStateException("database down"))
+                .when(priceHistoryRepository).scanSince(anyCollection(), any(), any());
+        List<PriceHistory> fromDatabase = List.of(tick(9));
+        when(priceHistoryRepository.findLatestByTicker(TICKER, 2)).thenReturn(fromDatabase);
+
+        start();
+        store.append(tick(10));
+
+        assertThat(store.findLatestByTicker(TICKER, 2)).isEqualTo(fromDatabase);
+    }
+
+    @Test
+    void corruptSegmentIsQuarantinedAndTheTickerReloadedFromTheDatabase() throws IOException {
+        Path first = segment(0, true, 1, 2, 3);
+        segment(1, false, 4);
+        try (FileChannel channel = FileChannel.open(first, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, START - MINUTE), TickSegment.HEADER_SIZE);
+        }
+        when(assetRepository.findByActiveTrue()).thenReturn(List.of(Asset.builder().ticker(TICKER).build()));
+        when(priceHistoryRepository.findLatestByTicker(TICKER, 100)).thenReturn(List.of(tick(8), tick(7)));
+
+        start();
+
+        assertThat(first.resolveSibling(first.getFileName() + ".corrupt")).exists();
+        assertThat(first.resolveSibling("0000000001.seg")).doesNotExist();
+        assertThat(store.findLatestByTicker(TICKER, 2)).extracting(MappedPriceHistoryStoreTest::minute)
+                .containsExactly(8L, 7L);
+        verify(priceHistoryRepository, never()).scanSince(anyCollection(), any(), any());
+    }
+
+    private void start() {
+        store = new MappedPriceHistoryStore(priceHistoryRepository, assetRepository, new SimpleMeterRegistry(),
+                directory.toString(), CAPACITY, 100);
+        store.start();
+    }
+
+    private Path segment(int sequence, boolean sealed, long... minutes) throws IOException {
+        Files.createDirectories(directory.resolve(TICKER));
+        Path path = directory.resolve(TICKER).resolve(String.format("%010d.seg", sequence));
+        TickSegment segment = TickSegment.create(path, CAPACITY);
+        for (long minute : minutes) {
+            long price = (10 + minute) * 1_000_000L;
+            segment.append(START + minute * MINUTE, price, price, price, price, 100);
+        }
+        if (sealed) {
+            segment.seal();
+        }
+        segment.flush();
+        return path;
+    }
+
+    private void rowsFromDatabase(long... minutes) {
+        doAnswer(invocation -> {
+            PriceRowHandler handler = invocation.getArgument(2);
+            for (long minute : minutes) {
+                handler.accept(TICKER, START + minute * MINUTE, 10 + minute, 10 + minute, 10 + minute, 10 + minute, 100);
+            }
+            return null;
+        }).when(priceHistoryRepository).scanSince(anyCollection(), any(), any());
+    }
+
+    private static PriceHistory tick(long minute) {
+        BigDecimal price = BigDecimal.valueOf(10 + minute);
+        return PriceHistory.builder().ticker(TICKER).timestamp(at(minute))
+                .open(price).high(price).low(price).close(price).volume(100L).build();
+    }
+
+    private static LocalDateTime at(long minute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(START + minute * MINUTE), ZoneOffset.UTC);
+    }
+
+    private static long minute(PriceHistory row) {
+        return (row.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli() - START) / MINUTE;
+    }
+}
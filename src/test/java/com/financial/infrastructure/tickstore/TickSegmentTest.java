@@ -0,0 +1,125 @@
+package com.financial.infrastructure.tickstore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TickSegmentTest {
+
+    private static final int CAPACITY = TickSegment.INDEX_STRIDE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void uncommittedTailIsDroppedOnReopen() throws IOException {
+        Path path = segmentWith(1000, 2000, 3000);
+        // Queda depois de gravar a contagem e antes dos dados: os registros 3 e 4 ficaram zerados
+        writeInt(path, TickSegment.COUNT_OFFSET, 5);
+
+        TickSegment reopened = TickSegment.open(path);
+
+        assertThat(reopened.count()).isEqualTo(3);
+        assertThat(reopened.lastTimestamp()).isEqualTo(3000);
+        assertThat(reopened.isSealed()).isFalse();
+    }
+
+    @Test
+    void tornRecordOutOfOrderTruncatesTheTail() throws IOException {
+        Path path = segmentWith(1000, 2000, 3000);
+        // Registro 3 parcialmente gravado, com um timestamp anterior ao último confirmado
+        writeLong(path, timestampOffset(3), 500);
+        writeInt(path, TickSegment.COUNT_OFFSET, 4);
+
+        TickSegment reopened = TickSegment.open(path);
+
+        assertThat(reopened.count()).isEqualTo(3);
+        // A contagem corrigida é persistida: o próximo append sobrescreve o registro rasgado
+        assertThat(readInt(path, TickSegment.COUNT_OFFSET)).isEqualTo(3);
+    }
+
+    @Test
+    void sealedSegmentReopensWithItsRecords() throws IOException {
+        Path path = segmentWith(1000, 2000, 3000);
+        TickSegment.open(path).seal();
+
+        TickSegment reopened = TickSegment.open(path);
+
+        assertThat(reopened.isSealed()).isTrue();
+        assertThat(reopened.count()).isEqualTo(3);
+        assertThat(reopened.get(TickSegment.CLOSE, 1)).isEqualTo(2000 * 10);
+    }
+
+    @Test
+    void checksumMismatchInSealedSegmentIsRejected() throws IOException {
+        Path path = segmentWith(1000, 2000, 3000);
+        TickSegment.open(path).seal();
+        writeLong(path, timestampOffset(1), 2500);
+
+        assertThatThrownBy(() -> TickSegment.open(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Checksum mismatch");
+    }
+
+    @Test
+    void corruptChecksumFieldIsRejected() throws IOException {
+        Path path = segmentWith(1000, 2000);
+        TickSegment.open(path).seal();
+        writeLong(path, TickSegment.CRC_OFFSET, readLong(path, TickSegment.CRC_OFFSET) ^ 1);
+
+        assertThatThrownBy(() -> TickSegment.open(path)).isInstanceOf(IOException.class);
+    }
+
+    private Path segmentWith(long... timestamps) throws IOException {
+        Path path = directory.resolve("0000000000.seg");
+        TickSegment segment = TickSegment.create(path, CAPACITY);
+        for (long timestamp : timestamps) {
+            segment.append(timestamp, timestamp * 10, timestamp * 10, timestamp * 10, timestamp * 10, 1);
+        }
+        segment.flush();
+        return path;
+    }
+
+    private static long timestampOffset(int index) {
+        return TickSegment.HEADER_SIZE + (long) TickSegment.TIMESTAMP * CAPACITY * Long.BYTES + (long) index * Long.BYTES;
+    }
+
+    private static void writeInt(Path path, long offset, int value) throws IOException {
+        write(path, offset, ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.BIG_ENDIAN).putInt(0, value));
+    }
+
+    private static void writeLong(Path path, long offset, long value) throws IOException {
+        write(path, offset, ByteBuffer.allocate(Long.BYTES).order(ByteOrder.BIG_ENDIAN).putLong(0, value));
+    }
+
+    private static void write(Path path, long offset, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(bytes, offset);
+        }
+    }
+
+    private static int readInt(Path path, long offset) throws IOException {
+        return read(path, offset, Integer.BYTES).getInt(0);
+    }
+
+    private static long readLong(Path path, long offset) throws IOException {
+        return read(path, offset, Long.BYTES).getLong(0);
+    }
+
+    private static ByteBuffer read(Path path, long offset, int size) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(size);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.read(bytes, offset);
+        }
+        return bytes;
+    }
+}